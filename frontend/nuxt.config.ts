@@ -114,6 +114,7 @@ export default {
         proxyHost + '/sitemap.xml',
         proxyHost + '/global-sitemap.xml',
         proxyHost + '/*/sitemap.xml',
+        proxyHost + '/*/sitemap-*.xml',
         proxyHost + '/statusz',
         // auth
         authHost + '/avatar',
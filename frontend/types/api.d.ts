@@ -17,7 +17,9 @@ declare module 'hangar-api' {
     interface Pagination {
         limit: number;
         offset: number;
-        count: number;
+        count: number | null;
+        next: string | null;
+        prev: string | null;
     }
 
     interface PaginatedResult<T extends Model> {
@@ -3,6 +3,8 @@ package io.papermc.hangar.config.hangar;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @ConfigurationProperties(prefix = "hangar.discourse")
 public class DiscourseConfig {
@@ -13,6 +15,21 @@ public class DiscourseConfig {
     private String apiKey;
     private int category;
     private int categoryDeleted;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private int maxConnections = 16;
+    /**
+     * Requests per minute allowed for the api key, whichever user they are made as. Discourse's default limit for admin api keys
+     */
+    private int requestsPerMinute = 60;
+    /**
+     * Requests which may be sent back to back before the per minute rate applies
+     */
+    private int requestBurst = 10;
+    /**
+     * Longest time a request waits for the rate limit, jobs needing longer are rescheduled
+     */
+    private Duration maxRateLimitWait = Duration.ofSeconds(10);
 
     public boolean isEnabled() {
         return enabled;
@@ -61,4 +78,52 @@ public class DiscourseConfig {
     public void setCategoryDeleted(int categoryDeleted) {
         this.categoryDeleted = categoryDeleted;
     }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    public void setRequestsPerMinute(int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+
+    public int getRequestBurst() {
+        return requestBurst;
+    }
+
+    public void setRequestBurst(int requestBurst) {
+        this.requestBurst = requestBurst;
+    }
+
+    public Duration getMaxRateLimitWait() {
+        return maxRateLimitWait;
+    }
+
+    public void setMaxRateLimitWait(Duration maxRateLimitWait) {
+        this.maxRateLimitWait = maxRateLimitWait;
+    }
 }
@@ -58,6 +58,8 @@ public class HangarConfig {
     public DiscourseConfig discourse;
     @NestedConfigurationProperty
     public JobsConfig jobs;
+    @NestedConfigurationProperty
+    public StatsConfig stats;
 
     @Component
     public static class Sponsor {
@@ -91,7 +93,7 @@ public class HangarConfig {
     }
 
     @Autowired
-    public HangarConfig(FakeUserConfig fakeUser, HomepageConfig homepage, ChannelsConfig channels, PagesConfig pages, ProjectsConfig projects, UserConfig user, OrganizationsConfig org, ApiConfig api, SSOConfig sso, HangarSecurityConfig security, QueueConfig queue, DiscourseConfig discourse, JobsConfig jobs) {
+    public HangarConfig(FakeUserConfig fakeUser, HomepageConfig homepage, ChannelsConfig channels, PagesConfig pages, ProjectsConfig projects, UserConfig user, OrganizationsConfig org, ApiConfig api, SSOConfig sso, HangarSecurityConfig security, QueueConfig queue, DiscourseConfig discourse, JobsConfig jobs, StatsConfig stats) {
         this.fakeUser = fakeUser;
         this.homepage = homepage;
         this.channels = channels;
@@ -105,6 +107,7 @@ public class HangarConfig {
         this.queue = queue;
         this.discourse = discourse;
         this.jobs = jobs;
+        this.stats = stats;
     }
 
     public void checkDev() {
@@ -26,6 +26,14 @@ public class HangarSecurityConfig {
     private Duration tokenExpiry;
     @DurationUnit(ChronoUnit.DAYS)
     private Duration refreshTokenExpiry;
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration permissionCacheTtl = Duration.ofSeconds(30);
+    private long permissionCacheSize = 10000;
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration apiKeyCacheTtl = Duration.ofMinutes(10);
+    private int apiKeyMaxFailedAttempts = 10;
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration apiKeyFailedAttemptsWindow = Duration.ofMinutes(1);
     @NestedConfigurationProperty
     public SecurityApiConfig api;
 
@@ -92,6 +100,46 @@ public class HangarSecurityConfig {
         this.refreshTokenExpiry = refreshTokenExpiry;
     }
 
+    public Duration getPermissionCacheTtl() {
+        return permissionCacheTtl;
+    }
+
+    public void setPermissionCacheTtl(Duration permissionCacheTtl) {
+        this.permissionCacheTtl = permissionCacheTtl;
+    }
+
+    public long getPermissionCacheSize() {
+        return permissionCacheSize;
+    }
+
+    public void setPermissionCacheSize(long permissionCacheSize) {
+        this.permissionCacheSize = permissionCacheSize;
+    }
+
+    public Duration getApiKeyCacheTtl() {
+        return apiKeyCacheTtl;
+    }
+
+    public void setApiKeyCacheTtl(Duration apiKeyCacheTtl) {
+        this.apiKeyCacheTtl = apiKeyCacheTtl;
+    }
+
+    public int getApiKeyMaxFailedAttempts() {
+        return apiKeyMaxFailedAttempts;
+    }
+
+    public void setApiKeyMaxFailedAttempts(int apiKeyMaxFailedAttempts) {
+        this.apiKeyMaxFailedAttempts = apiKeyMaxFailedAttempts;
+    }
+
+    public Duration getApiKeyFailedAttemptsWindow() {
+        return apiKeyFailedAttemptsWindow;
+    }
+
+    public void setApiKeyFailedAttemptsWindow(Duration apiKeyFailedAttemptsWindow) {
+        this.apiKeyFailedAttemptsWindow = apiKeyFailedAttemptsWindow;
+    }
+
     public String getTokenIssuer() {
         return tokenIssuer;
     }
@@ -13,6 +13,9 @@ public class HomepageConfig {
 
     @DurationUnit(ChronoUnit.MINUTES)
     private Duration updateInterval = Duration.ofMinutes(10);
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration refreshDelay = Duration.ofSeconds(2);
+    private boolean searchIndex = true;
 
     public Duration getUpdateInterval() {
         return updateInterval;
@@ -21,4 +24,20 @@ public class HomepageConfig {
     public void setUpdateInterval(Duration updateInterval) {
         this.updateInterval = updateInterval;
     }
+
+    public Duration getRefreshDelay() {
+        return refreshDelay;
+    }
+
+    public void setRefreshDelay(Duration refreshDelay) {
+        this.refreshDelay = refreshDelay;
+    }
+
+    public boolean isSearchIndex() {
+        return searchIndex;
+    }
+
+    public void setSearchIndex(boolean searchIndex) {
+        this.searchIndex = searchIndex;
+    }
 }
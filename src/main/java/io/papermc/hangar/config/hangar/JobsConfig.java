@@ -1,11 +1,14 @@
 package io.papermc.hangar.config.hangar;
 
+import io.papermc.hangar.model.internal.job.JobType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Component
 @ConfigurationProperties(prefix = "hangar.jobs")
@@ -23,8 +26,20 @@ public class JobsConfig {
     @DurationUnit(ChronoUnit.MINUTES)
     private Duration notAvailableTimeout = Duration.ofMinutes(2);
 
+    // lost connections, deadlocks and the like, the job is tried again instead of failing for good
+    @DurationUnit(ChronoUnit.MINUTES)
+    private Duration transientErrorTimeout = Duration.ofMinutes(1);
+
+    // started jobs whose row wasn't touched for this long were left behind by a node that went away, they are started again
+    @DurationUnit(ChronoUnit.MINUTES)
+    private Duration abandonedTimeout = Duration.ofMinutes(15);
+
     private int maxConcurrentJobs = 32;
 
+    private int defaultConcurrency = 4;
+
+    private Map<JobType, Integer> concurrency = new EnumMap<>(JobType.class);
+
     public Duration getCheckInterval() {
         return checkInterval;
     }
@@ -57,6 +72,22 @@ public class JobsConfig {
         this.notAvailableTimeout = notAvailableTimeout;
     }
 
+    public Duration getTransientErrorTimeout() {
+        return transientErrorTimeout;
+    }
+
+    public void setTransientErrorTimeout(Duration transientErrorTimeout) {
+        this.transientErrorTimeout = transientErrorTimeout;
+    }
+
+    public Duration getAbandonedTimeout() {
+        return abandonedTimeout;
+    }
+
+    public void setAbandonedTimeout(Duration abandonedTimeout) {
+        this.abandonedTimeout = abandonedTimeout;
+    }
+
     public int getMaxConcurrentJobs() {
         return maxConcurrentJobs;
     }
@@ -64,4 +95,24 @@ public class JobsConfig {
     public void setMaxConcurrentJobs(int maxConcurrentJobs) {
         this.maxConcurrentJobs = maxConcurrentJobs;
     }
+
+    public int getDefaultConcurrency() {
+        return defaultConcurrency;
+    }
+
+    public void setDefaultConcurrency(int defaultConcurrency) {
+        this.defaultConcurrency = defaultConcurrency;
+    }
+
+    public Map<JobType, Integer> getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Map<JobType, Integer> concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getConcurrency(JobType jobType) {
+        return Math.max(1, concurrency.getOrDefault(jobType, defaultConcurrency));
+    }
 }
@@ -20,6 +20,7 @@ public class PagesConfig {
     private int maxNameLen = 25;
     private int minLen = 15;
     private int maxLen = 32000;
+    private long renderCacheSize = 20_000_000;
 
     @Autowired
     public PagesConfig(Home home) {
@@ -49,6 +50,14 @@ public class PagesConfig {
         }
     }
 
+    public long getRenderCacheSize() {
+        return renderCacheSize;
+    }
+
+    public void setRenderCacheSize(long renderCacheSize) {
+        this.renderCacheSize = renderCacheSize;
+    }
+
     public Home getHome() {
         return home;
     }
@@ -32,6 +32,9 @@ public class ProjectsConfig {
     private int userGridPageSize = 30;
     @DurationUnit(ChronoUnit.MINUTES)
     private Duration unsafeDownloadMaxAge = Duration.ofMinutes(10);
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration cacheTtl = Duration.ofSeconds(30);
+    private long cacheSize = 10000;
 
     public String getNameRegex() {
         return nameRegex;
@@ -162,4 +165,20 @@ public class ProjectsConfig {
     public void setUnsafeDownloadMaxAge(Duration unsafeDownloadMaxAage) {
         this.unsafeDownloadMaxAge = unsafeDownloadMaxAage;
     }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
 }
@@ -0,0 +1,80 @@
+package io.papermc.hangar.config.hangar;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@Component
+@ConfigurationProperties(prefix = "hangar.stats")
+public class StatsConfig {
+
+    private int queueCapacity = 50000;
+    private int flushSize = 500;
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration flushInterval = Duration.ofSeconds(5);
+    private OverflowStrategy overflowStrategy = OverflowStrategy.DROP;
+    private int rollupChunkSize = 10000;
+    private int rollupMaxChunks = 50;
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    public void setFlushSize(int flushSize) {
+        this.flushSize = flushSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    public void setOverflowStrategy(OverflowStrategy overflowStrategy) {
+        this.overflowStrategy = overflowStrategy;
+    }
+
+    public int getRollupChunkSize() {
+        return rollupChunkSize;
+    }
+
+    public void setRollupChunkSize(int rollupChunkSize) {
+        this.rollupChunkSize = rollupChunkSize;
+    }
+
+    public int getRollupMaxChunks() {
+        return rollupMaxChunks;
+    }
+
+    public void setRollupMaxChunks(int rollupMaxChunks) {
+        this.rollupMaxChunks = rollupMaxChunks;
+    }
+
+    public enum OverflowStrategy {
+        /**
+         * Discard the event and count it as dropped
+         */
+        DROP,
+        /**
+         * Flush the buffer on the calling thread, then enqueue the event
+         */
+        FLUSH_INLINE
+    }
+}
@@ -9,6 +9,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 @Controller
 public class SitemapController extends HangarComponent {
 
@@ -32,8 +36,14 @@ public class SitemapController extends HangarComponent {
     }
 
     @GetMapping(value = "/{user}/sitemap.xml", produces = MediaType.APPLICATION_XML_VALUE)
-    @ResponseBody
-    public String userSitemap(@PathVariable String user) {
-        return sitemapService.getUserSitemap(user);
+    public void userSitemap(@PathVariable String user, HttpServletResponse response) throws IOException {
+        userSitemap(user, 1, response);
+    }
+
+    @GetMapping(value = "/{user}/sitemap-{page:\\d+}.xml", produces = MediaType.APPLICATION_XML_VALUE)
+    public void userSitemap(@PathVariable String user, @PathVariable int page, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_XML_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        sitemapService.writeUserSitemap(user, page, response.getOutputStream());
     }
 }
@@ -21,8 +21,10 @@ import io.papermc.hangar.security.annotations.permission.PermissionRequired;
 import io.papermc.hangar.security.annotations.visibility.VisibilityRequired;
 import io.papermc.hangar.security.annotations.visibility.VisibilityRequired.Type;
 import io.papermc.hangar.service.api.ProjectsApiService;
+import io.papermc.hangar.service.internal.ETagService;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 
@@ -34,15 +36,21 @@ import java.util.Map;
 public class ProjectsController extends HangarComponent implements IProjectsController {
 
     private final ProjectsApiService projectsApiService;
+    private final ETagService eTagService;
 
     @Autowired
-    public ProjectsController(ProjectsApiService projectsApiService) {
+    public ProjectsController(ProjectsApiService projectsApiService, ETagService eTagService) {
         this.projectsApiService = projectsApiService;
+        this.eTagService = eTagService;
     }
 
     @Override
     @VisibilityRequired(type = Type.PROJECT, args = "{#author, #slug}")
     public ResponseEntity<Project> getProject(String author, String slug) {
+        // the starred, watching and flagged state of signed in users isn't part of the version
+        if (getHangarUserId() == null && eTagService.checkNotModified(projectsApiService.getProjectVersion(author, slug))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(projectsApiService.getProject(author, slug));
     }
 
@@ -61,6 +69,9 @@ public class ProjectsController extends HangarComponent implements IProjectsCont
     @Override
     @PermissionRequired(type = PermissionType.PROJECT, perms = NamedPermission.IS_SUBJECT_MEMBER, args = "{#author, #slug}")
     public ResponseEntity<Map<String, DayProjectStats>> getProjectStats(String author, String slug, @NotNull OffsetDateTime fromDate, @NotNull OffsetDateTime toDate) {
+        if (eTagService.checkNotModified(projectsApiService.getProjectStatsVersion())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(projectsApiService.getProjectStats(author, slug, fromDate, toDate));
     }
 
@@ -22,7 +22,6 @@ import io.papermc.hangar.service.internal.versions.RecommendedVersionService;
 
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ResponseBody;
 
@@ -74,8 +73,8 @@ public class VersionsController implements IVersionsController {
 
     @Override
     @VisibilityRequired(type = Type.VERSION, args = "{#author, #slug, #versionString, #platform}")
-    public FileSystemResource downloadVersion(String author, String slug, String versionString, Platform platform) {
+    public void downloadVersion(String author, String slug, String versionString, Platform platform) {
         versionString = recommendedVersionService.fixVersionString(author, slug, versionString, platform);
-        return downloadService.getVersionFile(author, slug, versionString, platform, false, null);
+        downloadService.sendVersionFile(author, slug, versionString, platform, false, null);
     }
 }
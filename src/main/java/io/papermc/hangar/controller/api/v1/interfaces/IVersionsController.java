@@ -12,7 +12,6 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.Authorization;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -125,14 +124,17 @@ public interface IVersionsController {
     )
     @ApiResponses({
             @ApiResponse(code = 200, message = "Ok"),
+            @ApiResponse(code = 206, message = "Requested byte range of the file"),
             @ApiResponse(code = 303, message = "Version has an external download url"),
+            @ApiResponse(code = 304, message = "File hasn't changed since the given ETag or date"),
             @ApiResponse(code = 400, message = "Version doesn't have a file attached to it"),
             @ApiResponse(code = 401, message = "Api session missing, invalid or expired"),
-            @ApiResponse(code = 403, message = "Not enough permissions to use this endpoint")
+            @ApiResponse(code = 403, message = "Not enough permissions to use this endpoint"),
+            @ApiResponse(code = 416, message = "Requested byte range can't be satisfied")
     })
     @GetMapping(value = "/projects/{author}/{slug}/versions/{name}/{platform}/download", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    FileSystemResource downloadVersion(@ApiParam("The author of the project to return the version for") @PathVariable String author,
-                                       @ApiParam("The slug of the project to return") @PathVariable String slug,
-                                       @ApiParam("The name of the version to return. Can be 'recommended'.") @PathVariable("name") String versionString,
-                                       @ApiParam("The platform of the version to return") @PathVariable Platform platform);
+    void downloadVersion(@ApiParam("The author of the project to return the version for") @PathVariable String author,
+                         @ApiParam("The slug of the project to return") @PathVariable String slug,
+                         @ApiParam("The name of the version to return. Can be 'recommended'.") @PathVariable("name") String versionString,
+                         @ApiParam("The platform of the version to return") @PathVariable Platform platform);
 }
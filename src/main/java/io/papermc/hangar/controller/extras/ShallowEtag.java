@@ -0,0 +1,16 @@
+package io.papermc.hangar.controller.extras;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a handler into the {@link org.springframework.web.filter.ShallowEtagHeaderFilter}, which buffers the whole
+ * response to hash it. Only meant for small responses that have nothing better to derive an ETag from,
+ * everything else is streamed as is.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShallowEtag {
+}
@@ -0,0 +1,28 @@
+package io.papermc.hangar.controller.extras;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Turns off the response buffering of the {@link ShallowEtagHeaderFilter} for every handler not annotated with {@link ShallowEtag}
+ */
+public class ShallowEtagInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull Object handler) {
+        if (!(handler instanceof HandlerMethod) || !isShallowEtag((HandlerMethod) handler)) {
+            ShallowEtagHeaderFilter.disableContentCaching(request);
+        }
+        return true;
+    }
+
+    private static boolean isShallowEtag(HandlerMethod handlerMethod) {
+        return handlerMethod.hasMethodAnnotation(ShallowEtag.class) || AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), ShallowEtag.class);
+    }
+}
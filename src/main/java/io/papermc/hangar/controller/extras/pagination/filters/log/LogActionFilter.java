@@ -44,7 +44,7 @@ public class LogActionFilter implements Filter<LogActionFilterInstance> {
 
         @Override
         public void createSql(StringBuilder sb, SqlStatement<?> q) {
-            sb.append(" AND la.action = :actionFilter::LOGGED_ACTION_TYPE");
+            sb.append(" AND li.action = :actionFilter::LOGGED_ACTION_TYPE");
             q.bind("actionFilter", logAction.getPgLoggedAction().getValue());
         }
     }
@@ -44,7 +44,7 @@ public class LogPageFilter implements Filter<LogPageFilterInstance> {
 
         @Override
         public void createSql(StringBuilder sb, SqlStatement<?> q) {
-            sb.append(" AND la.pp_id = :pageId");
+            sb.append(" AND li.page_id = :pageId");
             q.bind("pageId", this.pageId);
         }
     }
@@ -45,9 +45,8 @@ public class LogProjectFilter implements Filter<LogProjectFilterInstance> {
 
         @Override
         public void createSql(StringBuilder sb, SqlStatement<?> q) {
-            sb.append(" AND la.p_owner_name = :authorName");
+            sb.append(" AND li.project_id IN (SELECT p.id FROM projects p JOIN users ou ON p.owner_id = ou.id WHERE ou.name = :authorName AND p.slug = :projectSlug)");
             q.bind("authorName", this.authorName);
-            sb.append(" AND la.p_slug = :projectSlug");
             q.bind("projectSlug", this.projectSlug);
         }
     }
@@ -38,7 +38,7 @@ public class LogSubjectFilter implements Filter<LogSubjectFilterInstance> {
 
         @Override
         public void createSql(StringBuilder sb, SqlStatement<?> q) {
-            sb.append(" AND la.s_name = :subjectName");
+            sb.append(" AND li.subject_id IN (SELECT s.id FROM users s WHERE s.name = :subjectName)");
             q.bind("subjectName", this.subjectName);
         }
     }
@@ -37,7 +37,7 @@ public class LogUserFilter implements Filter<LogUserFilterInstance> {
 
         @Override
         public void createSql(StringBuilder sb, SqlStatement<?> q) {
-            sb.append(" AND la.user_name = :userName");
+            sb.append(" AND li.user_id IN (SELECT u.id FROM users u WHERE u.name = :userName)");
             q.bind("userName", userName);
         }
 
@@ -55,9 +55,10 @@ public class LogVersionFilter implements Filter<LogVersionFilterInstance> {
 
         @Override
         public void createSql(StringBuilder sb, SqlStatement<?> q) {
-            sb.append(" AND la.pv_version_string = :versionString");
+            sb.append(" AND li.version_id IN (SELECT pv.id FROM project_versions pv WHERE pv.version_string = :versionString" +
+                      " AND exists(SELECT 1 FROM project_version_platform_dependencies pvpd JOIN platform_versions plv ON pvpd.platform_version_id = plv.id" +
+                      " WHERE pvpd.version_id = pv.id AND plv.platform = :platform))");
             q.bind("versionString", this.versionString);
-            sb.append(" AND :platform = ANY(la.pv_platforms)");
             q.bind("platform", this.platform);
         }
     }
@@ -2,6 +2,8 @@ package io.papermc.hangar.controller.extras.pagination.filters.projects;
 
 import io.papermc.hangar.controller.extras.pagination.Filter;
 import io.papermc.hangar.controller.extras.pagination.filters.projects.ProjectAuthorFilter.ProjectAuthorFilterInstance;
+import io.papermc.hangar.model.internal.projects.SearchableProject;
+import io.papermc.hangar.service.internal.projects.search.ProjectSearchFilter;
 import org.jdbi.v3.core.statement.SqlStatement;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Component;
@@ -28,7 +30,7 @@ public class ProjectAuthorFilter implements Filter<ProjectAuthorFilterInstance>
         return new ProjectAuthorFilterInstance(webRequest.getParameter(getSingleQueryParam()));
     }
 
-    static class ProjectAuthorFilterInstance implements FilterInstance {
+    static class ProjectAuthorFilterInstance implements FilterInstance, ProjectSearchFilter {
 
         private final String ownerName;
 
@@ -42,6 +44,11 @@ public class ProjectAuthorFilter implements Filter<ProjectAuthorFilterInstance>
             q.bind("ownerName", ownerName);
         }
 
+        @Override
+        public boolean test(SearchableProject project) {
+            return ownerName.equals(project.getOwnerName());
+        }
+
         @Override
         public String toString() {
             return "ProjectAuthorFilterInstance{" +
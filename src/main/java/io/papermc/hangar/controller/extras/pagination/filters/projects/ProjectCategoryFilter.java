@@ -3,6 +3,8 @@ package io.papermc.hangar.controller.extras.pagination.filters.projects;
 import io.papermc.hangar.controller.extras.pagination.Filter;
 import io.papermc.hangar.controller.extras.pagination.filters.projects.ProjectCategoryFilter.ProjectCategoryFilterInstance;
 import io.papermc.hangar.model.common.projects.Category;
+import io.papermc.hangar.model.internal.projects.SearchableProject;
+import io.papermc.hangar.service.internal.projects.search.ProjectSearchFilter;
 import org.jdbi.v3.core.statement.SqlStatement;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,7 +41,7 @@ public class ProjectCategoryFilter implements Filter<ProjectCategoryFilterInstan
         return new ProjectCategoryFilterInstance(conversionService.convert(webRequest.getParameterValues(getSingleQueryParam()), Category[].class));
     }
 
-    static class ProjectCategoryFilterInstance implements FilterInstance {
+    static class ProjectCategoryFilterInstance implements FilterInstance, ProjectSearchFilter {
 
         private final Category[] categories;
 
@@ -60,6 +62,11 @@ public class ProjectCategoryFilter implements Filter<ProjectCategoryFilterInstan
             sb.append(")");
         }
 
+        @Override
+        public boolean test(SearchableProject project) {
+            return Arrays.asList(categories).contains(project.getCategory());
+        }
+
         @Override
         public String toString() {
             return "ProjectCategoryFilterInstance{" +
@@ -2,6 +2,8 @@ package io.papermc.hangar.controller.extras.pagination.filters.projects;
 
 import io.papermc.hangar.controller.extras.pagination.Filter;
 import io.papermc.hangar.controller.extras.pagination.filters.projects.ProjectQueryFilter.ProjectQueryFilterInstance;
+import io.papermc.hangar.model.internal.projects.SearchableProject;
+import io.papermc.hangar.service.internal.projects.search.ProjectSearchFilter;
 import org.jdbi.v3.core.statement.SqlStatement;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Component;
@@ -28,7 +30,7 @@ public class ProjectQueryFilter implements Filter<ProjectQueryFilterInstance> {
         return new ProjectQueryFilterInstance(webRequest.getParameter(getSingleQueryParam()));
     }
 
-    static class ProjectQueryFilterInstance implements FilterInstance {
+    static class ProjectQueryFilterInstance implements FilterInstance, ProjectSearchFilter {
 
         private final String query;
 
@@ -46,6 +48,12 @@ public class ProjectQueryFilter implements Filter<ProjectQueryFilterInstance> {
             q.bind("query", query.trim());
         }
 
+        @Override
+        public boolean test(SearchableProject project) {
+            // the index matches the query itself
+            return true;
+        }
+
         @Override
         public String toString() {
             return "ProjectQueryFilterInstance{" +
@@ -2,6 +2,10 @@ package io.papermc.hangar.controller.extras.pagination.filters.projects;
 
 import io.papermc.hangar.controller.extras.pagination.Filter;
 import io.papermc.hangar.controller.extras.pagination.filters.projects.ProjectTagFilter.ProjectTagFilterInstance;
+import io.papermc.hangar.model.api.project.version.PromotedVersion;
+import io.papermc.hangar.model.api.project.version.PromotedVersionTag;
+import io.papermc.hangar.model.internal.projects.SearchableProject;
+import io.papermc.hangar.service.internal.projects.search.ProjectSearchFilter;
 import org.jdbi.v3.core.statement.SqlStatement;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Component;
@@ -42,7 +46,7 @@ public class ProjectTagFilter implements Filter<ProjectTagFilterInstance> {
         return new ProjectTagFilterInstance(tagNames, tagNamesAndData);
     }
 
-    static class ProjectTagFilterInstance implements FilterInstance {
+    static class ProjectTagFilterInstance implements FilterInstance, ProjectSearchFilter {
 
         private final List<String> tagNames;
         private final MultiValueMap<String, String> tagNamesAndData;
@@ -91,6 +95,30 @@ public class ProjectTagFilter implements Filter<ProjectTagFilterInstance> {
             sb.append(")");
         }
 
+        @Override
+        public boolean test(SearchableProject project) {
+            for (PromotedVersion promotedVersion : project.getPromotedVersions()) {
+                for (PromotedVersionTag tag : promotedVersion.getTags()) {
+                    if (matches(tag)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean matches(PromotedVersionTag tag) {
+            if (!tagNames.isEmpty() && !tagNames.contains(tag.getName())) {
+                return false;
+            }
+            for (var entry : tagNamesAndData.entrySet()) {
+                if (!entry.getKey().equals(tag.getName()) || tag.getMinecraftVersions() == null || entry.getValue().stream().noneMatch(tag.getMinecraftVersions()::contains)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         @Override
         public String toString() {
             return "ProjectTagFilterInstance{" +
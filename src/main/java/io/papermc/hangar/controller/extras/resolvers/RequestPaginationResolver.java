@@ -9,6 +9,7 @@ import io.papermc.hangar.controller.extras.pagination.annotations.ApplicableFilt
 import io.papermc.hangar.controller.extras.pagination.annotations.ApplicableSorters;
 import io.papermc.hangar.controller.extras.pagination.annotations.ConfigurePagination;
 import io.papermc.hangar.exceptions.HangarApiException;
+import io.papermc.hangar.model.api.requests.PaginationCursor;
 import io.papermc.hangar.model.api.requests.RequestPagination;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,7 +56,12 @@ public class RequestPaginationResolver implements HandlerMethodArgumentResolver
         } else {
             limit = ApiUtils.limitOrDefault(limitParam.orElse(null));
         }
-        RequestPagination pagination = new RequestPagination(limit, offset);
+        PaginationCursor cursor = Optional.ofNullable(webRequest.getParameter("cursor")).map(PaginationCursor::decode).orElse(null);
+        String countParam = webRequest.getParameter("count");
+        if (countParam != null && !countParam.equals("none") && !countParam.equals("exact")) {
+            throw new HangarApiException(countParam + " is an invalid count type, expected none or exact");
+        }
+        RequestPagination pagination = new RequestPagination(limit, offset, cursor, !"none".equals(countParam));
 
         // find filters
         Set<String> paramNames = new HashSet<>(webRequest.getParameterMap().keySet());
@@ -74,6 +80,8 @@ public class RequestPaginationResolver implements HandlerMethodArgumentResolver
         paramNames.remove("sort");
         paramNames.remove("limit");
         paramNames.remove("offset");
+        paramNames.remove("cursor");
+        paramNames.remove("count");
         // TODO remove these bellow eventually
         paramNames.remove("relevance");
 
@@ -25,7 +25,6 @@ import io.papermc.hangar.service.internal.versions.VersionDependencyService;
 import io.papermc.hangar.service.internal.versions.VersionFactory;
 import io.papermc.hangar.service.internal.versions.VersionService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -166,9 +165,9 @@ public class VersionController extends HangarComponent {
     @ResponseBody
     @VisibilityRequired(type = Type.VERSION, args = "{#author, #slug, #versionString, #platform}")
     @GetMapping(path = "/version/{author}/{slug}/versions/{versionString}/{platform}/download", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public FileSystemResource download(@PathVariable String author, @PathVariable String slug, @PathVariable String versionString, @PathVariable Platform platform, @RequestParam(required = false) String token) {
+    public void download(@PathVariable String author, @PathVariable String slug, @PathVariable String versionString, @PathVariable Platform platform, @RequestParam(required = false) String token) {
         versionString = recommendedVersionService.fixVersionString(author, slug, versionString, platform);
-        return downloadService.getVersionFile(author, slug, versionString, platform, true, token);
+        downloadService.sendVersionFile(author, slug, versionString, platform, true, token);
     }
 
     @VisibilityRequired(type = Type.VERSION, args = "{#author, #slug, #versionString, #platform}")
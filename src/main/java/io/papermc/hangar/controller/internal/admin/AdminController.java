@@ -22,6 +22,7 @@ import io.papermc.hangar.model.internal.admin.health.MissingFileCheck;
 import io.papermc.hangar.model.internal.admin.health.UnhealthyProject;
 import io.papermc.hangar.model.internal.api.requests.StringContent;
 import io.papermc.hangar.model.internal.api.requests.admin.ChangePlatformVersionsForm;
+import io.papermc.hangar.model.internal.api.responses.BlobMigrationReport;
 import io.papermc.hangar.model.internal.api.responses.HealthReport;
 import io.papermc.hangar.model.internal.logs.HangarLoggedAction;
 import io.papermc.hangar.security.annotations.permission.PermissionRequired;
@@ -29,6 +30,7 @@ import io.papermc.hangar.service.internal.JobService;
 import io.papermc.hangar.service.internal.PlatformService;
 import io.papermc.hangar.service.internal.admin.HealthService;
 import io.papermc.hangar.service.internal.admin.StatService;
+import io.papermc.hangar.service.internal.uploads.LegacyFileMigrationService;
 import io.papermc.hangar.service.internal.users.UserService;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,15 +61,17 @@ public class AdminController extends HangarComponent {
     private final HealthService healthService;
     private final JobService jobService;
     private final UserService userService;
+    private final LegacyFileMigrationService legacyFileMigrationService;
     private final ObjectMapper mapper;
 
     @Autowired
-    public AdminController(PlatformService platformService, StatService statService, HealthService healthService, JobService jobService, UserService userService, ObjectMapper mapper) {
+    public AdminController(PlatformService platformService, StatService statService, HealthService healthService, JobService jobService, UserService userService, LegacyFileMigrationService legacyFileMigrationService, ObjectMapper mapper) {
         this.platformService = platformService;
         this.statService = statService;
         this.healthService = healthService;
         this.jobService = jobService;
         this.userService = userService;
+        this.legacyFileMigrationService = legacyFileMigrationService;
         this.mapper = mapper;
     }
 
@@ -106,6 +110,13 @@ public class AdminController extends HangarComponent {
         return new HealthReport(noTopicProjects, staleProjects, nonPublicProjects, missingFiles, erroredJobs);
     }
 
+    @ResponseBody
+    @PermissionRequired(NamedPermission.MANUAL_VALUE_CHANGES)
+    @PostMapping(path = "/migrate-version-files", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BlobMigrationReport migrateVersionFiles() {
+        return legacyFileMigrationService.migrate();
+    }
+
     @ResponseStatus(HttpStatus.OK)
     @PermissionRequired(NamedPermission.IS_STAFF)
     @PostMapping(value = "/lock-user/{user}/{locked}", consumes = MediaType.APPLICATION_JSON_VALUE)
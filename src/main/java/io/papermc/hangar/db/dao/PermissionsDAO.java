@@ -5,7 +5,9 @@ import io.papermc.hangar.model.db.UserTable;
 import org.jdbi.v3.sqlobject.config.RegisterBeanMapper;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.config.ValueColumn;
+import org.jdbi.v3.sqlobject.customizer.Define;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.stringtemplate4.UseStringTemplateEngine;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Repository;
 
@@ -27,19 +29,20 @@ public interface PermissionsDAO {
         return _getGlobalPermission(null, userName);
     }
 
+    @UseStringTemplateEngine
     @SqlQuery("SELECT (coalesce(gt.permission, B'0'::BIT(64)) | coalesce(pt.permission, B'0'::BIT(64)) | coalesce(ot.permission, B'0'::BIT(64)))::BIGINT AS perm_value" +
             " FROM users u " +
             "     LEFT JOIN global_trust gt ON u.id = gt.user_id" +
-            "     LEFT JOIN projects p ON (lower(p.owner_name) = lower(:author) AND p.slug = :slug) OR p.id = :projectId" +
+            "     LEFT JOIN projects p ON <if(byId)>p.id = :projectId<else>lower(p.owner_name) = lower(:author) AND p.slug = :slug<endif>" +
             "     LEFT JOIN project_trust pt ON u.id = pt.user_id AND pt.project_id = p.id" +
             "     LEFT JOIN organization_trust ot ON u.id = ot.user_id AND ot.organization_id = p.owner_id" +
             " WHERE u.id = :userId")
-    Permission _getProjectPermission(long userId, Long projectId, String author, String slug);
+    Permission _getProjectPermission(long userId, Long projectId, String author, String slug, @Define boolean byId);
     default Permission getProjectPermission(long userId, long projectId) {
-        return _getProjectPermission(userId, projectId, null, null);
+        return _getProjectPermission(userId, projectId, null, null, true);
     }
     default Permission getProjectPermission(long userId, String author, String slug) {
-        return _getProjectPermission(userId, null, author, slug);
+        return _getProjectPermission(userId, null, author, slug, false);
     }
 
     @ValueColumn("permission")
@@ -53,18 +56,19 @@ public interface PermissionsDAO {
             "   WHERE pt.project_id = :projectId")
     Map<UserTable, Permission> getProjectMemberPermissions(long projectId);
 
+    @UseStringTemplateEngine
     @SqlQuery("SELECT (coalesce(gt.permission, B'0'::BIT(64)) | coalesce(ot.permission, B'0'::BIT(64)))::BIGINT AS perm_value" +
               " FROM users u " +
-              "     LEFT JOIN organizations o ON o.name = :orgName OR o.id = :orgId" +
+              "     LEFT JOIN organizations o ON <if(byId)>o.id = :orgId<else>o.name = :orgName<endif>" +
               "     LEFT JOIN global_trust gt ON u.id = gt.user_id" +
               "     LEFT JOIN organization_trust ot ON o.id = ot.organization_id AND ot.user_id = u.id" +
               " WHERE u.id = :userId")
-    Permission _getOrganizationPermission(long userId, String orgName, Long orgId);
+    Permission _getOrganizationPermission(long userId, String orgName, Long orgId, @Define boolean byId);
     default Permission getOrganizationPermission(long userId, String orgName) {
-        return _getOrganizationPermission(userId, orgName, null);
+        return _getOrganizationPermission(userId, orgName, null, false);
     }
     default Permission getOrganizationPermission(long userId, long orgId) {
-        return _getOrganizationPermission(userId, null, orgId);
+        return _getOrganizationPermission(userId, null, orgId, true);
     }
 
     @SqlQuery("SELECT coalesce(bit_or(r.permission), B'0'::BIT(64))::BIGINT perm_value FROM user_project_roles upr JOIN roles r ON upr.role_type = r.name WHERE upr.user_id = :userId")
@@ -72,4 +76,12 @@ public interface PermissionsDAO {
 
     @SqlQuery("SELECT coalesce(bit_or(r.permission), B'0'::BIT(64))::BIGINT perm_value FROM user_organization_roles uor JOIN roles r ON uor.role_type = r.name WHERE uor.user_id = :userId")
     Permission getPossibleOrganizationPermissions(long userId);
+
+    /**
+     * Rewrites the stored trust rows which don't match the roles they are derived from
+     *
+     * @return the amount of corrected rows
+     */
+    @SqlQuery("SELECT reconcile_trust()")
+    long reconcileTrust();
 }
@@ -2,6 +2,7 @@ package io.papermc.hangar.db.dao.internal;
 
 import io.papermc.hangar.model.internal.admin.DayStats;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.Define;
 import org.jdbi.v3.sqlobject.locator.UseClasspathSqlLocator;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
@@ -10,7 +11,9 @@ import org.jdbi.v3.stringtemplate4.UseStringTemplateEngine;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HangarStatsDAO {
@@ -20,32 +23,71 @@ public interface HangarStatsDAO {
     @RegisterConstructorMapper(DayStats.class)
     List<DayStats> getStats(LocalDate startDate, LocalDate endDate);
 
-    @SqlUpdate("UPDATE <table> pvdi SET user_id = (SELECT pvdi2.user_id FROM <table> pvdi2 WHERE pvdi2.user_id IS NOT NULL AND pvdi2.cookie = pvdi.cookie LIMIT 1) WHERE pvdi.user_id IS NULL AND pvdi.processed = 0")
-    void fillStatsUserIdsFromOthers(@Define String table);
+    @SqlQuery("SELECT last_id FROM stats_rollup_checkpoints WHERE individual_table = :individualTable FOR UPDATE")
+    long lockCheckpoint(String individualTable);
 
+    /**
+     * Finds the next chunk of rows which haven't been counted yet. Unprocessed rows are picked up whenever
+     * their insert commits, even if rows with higher ids were rolled up before.
+     */
+    @SqlQuery("SELECT id FROM <table> WHERE processed = 0 ORDER BY id LIMIT :chunkSize")
+    List<Long> findChunk(@Define String table, int chunkSize);
+
+    @SqlUpdate("UPDATE <table> n SET user_id = c.user_id" +
+            "   FROM (SELECT DISTINCT ON (o.cookie) o.cookie, o.user_id" +
+            "           FROM <table> o" +
+            "           WHERE o.user_id IS NOT NULL" +
+            "               AND o.cookie IN (SELECT u.cookie FROM <table> u WHERE u.id = ANY(:ids) AND u.user_id IS NULL)" +
+            "           ORDER BY o.cookie, o.id DESC) c" +
+            "   WHERE n.id = ANY(:ids) AND n.user_id IS NULL AND n.cookie = c.cookie")
+    void fillStatsUserIdsFromOthers(@Define String table, List<Long> ids);
+
+    /**
+     * Counts each user (or address, for anonymous rows) once per day. Already counted rows are only consulted
+     * for the same day and project/version, which is covered by the (project_id|version_id, created_at) indexes.
+     */
     @UseStringTemplateEngine
-    @SqlUpdate("WITH d AS (" +
-            "     UPDATE <individualTable> SET processed = processed + 1 " +
-            "     WHERE user_id IS <if(withUserId)>NOT<endif> NULL" +
-            "     RETURNING created_at, project_id, <if(includeVersionId)>version_id,<endif> <if(withUserId)>user_id<else>address<endif>, processed" +
+    @SqlUpdate("WITH chunk AS (" +
+            "     SELECT date_trunc('DAY', n.created_at) AS day," +
+            "         n.project_id," +
+            "         <if(includeVersionId)>n.version_id,<endif>" +
+            "         CASE WHEN n.user_id IS NOT NULL THEN 'u' || n.user_id ELSE 'a' || host(n.address) END AS visitor" +
+            "     FROM <individualTable> n" +
+            "     WHERE n.id = ANY(:ids)" +
+            "         AND NOT EXISTS (SELECT 1" +
+            "             FROM <individualTable> o" +
+            "             WHERE o.processed != 0" +
+            "                 AND <if(includeVersionId)>o.version_id = n.version_id<else>o.project_id = n.project_id<endif>" +
+            "                 AND o.created_at >= date_trunc('DAY', n.created_at)" +
+            "                 AND o.created_at \\< date_trunc('DAY', n.created_at) + '1 day'::INTERVAL" +
+            "                 AND CASE WHEN n.user_id IS NOT NULL THEN o.user_id = n.user_id ELSE o.user_id IS NULL AND o.address = n.address END)" +
             " )" +
             " INSERT " +
             "     INTO <dayTable> AS pvd (day, project_id, <if(includeVersionId)>version_id,<endif> <statColumn>)" +
-            " SELECT sq.day," +
-            "     sq.project_id," +
-            "     <if(includeVersionId)>sq.version_id,<endif>" +
-            "     count(DISTINCT sq.<if(withUserId)>user_id<else>address<endif>) FILTER (WHERE sq.processed \\<@ ARRAY[1])" +
-            " FROM (SELECT date_trunc('DAY', d.created_at) AS day," +
-            "             d.project_id," +
-            "             <if(includeVersionId)>d.version_id,<endif>" +
-            "             <if(withUserId)>user_id<else>address<endif>," +
-            "             array_agg(d.processed) AS processed" +
-            "         FROM d" +
-            "         GROUP BY date_trunc('DAY', d.created_at), d.project_id, <if(includeVersionId)>d.version_id,<endif> <if(withUserId)>user_id<else>address<endif>) sq" +
-            "     GROUP BY sq.day, <if(includeVersionId)>sq.version_id,<endif> sq.project_id" +
-            " ON CONFLICT(day, <if(includeVersionId)>version_id<else>project_id<endif>) DO UPDATE SET <statColumn> = pvd.<if(includeVersionId)>version_id<else>project_id<endif> + excluded.<if(includeVersionId)>version_id<else>project_id<endif>")
-    void processStatsMain(@Define String individualTable, @Define String dayTable, @Define String statColumn, @Define boolean withUserId, @Define boolean includeVersionId);
-
-    @SqlUpdate("DELETE FROM <table> WHERE processed != 0 AND created_at < now() + '30 days'::INTERVAL")
-    void deleteOldIndividual(@Define String table);
+            " SELECT c.day," +
+            "     c.project_id," +
+            "     <if(includeVersionId)>c.version_id,<endif>" +
+            "     count(DISTINCT c.visitor)" +
+            " FROM chunk c" +
+            " GROUP BY c.day, <if(includeVersionId)>c.version_id,<endif> c.project_id" +
+            " ON CONFLICT(day, <if(includeVersionId)>version_id<else>project_id<endif>) DO UPDATE SET <statColumn> = pvd.<statColumn> + excluded.<statColumn>")
+    void processStatsChunk(@Define String individualTable, @Define String dayTable, @Define String statColumn, @Define boolean includeVersionId, List<Long> ids);
+
+    @SqlUpdate("UPDATE <table> SET processed = processed + 1 WHERE id = ANY(:ids)")
+    int markProcessed(@Define String table, List<Long> ids);
+
+    @SqlUpdate("UPDATE stats_rollup_checkpoints SET last_id = :toId, last_created_at = (SELECT created_at FROM <table> WHERE id = :toId) WHERE individual_table = :table AND last_id < :toId")
+    void advanceCheckpoint(@Define @Bind String table, long toId);
+
+    @SqlUpdate("UPDATE stats_rollup_checkpoints SET last_run_at = now(), last_run_duration = :durationMillis, last_run_rows = :rows WHERE individual_table = :individualTable")
+    void recordRun(String individualTable, long durationMillis, long rows);
+
+    @SqlQuery("SELECT last_created_at FROM stats_rollup_checkpoints WHERE individual_table = :individualTable")
+    Optional<OffsetDateTime> getWatermarkCreatedAt(String individualTable);
+
+    @SqlQuery("SELECT string_agg(individual_table || ':' || last_id, ',' ORDER BY individual_table) FROM stats_rollup_checkpoints")
+    String getRollupWatermarks();
+
+    @SqlUpdate("DELETE FROM <table> WHERE processed != 0 AND id <= (SELECT last_id FROM stats_rollup_checkpoints WHERE individual_table = :table) AND created_at < now() - '30 days'::INTERVAL")
+    void deleteOldIndividual(@Define @Bind String table);
 }
@@ -59,9 +59,11 @@ public interface HealthDAO {
             "          p.owner_name \"owner\"," +
             "          p.slug," +
             "          p.name," +
-            "          pq.platform" +
+            "          pq.platform," +
+            "          pvb.blob_hash" +
             "   FROM project_versions pv" +
             "       JOIN projects p ON pv.project_id = p.id" +
+            "       LEFT JOIN project_version_blobs pvb ON pv.id = pvb.version_id" +
             "       JOIN (SELECT DISTINCT plv.platform, pvpd.version_id" +
             "               FROM project_version_platform_dependencies pvpd" +
             "                   JOIN platform_versions plv ON pvpd.platform_version_id = plv.id" +
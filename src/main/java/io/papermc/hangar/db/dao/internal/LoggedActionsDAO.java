@@ -1,6 +1,7 @@
 package io.papermc.hangar.db.dao.internal;
 
 import io.papermc.hangar.db.extras.BindPagination;
+import io.papermc.hangar.db.extras.BindPagination.Key;
 import io.papermc.hangar.db.mappers.LogActionColumnMapper;
 import io.papermc.hangar.model.api.requests.RequestPagination;
 import io.papermc.hangar.model.db.log.LoggedActionsOrganizationTable;
@@ -13,9 +14,8 @@ import org.jdbi.v3.sqlobject.config.RegisterColumnMapper;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
 import org.jdbi.v3.sqlobject.customizer.DefineNamedBindings;
-import org.jdbi.v3.sqlobject.customizer.Timestamped;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
-import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 import org.jdbi.v3.stringtemplate4.UseStringTemplateEngine;
 import org.springframework.stereotype.Repository;
 
@@ -24,38 +24,43 @@ import java.util.List;
 @Repository
 public interface LoggedActionsDAO {
 
-    @Timestamped
-    @SqlUpdate("INSERT INTO logged_actions_project (created_at, user_id, address, action, project_id, new_state, old_state) VALUES (:now, :userId, :address, :action, :projectId, :newState, :oldState)")
-    void insertProjectLog(@BindBean LoggedActionsProjectTable loggedActionsProjectTable);
+    // referenced rows may be gone by the time a batch is written, the foreign keys would have nulled them anyway
+    @SqlBatch("INSERT INTO logged_actions_project (created_at, user_id, address, action, project_id, new_state, old_state) VALUES (:createdAt, :userId, :address, :action, (SELECT id FROM projects WHERE id = :projectId), :newState, :oldState)")
+    void insertProjectLogs(@BindBean List<LoggedActionsProjectTable> loggedActionsProjectTables);
 
-    @Timestamped
-    @SqlUpdate("INSERT INTO logged_actions_page (created_at, user_id, address, action, project_id, page_id, new_state, old_state) VALUES (:now, :userId, :address, :action, :projectId, :pageId, :newState, :oldState)")
-    void insertProjectPageLog(@BindBean LoggedActionsPageTable loggedActionsPageTable);
+    @SqlBatch("INSERT INTO logged_actions_page (created_at, user_id, address, action, project_id, page_id, new_state, old_state) VALUES (:createdAt, :userId, :address, :action, (SELECT id FROM projects WHERE id = :projectId), (SELECT id FROM project_pages WHERE id = :pageId), :newState, :oldState)")
+    void insertProjectPageLogs(@BindBean List<LoggedActionsPageTable> loggedActionsPageTables);
 
-    @Timestamped
-    @SqlUpdate("INSERT INTO logged_actions_version (created_at, user_id, address, action, project_id, version_id, new_state, old_state) VALUES (:now, :userId, :address, :action, :projectId, :versionId, :newState, :oldState)")
-    void insertVersionLog(@BindBean LoggedActionsVersionTable loggedActionsVersionTable);
+    @SqlBatch("INSERT INTO logged_actions_version (created_at, user_id, address, action, project_id, version_id, new_state, old_state) VALUES (:createdAt, :userId, :address, :action, (SELECT id FROM projects WHERE id = :projectId), (SELECT id FROM project_versions WHERE id = :versionId), :newState, :oldState)")
+    void insertVersionLogs(@BindBean List<LoggedActionsVersionTable> loggedActionsVersionTables);
 
-    @Timestamped
-    @SqlUpdate("INSERT INTO logged_actions_user (created_at, user_id, address, action, subject_id, new_state, old_state) VALUES (:now, :userId, :address, :action, :subjectId, :newState, :oldState)")
-    void insertUserLog(@BindBean LoggedActionsUserTable loggedActionsUserTable);
+    @SqlBatch("INSERT INTO logged_actions_user (created_at, user_id, address, action, subject_id, new_state, old_state) VALUES (:createdAt, :userId, :address, :action, (SELECT id FROM users WHERE id = :subjectId), :newState, :oldState)")
+    void insertUserLogs(@BindBean List<LoggedActionsUserTable> loggedActionsUserTables);
 
-    @Timestamped
-    @SqlUpdate("INSERT INTO logged_actions_organization (created_at, user_id, address, action, organization_id, new_state, old_state) VALUES (:now, :userId, :address, :action, :organizationId, :newState, :oldState)")
-    void insertOrganizationLog(@BindBean LoggedActionsOrganizationTable loggedActionsOrganizationTable);
+    @SqlBatch("INSERT INTO logged_actions_organization (created_at, user_id, address, action, organization_id, new_state, old_state) VALUES (:createdAt, :userId, :address, :action, (SELECT id FROM organizations WHERE id = :organizationId), :newState, :oldState)")
+    void insertOrganizationLogs(@BindBean List<LoggedActionsOrganizationTable> loggedActionsOrganizationTables);
 
     @UseStringTemplateEngine
     @RegisterColumnMapper(LogActionColumnMapper.class)
     @RegisterConstructorMapper(HangarLoggedAction.class)
-    @SqlQuery("SELECT * FROM v_logged_actions la " +
-              " WHERE true <filters>" +
-              " ORDER BY la.created_at DESC <offsetLimit>")
+    // the page is found on logged_actions_index, the id array lets every branch of the view look up just those rows by primary key
+    @SqlQuery("WITH li AS (SELECT li.created_at, li.context_type, li.id FROM logged_actions_index li " +
+              "     WHERE true <filters> <keyset>" +
+              "     <keysetOrder> <offsetLimit>)" +
+              " SELECT la.* FROM li" +
+              "     JOIN v_logged_actions la ON la.context_type = li.context_type AND la.id = li.id" +
+              " WHERE la.id = ANY(ARRAY(SELECT li.id FROM li))" +
+              " <keysetOrder>")
     // TODO add <sorters>
     @DefineNamedBindings
-    List<HangarLoggedAction> getLog(@BindPagination RequestPagination pagination);
+    List<HangarLoggedAction> getLog(@BindPagination(keyset = {
+            @Key(value = "li.created_at", type = "timestamptz"),
+            @Key(value = "li.context_type", type = "int"),
+            @Key(value = "li.id", type = "bigint")
+    }) RequestPagination pagination);
 
     @UseStringTemplateEngine
-    @SqlQuery("SELECT count(*) FROM v_logged_actions la " +
+    @SqlQuery("SELECT count(*) FROM logged_actions_index li " +
               " WHERE true <filters>")
     long getLogCount(@BindPagination(isCount = true) RequestPagination pagination);
 }
@@ -0,0 +1,59 @@
+package io.papermc.hangar.db.dao.internal;
+
+import io.papermc.hangar.model.internal.sitemap.SitemapEntry;
+import org.jdbi.v3.sqlobject.config.KeyColumn;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.config.ValueColumn;
+import org.jdbi.v3.sqlobject.customizer.FetchSize;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.stream.Stream;
+
+@Repository
+@RegisterConstructorMapper(SitemapEntry.class)
+public interface SitemapDAO {
+
+    String VERSION_PLATFORMS = "LATERAL (SELECT DISTINCT plv.platform" +
+            "       FROM project_version_platform_dependencies pvpd" +
+            "           JOIN platform_versions plv ON pvpd.platform_version_id = plv.id" +
+            "       WHERE pvpd.version_id = pv.id) vp";
+
+    @FetchSize(1000)
+    @SqlQuery("SELECT * FROM (" +
+            "   SELECT p.id AS project_id, p.slug AS project_slug, NULL AS version_string, NULL::bigint AS platform, NULL AS page_slug, " +
+            "           coalesce((SELECT max(lv.created_at) FROM project_versions lv WHERE lv.project_id = p.id AND lv.visibility = 0), p.created_at) AS last_modified" +
+            "       FROM projects p" +
+            "       WHERE p.owner_id = :userId AND p.visibility = 0" +
+            "   UNION ALL" +
+            "   SELECT p.id, p.slug, pv.version_string, vp.platform, NULL, pv.created_at" +
+            "       FROM projects p" +
+            "           JOIN project_versions pv ON p.id = pv.project_id," +
+            "           " + VERSION_PLATFORMS +
+            "       WHERE p.owner_id = :userId AND p.visibility = 0 AND pv.visibility = 0" +
+            "   UNION ALL" +
+            "   SELECT p.id, p.slug, NULL, NULL, pp.slug, pp.created_at" +
+            "       FROM projects p" +
+            "           JOIN project_pages pp ON p.id = pp.project_id" +
+            "       WHERE p.owner_id = :userId AND p.visibility = 0" +
+            "           AND NOT exists(SELECT 1 FROM project_home_pages php WHERE php.page_id = pp.id)" +
+            ") entries" +
+            "   ORDER BY project_id, version_string NULLS FIRST, platform NULLS FIRST, page_slug NULLS FIRST" +
+            "   OFFSET :offset LIMIT :limit")
+    Stream<SitemapEntry> getUserEntries(long userId, long offset, int limit);
+
+    @KeyColumn("name")
+    @ValueColumn("entries")
+    @SqlQuery("SELECT u.name," +
+            "       (SELECT count(*) FROM projects p WHERE p.owner_id = u.id AND p.visibility = 0) +" +
+            "       (SELECT count(*) FROM projects p JOIN project_versions pv ON p.id = pv.project_id, " + VERSION_PLATFORMS +
+            "           WHERE p.owner_id = u.id AND p.visibility = 0 AND pv.visibility = 0) +" +
+            "       (SELECT count(*) FROM projects p JOIN project_pages pp ON p.id = pp.project_id" +
+            "           WHERE p.owner_id = u.id AND p.visibility = 0" +
+            "               AND NOT exists(SELECT 1 FROM project_home_pages php WHERE php.page_id = pp.id)) AS entries" +
+            "   FROM users u" +
+            "   ORDER BY (SELECT count(*) FROM project_members_all pma WHERE pma.user_id = u.id) DESC" +
+            "   LIMIT :limit")
+    LinkedHashMap<String, Long> getAuthorEntryCounts(int limit);
+}
@@ -15,6 +15,7 @@ import org.jdbi.v3.sqlobject.config.RegisterRowMapperFactory;
 import org.jdbi.v3.sqlobject.customizer.Define;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.jdbi.v3.stringtemplate4.UseStringTemplateEngine;
 import org.springframework.stereotype.Repository;
 
@@ -82,19 +83,13 @@ public interface HangarProjectsDAO {
     List<JoinableMember<ProjectRoleTable>> getProjectMembers(long projectId, Long userId, @Define boolean canSeePending);
 
     @RegisterConstructorMapper(HangarProjectInfo.class)
-    @SqlQuery("SELECT count(DISTINCT pv.id) public_versions," +
-            "       count(DISTINCT pf.id) flag_count," +
-            "       count(DISTINCT ps.user_id) star_count," +
-            "       count(DISTINCT pw.user_id) watcher_count," +
-            "       count(DISTINCT pn.id) note_count" +
+    @SqlQuery("SELECT (SELECT count(*) FROM project_versions pv WHERE pv.project_id = p.id AND pv.visibility = 0) public_versions," +
+            "       (SELECT count(*) FROM project_flags pf WHERE pf.project_id = p.id) flag_count," +
+            "       (SELECT count(*) FROM project_stars ps WHERE ps.project_id = p.id) star_count," +
+            "       (SELECT count(*) FROM project_watchers pw WHERE pw.project_id = p.id) watcher_count," +
+            "       (SELECT count(*) FROM project_notes pn WHERE pn.project_id = p.id) note_count" +
             "   FROM projects p" +
-            "       LEFT JOIN project_versions pv ON p.id = pv.project_id AND pv.visibility = 0" +
-            "       LEFT JOIN project_stars ps ON p.id = ps.project_id" +
-            "       LEFT JOIN project_watchers pw ON p.id = pw.project_id" +
-            "       LEFT JOIN project_flags pf ON p.id = pf.project_id" +
-            "       LEFT JOIN project_notes pn ON p.id = pn.project_id" +
-            "   WHERE p.id = :projectId" +
-            "   GROUP BY p.id")
+            "   WHERE p.id = :projectId")
     HangarProjectInfo getHangarProjectInfo(long projectId);
 
     @RegisterConstructorMapper(HangarChannel.class)
@@ -112,6 +107,21 @@ public interface HangarProjectsDAO {
             "   ORDER BY pc.created_at")
     List<HangarChannel> getHangarChannels(long projectId);
 
-    @SqlUpdate("REFRESH MATERIALIZED VIEW home_projects")
-    void refreshHomeProjects();
+    @SqlUpdate("CALL refresh_home_project(:projectId)")
+    void refreshHomeProject(long projectId);
+
+    @SqlUpdate("CALL reconcile_home_projects()")
+    void reconcileHomeProjects();
+
+    @SqlQuery("SELECT pg_try_advisory_xact_lock(hashtext('home_projects'))")
+    boolean tryLockHomeProjects();
+
+    @Transaction
+    default boolean reconcileHomeProjectsIfUnlocked() {
+        if (!tryLockHomeProjects()) {
+            return false;
+        }
+        reconcileHomeProjects();
+        return true;
+    }
 }
@@ -0,0 +1,41 @@
+package io.papermc.hangar.db.dao.internal.projects;
+
+import io.papermc.hangar.db.mappers.PromotedVersionMapper;
+import io.papermc.hangar.model.internal.projects.SearchableProject;
+import org.jdbi.v3.sqlobject.config.RegisterColumnMapper;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RegisterConstructorMapper(SearchableProject.class)
+@RegisterColumnMapper(PromotedVersionMapper.class)
+public interface ProjectSearchDAO {
+
+    String SEARCHABLE_PROJECT = "SELECT hp.id," +
+            "       hp.name," +
+            "       hp.owner_name," +
+            "       hp.description," +
+            "       p.keywords," +
+            "       hp.category," +
+            "       hp.visibility," +
+            "       hp.project_members," +
+            "       hp.promoted_versions," +
+            "       hp.views," +
+            "       hp.downloads," +
+            "       hp.recent_views," +
+            "       hp.recent_downloads," +
+            "       hp.stars," +
+            "       hp.created_at," +
+            "       COALESCE(hp.last_updated, hp.created_at) AS last_updated" +
+            "  FROM home_projects hp" +
+            "         JOIN projects p ON hp.id = p.id";
+
+    @SqlQuery(SEARCHABLE_PROJECT)
+    List<SearchableProject> getSearchableProjects();
+
+    @SqlQuery(SEARCHABLE_PROJECT + " WHERE hp.id = :projectId")
+    SearchableProject getSearchableProject(long projectId);
+}
@@ -1,7 +1,7 @@
 package io.papermc.hangar.db.dao.internal.table;
 
 import io.papermc.hangar.model.db.JobTable;
-import io.papermc.hangar.model.internal.job.Job;
+import io.papermc.hangar.model.internal.job.JobType;
 
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
@@ -25,13 +25,10 @@ public interface JobsDAO {
     @SqlUpdate("INSERT INTO jobs (created_at, last_updated, retry_at, last_error, last_error_descriptor, state, job_type, job_properties) VALUES (:now, :lastUpdated, :retryAt, :lastError, :lastErrorDescriptor, :state, :jobType, :jobProperties)")
     void save(@BindBean JobTable job);
 
-    @SqlQuery("SELECT count(*) FROM jobs WHERE state = 'not_started'")
-    long countAwaitingJobs();
-
-    @SqlQuery("UPDATE jobs SET state = 'started', last_updated = now() WHERE id = (" +
-               "    SELECT id FROM jobs WHERE state = 'not_started' AND (retry_at IS NULL OR retry_at < now()) ORDER BY id FOR UPDATE SKIP LOCKED LIMIT 1" +
+    @SqlQuery("UPDATE jobs SET state = 'started', last_updated = now() WHERE id IN (" +
+               "    SELECT id FROM jobs WHERE state = 'not_started' AND job_type = :jobType AND (retry_at IS NULL OR retry_at < now()) ORDER BY id FOR UPDATE SKIP LOCKED LIMIT :limit" +
                ") RETURNING *")
-    JobTable fetchJob();
+    List<JobTable> claimJobs(JobType jobType, int limit);
 
     @SqlUpdate("UPDATE jobs SET state = 'done', last_updated = now() WHERE id = :id")
     void finishJob(long id);
@@ -39,6 +36,15 @@ public interface JobsDAO {
     @SqlUpdate("UPDATE jobs SET state = 'not_started', last_updated = now(), retry_at = :retryTime, last_error = :lastError, last_error_descriptor = :lastErrorDescriptor WHERE id = :id")
     void retryIn(long id, OffsetDateTime retryTime, String lastError, String lastErrorDescriptor);
 
+    /**
+     * Puts started jobs back which weren't touched since the cutoff, the node running them went away
+     *
+     * @return the number of jobs put back
+     */
+    @SqlUpdate("UPDATE jobs SET state = 'not_started', last_updated = now(), retry_at = NULL, last_error = 'Abandoned by the node running it', last_error_descriptor = 'abandoned'" +
+               "    WHERE state = 'started' AND last_updated < :cutoff")
+    int resetAbandonedJobs(OffsetDateTime cutoff);
+
     @SqlUpdate("UPDATE jobs SET state = 'fatal_failure', last_updated = now(), last_error = :lastError, last_error_descriptor = :lastErrorDescriptor WHERE id = :id")
     void fail(long id, String lastError, String lastErrorDescriptor);
 }
@@ -1,6 +1,8 @@
 package io.papermc.hangar.db.dao.internal.table;
 
 import io.papermc.hangar.model.db.NotificationTable;
+import io.papermc.hangar.model.internal.user.notifications.NotificationType;
+import org.jdbi.v3.core.enums.EnumByOrdinal;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
 import org.jdbi.v3.sqlobject.customizer.Timestamped;
@@ -25,6 +27,22 @@ public interface NotificationsDAO {
     @SqlBatch("INSERT INTO notifications (created_at, user_id, type, action, origin_id, message_args) VALUES (:now, :userId, :type, :action, :originId, :messageArgs)")
     void insert(@BindBean Collection<NotificationTable> notificationTables);
 
+    /**
+     * Notifies the next chunk of project watchers after {@code afterUserId} and stores the progress in the job in the same statement
+     *
+     * @return the highest notified user id, null if there were no watchers left
+     */
+    @SqlQuery("WITH chunk AS (SELECT pw.user_id FROM project_watchers pw" +
+            "       WHERE pw.project_id = :projectId AND pw.user_id > :afterUserId" +
+            "       ORDER BY pw.user_id LIMIT :limit)," +
+            "   inserted AS (INSERT INTO notifications (created_at, user_id, type, action, origin_id, message_args)" +
+            "       SELECT now(), c.user_id, :type, :action, :originId, :messageArgs FROM chunk c)," +
+            "   progress AS (UPDATE jobs SET last_updated = now(), job_properties = job_properties || hstore(ARRAY['lastUserId', 'notified']," +
+            "           ARRAY[(SELECT max(c.user_id) FROM chunk c)::text, (coalesce((job_properties -> 'notified')::bigint, 0) + (SELECT count(*) FROM chunk))::text])" +
+            "       WHERE id = :jobId AND exists(SELECT 1 FROM chunk))" +
+            "   SELECT max(c.user_id) FROM chunk c")
+    Long insertWatcherNotifications(long jobId, long projectId, long afterUserId, int limit, @EnumByOrdinal NotificationType type, String action, Long originId, String[] messageArgs);
+
     @SqlUpdate("UPDATE notifications SET read = TRUE WHERE id = :notificationId AND user_id = :userId")
     boolean markAsRead(long notificationId, long userId);
 
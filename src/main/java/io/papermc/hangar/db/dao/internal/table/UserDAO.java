@@ -10,8 +10,6 @@ import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
 @RegisterConstructorMapper(UserTable.class)
 public interface UserDAO {
@@ -34,10 +32,4 @@ public interface UserDAO {
     default UserTable getUserTable(@NotNull String name) {
         return _getUserTable(null, name);
     }
-
-    @SqlQuery("SELECT u.name" +
-            "    FROM users u" +
-            "    ORDER BY (SELECT count(*) FROM project_members_all pma WHERE pma.user_id = u.id) DESC" +
-            "    LIMIT 49000")
-    List<String> getAuthorNames();
 }
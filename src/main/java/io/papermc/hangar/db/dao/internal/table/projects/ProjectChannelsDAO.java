@@ -2,6 +2,7 @@ package io.papermc.hangar.db.dao.internal.table.projects;
 
 import io.papermc.hangar.model.common.Color;
 import io.papermc.hangar.model.db.projects.ProjectChannelTable;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.core.enums.EnumByOrdinal;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
@@ -37,8 +38,8 @@ public interface ProjectChannelsDAO {
     @SqlQuery("SELECT * FROM project_channels WHERE id = :channelId")
     ProjectChannelTable getProjectChannel(long channelId);
 
-    @SqlQuery("SELECT pc.* FROM project_channels pc JOIN project_versions pv ON pc.id = pv.channel_id WHERE pv.id = :versionId")
-    ProjectChannelTable getProjectChannelForVersion(long versionId);
+    @SqlQuery("SELECT pv.id AS version_id, pc.* FROM project_channels pc JOIN project_versions pv ON pc.id = pv.channel_id WHERE pv.id = ANY(:versionIds)")
+    List<Pair<Long, ProjectChannelTable>> getProjectChannelsForVersions(List<Long> versionIds);
 
     @SqlQuery("SELECT * FROM project_channels WHERE project_id = :projectId ORDER BY created_at LIMIT 1")
     ProjectChannelTable getFirstChannel(long projectId);
@@ -26,6 +26,12 @@ public interface ProjectPagesDAO {
     @SqlUpdate("UPDATE project_pages SET contents = :contents WHERE id = :id")
     void update(@BindBean ProjectPageTable projectPageTable);
 
+    @SqlUpdate("UPDATE project_pages SET rendered_hash = :renderedHash, rendered_contents = :renderedContents WHERE id = :id")
+    void updateRendered(long id, byte[] renderedHash, String renderedContents);
+
+    @SqlQuery("SELECT rendered_contents FROM project_pages WHERE rendered_hash = :renderedHash LIMIT 1")
+    String getRendered(byte[] renderedHash);
+
     @SqlBatch("UPDATE project_pages SET parent_id = :parentId WHERE id = :id")
     void updateParents(@BindBean Collection<ProjectPageTable> projectPageTables);
 
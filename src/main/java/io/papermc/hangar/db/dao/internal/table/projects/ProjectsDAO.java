@@ -1,6 +1,5 @@
 package io.papermc.hangar.db.dao.internal.table.projects;
 
-import io.papermc.hangar.model.db.UserTable;
 import io.papermc.hangar.model.db.projects.ProjectTable;
 import io.papermc.hangar.service.internal.projects.ProjectFactory;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
@@ -50,11 +49,4 @@ public interface ProjectsDAO {
             "     FROM projects WHERE owner_id = :ownerId) sq" +
             " WHERE sq IS NOT NULL ")
     ProjectFactory.InvalidProjectReason checkProjectValidity(long ownerId, String name, String slug);
-
-    @RegisterConstructorMapper(UserTable.class)
-    @SqlQuery("SELECT u.* " +
-            "   FROM project_watchers pw" +
-            "   JOIN users u ON pw.user_id = u.id" +
-            "   WHERE pw.project_id = :projectId")
-    List<UserTable> getProjectWatchers(long projectId);
 }
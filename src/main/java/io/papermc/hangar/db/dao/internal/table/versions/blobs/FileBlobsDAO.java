@@ -0,0 +1,54 @@
+package io.papermc.hangar.db.dao.internal.table.versions.blobs;
+
+import io.papermc.hangar.model.internal.versions.LegacyVersionFile;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FileBlobsDAO {
+
+    @SqlUpdate("INSERT INTO file_blobs (hash, size) VALUES (:hash, :size) " +
+            "ON CONFLICT (hash) DO UPDATE SET last_linked_at = now()")
+    void upsert(String hash, long size);
+
+    @SqlUpdate("INSERT INTO project_version_blobs (version_id, blob_hash) VALUES (:versionId, :hash) " +
+            "ON CONFLICT (version_id) DO UPDATE SET blob_hash = excluded.blob_hash")
+    void link(long versionId, String hash);
+
+    @SqlQuery("SELECT blob_hash FROM project_version_blobs WHERE version_id = :versionId")
+    String getBlobHash(long versionId);
+
+    @SqlQuery("SELECT fb.hash FROM file_blobs fb" +
+            "   WHERE fb.last_linked_at < now() - interval '1 day' AND" +
+            "       NOT exists(SELECT 1 FROM project_version_blobs pvb WHERE pvb.blob_hash = fb.hash)")
+    List<String> getOrphans();
+
+    /**
+     * Locks the row until the transaction ends, a concurrent {@link #upsert} waits for it and then stores the file again
+     */
+    @SqlUpdate("DELETE FROM file_blobs fb" +
+            "   WHERE fb.hash = :hash AND" +
+            "       fb.last_linked_at < now() - interval '1 day' AND" +
+            "       NOT exists(SELECT 1 FROM project_version_blobs pvb WHERE pvb.blob_hash = fb.hash)")
+    boolean deleteOrphan(String hash);
+
+    @RegisterConstructorMapper(LegacyVersionFile.class)
+    @SqlQuery(" SELECT DISTINCT pv.id version_id," +
+            "          p.owner_name," +
+            "          p.name project_name," +
+            "          pv.version_string," +
+            "          pv.file_name," +
+            "          plv.platform" +
+            "   FROM project_versions pv" +
+            "       JOIN projects p ON pv.project_id = p.id" +
+            "       JOIN project_version_platform_dependencies pvpd ON pv.id = pvpd.version_id" +
+            "       JOIN platform_versions plv ON pvpd.platform_version_id = plv.id" +
+            "   WHERE pv.file_name IS NOT NULL AND" +
+            "       NOT exists(SELECT 1 FROM project_version_blobs pvb WHERE pvb.version_id = pv.id)" +
+            "   ORDER BY pv.id")
+    List<LegacyVersionFile> getLegacyVersionFiles();
+}
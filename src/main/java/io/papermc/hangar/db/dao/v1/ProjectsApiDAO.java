@@ -68,6 +68,16 @@ public interface ProjectsApiDAO {
             "         <if(!canSeeHidden)> AND (hp.visibility = 0 <if(requesterId)>OR (:requesterId = ANY(hp.project_members) AND hp.visibility != 4)<endif>) <endif>")
     Project getProject(String author, String slug, @Define boolean canSeeHidden, @Define @Bind Long requesterId);
 
+    /**
+     * Changes whenever anything {@link #getProject} returns does, except the actions of the requester.
+     * Only reads the row versions, refresh_home_project rewrites a home_projects row only when one of its values changed
+     */
+    @SqlQuery("SELECT hp.xmin::text || '.' || p.xmin::text" +
+            "   FROM home_projects hp" +
+            "       JOIN projects p ON hp.id = p.id" +
+            "   WHERE hp.id = :projectId")
+    String getProjectVersion(long projectId);
+
     @UseStringTemplateEngine
     @SqlQuery("SELECT hp.id," +
             "       hp.created_at," +
@@ -124,6 +134,49 @@ public interface ProjectsApiDAO {
     long countProjects(@Define boolean seeHidden, @Define Long requesterId,
                        @BindPagination(isCount = true) RequestPagination pagination);
 
+    @SqlQuery("SELECT hp.id," +
+            "       hp.created_at," +
+            "       hp.name," +
+            "       hp.owner_name \"owner\"," +
+            "       hp.slug," +
+            "       hp.promoted_versions," +
+            "       hp.views," +
+            "       hp.downloads," +
+            "       hp.recent_views," +
+            "       hp.recent_downloads," +
+            "       hp.stars," +
+            "       hp.watchers," +
+            "       hp.category," +
+            "       hp.description," +
+            "       COALESCE(hp.last_updated, hp.created_at) AS last_updated," +
+            "       hp.visibility, " +
+            "       exists(SELECT * FROM project_stars s WHERE s.project_id = p.id AND s.user_id = :requesterId) AS starred, " +
+            "       exists(SELECT * FROM project_watchers s WHERE s.project_id = p.id AND s.user_id = :requesterId) AS watching, " +
+            "       exists(SELECT * FROM project_flags pf WHERE pf.project_id = p.id AND pf.user_id = :requesterId AND pf.resolved IS FALSE) as flagged," +
+            "       p.homepage," +
+            "       p.issues," +
+            "       p.source," +
+            "       p.support," +
+            "       p.license_name," +
+            "       p.license_url," +
+            "       p.keywords," +
+            "       p.forum_sync," +
+            "       p.topic_id," +
+            "       p.post_id," +
+            "       p.donation_enabled," +
+            "       p.donation_email," +
+            "       p.donation_default_amount," +
+            "       p.donation_onetime_amounts," +
+            "       p.donation_monthly_amounts" +
+            "  FROM home_projects hp" +
+            "         JOIN projects p ON hp.id = p.id" +
+            "         WHERE hp.id = ANY(:ids)" +
+            "         <if(!seeHidden)> AND (hp.visibility = 0 <if(requesterId)>OR (:requesterId = ANY(hp.project_members) AND hp.visibility != 4)<endif>) <endif> " +
+            "         ORDER BY array_position(:ids, hp.id)")
+    @UseStringTemplateEngine
+    @RegisterColumnMapper(PromotedVersionMapper.class)
+    List<Project> getProjectsByIds(List<Long> ids, @Define boolean seeHidden, @Define @Bind Long requesterId);
+
     @RegisterConstructorMapper(ProjectMember.class)
     @SqlQuery("SELECT u.name AS \"user\", array_agg(r.name) roles " +
             "   FROM projects p " +
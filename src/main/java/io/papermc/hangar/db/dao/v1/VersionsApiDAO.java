@@ -1,6 +1,7 @@
 package io.papermc.hangar.db.dao.v1;
 
 import io.papermc.hangar.db.extras.BindPagination;
+import io.papermc.hangar.db.extras.BindPagination.Key;
 import io.papermc.hangar.db.mappers.TagMapper;
 import io.papermc.hangar.model.api.project.version.PluginDependency;
 import io.papermc.hangar.model.api.project.version.Tag;
@@ -8,6 +9,9 @@ import io.papermc.hangar.model.api.project.version.Version;
 import io.papermc.hangar.model.api.project.version.VersionStats;
 import io.papermc.hangar.model.api.requests.RequestPagination;
 import io.papermc.hangar.model.common.Platform;
+import io.papermc.hangar.model.internal.versions.VersionPlatformDependency;
+import io.papermc.hangar.model.internal.versions.VersionPluginDependency;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.core.enums.EnumByOrdinal;
 import org.jdbi.v3.core.enums.EnumStrategy;
 import org.jdbi.v3.sqlobject.config.KeyColumn;
@@ -21,6 +25,8 @@ import org.jdbi.v3.stringtemplate4.UseStringTemplateEngine;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -128,9 +134,12 @@ public interface VersionsApiDAO {
             "           <endif>)" +
             "       <endif>" +
             "       AND lower(p.owner_name) = lower(:author) AND" +
-            "       lower(p.slug) = lower(:slug) " +
-            " GROUP BY pv.id, p.id, u.name, pv.created_at ORDER BY pv.created_at DESC <offsetLimit>")
-    SortedMap<Long, Version> getVersions(String author, String slug, @Define boolean canSeeHidden, @Define Long userId, @BindPagination RequestPagination pagination);
+            "       lower(p.slug) = lower(:slug) <keyset>" +
+            " GROUP BY pv.id, p.id, u.name, pv.created_at <keysetOrder> <offsetLimit>")
+    LinkedHashMap<Long, Version> getVersions(String author, String slug, @Define boolean canSeeHidden, @Define Long userId, @BindPagination(keyset = {
+            @Key(value = "pv.created_at", type = "timestamptz"),
+            @Key(value = "pv.id", type = "bigint")
+    }) RequestPagination pagination);
 
     @SqlQuery("SELECT COUNT(DISTINCT pv.id)" +
             "   FROM project_versions pv" +
@@ -177,9 +186,34 @@ public interface VersionsApiDAO {
             "   GROUP BY pv.platform")
     Map<Platform, SortedSet<String>> getPlatformDependencies(long versionId);
 
-    @SqlQuery("SELECT pvt.name, pvt.data, pvt.color FROM project_version_tags pvt WHERE pvt.version_id = :versionId")
+    @SqlQuery("SELECT " +
+            "       pvd.version_id," +
+            "       pvd.platform," +
+            "       pvd.name," +
+            "       pvd.required," +
+            "       pvd.external_url," +
+            "       p.owner_name pn_owner," +
+            "       p.slug pn_slug" +
+            "   FROM project_version_dependencies pvd" +
+            "       LEFT JOIN projects p ON pvd.project_id = p.id" +
+            "   WHERE pvd.version_id = ANY(:versionIds)")
+    @RegisterConstructorMapper(VersionPluginDependency.class)
+    List<VersionPluginDependency> getPluginDependencies(List<Long> versionIds);
+
+    @SqlQuery("SELECT" +
+            "       pvpd.version_id," +
+            "       pv.platform," +
+            "       array_agg(pv.version ORDER BY pv.created_at) versions" +
+            "   FROM project_version_platform_dependencies pvpd " +
+            "       JOIN platform_versions pv ON pvpd.platform_version_id = pv.id" +
+            "   WHERE pvpd.version_id = ANY(:versionIds)" +
+            "   GROUP BY pvpd.version_id, pv.platform")
+    @RegisterConstructorMapper(VersionPlatformDependency.class)
+    List<VersionPlatformDependency> getPlatformDependencies(List<Long> versionIds);
+
+    @SqlQuery("SELECT pvt.version_id, pvt.name, pvt.data, pvt.color FROM project_version_tags pvt WHERE pvt.version_id = ANY(:versionIds)")
     @RegisterRowMapper(TagMapper.class)
-    Set<Tag> getVersionTags(long versionId);
+    List<Pair<Long, Tag>> getVersionTags(List<Long> versionIds);
 
     // TODO this might be totally screwed up by adding the platform check
     @KeyColumn("date")
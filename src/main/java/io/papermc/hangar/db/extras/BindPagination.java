@@ -1,10 +1,13 @@
 package io.papermc.hangar.db.extras;
 
+import io.papermc.hangar.exceptions.HangarApiException;
+import io.papermc.hangar.model.api.requests.PaginationCursor;
 import io.papermc.hangar.model.api.requests.RequestPagination;
 import org.jdbi.v3.core.statement.SqlStatement;
 import org.jdbi.v3.sqlobject.customizer.SqlStatementCustomizerFactory;
 import org.jdbi.v3.sqlobject.customizer.SqlStatementCustomizingAnnotation;
 import org.jdbi.v3.sqlobject.customizer.SqlStatementParameterCustomizer;
+import org.springframework.http.HttpStatus;
 
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Documented;
@@ -32,6 +35,34 @@ public @interface BindPagination {
      */
     boolean isCount() default false;
 
+    /**
+     * columns, most significant first, which uniquely order the rows of the query.<br>
+     * when set, the query pages on these keys with {@code <keyset>} and {@code <keysetOrder>}
+     * and fetches one extra row so the next cursor can be detected, see {@link io.papermc.hangar.model.api.PaginatedResult#ofKeyset}
+     */
+    Key[] keyset() default {};
+
+    /**
+     * direction of the keyset order
+     */
+    boolean descending() default true;
+
+    @Documented
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({})
+    @interface Key {
+
+        /**
+         * column expression as used in the query
+         */
+        String value();
+
+        /**
+         * sql type the cursor value is cast to
+         */
+        String type();
+    }
+
     class BindPaginationFactory implements SqlStatementCustomizerFactory {
 
         @Override
@@ -41,12 +72,53 @@ public @interface BindPagination {
                 BindPagination paginationConfig = param.getAnnotation(BindPagination.class);
                 filter(pagination, q);
                 if (!paginationConfig.isCount()) {
-                    sorters(pagination, q);
-                    offsetLimit(pagination, q);
+                    if (paginationConfig.keyset().length > 0) {
+                        keyset(pagination, paginationConfig, q);
+                    } else if (pagination.getCursor() != null) {
+                        throw new HangarApiException(HttpStatus.BAD_REQUEST, "This request does not support cursor pagination");
+                    } else {
+                        sorters(pagination, q);
+                        offsetLimit(pagination, q);
+                    }
                 }
             };
         }
 
+        private void keyset(RequestPagination pagination, BindPagination paginationConfig, SqlStatement<?> q) {
+            Key[] keys = paginationConfig.keyset();
+            PaginationCursor cursor = pagination.getCursor();
+            if (!pagination.getSorters().isEmpty()) {
+                throw new HangarApiException(HttpStatus.BAD_REQUEST, "This request does not support sorting");
+            }
+            // a previous cursor reads backwards from its row, the result is flipped back afterwards
+            boolean descending = paginationConfig.descending() != (cursor != null && cursor.isPrevious());
+            StringBuilder order = new StringBuilder(" ORDER BY ");
+            for (int i = 0; i < keys.length; i++) {
+                order.append(i == 0 ? "" : ", ").append(keys[i].value()).append(descending ? " DESC" : " ASC");
+            }
+            q.define("keysetOrder", order.toString());
+
+            StringBuilder keyset = new StringBuilder();
+            if (cursor != null) {
+                if (cursor.getKeys().size() != keys.length) {
+                    throw new HangarApiException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+                }
+                StringBuilder columns = new StringBuilder();
+                StringBuilder values = new StringBuilder();
+                for (int i = 0; i < keys.length; i++) {
+                    columns.append(i == 0 ? "" : ", ").append(keys[i].value());
+                    values.append(i == 0 ? "" : ", ").append("CAST(:__keyset_").append(i).append(" AS ").append(keys[i].type()).append(")");
+                    q.bind("__keyset_" + i, cursor.getKeys().get(i));
+                }
+                keyset.append(" AND (").append(columns).append(descending ? ") < (" : ") > (").append(values).append(") ");
+            }
+            q.define("keyset", keyset.toString());
+
+            q.bind("limit", pagination.getLimit() + 1);
+            q.bind("offset", cursor != null ? 0 : pagination.getOffset());
+            q.define("offsetLimit", " LIMIT :limit OFFSET :offset ");
+        }
+
         private void filter(RequestPagination pagination, SqlStatement<?> q) {
             StringBuilder sb = new StringBuilder();
             pagination.getFilters().forEach(filter -> filter.createSql(sb, q));
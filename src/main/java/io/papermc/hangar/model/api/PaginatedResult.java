@@ -1,6 +1,12 @@
 package io.papermc.hangar.model.api;
 
+import io.papermc.hangar.model.api.requests.PaginationCursor;
+import io.papermc.hangar.model.api.requests.RequestPagination;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 public class PaginatedResult<T> {
 
@@ -12,6 +18,35 @@ public class PaginatedResult<T> {
         this.result = result;
     }
 
+    /**
+     * Builds the page of a keyset paginated query, see {@link io.papermc.hangar.db.extras.BindPagination#keyset()}
+     *
+     * @param rows rows as returned by the query, including the extra lookahead row
+     * @param pagination the request pagination
+     * @param keys extracts the keyset values of a row, in the same order as the keyset columns
+     * @param count total count, or null if it wasn't requested
+     */
+    public static <T> PaginatedResult<T> ofKeyset(List<T> rows, RequestPagination pagination, Function<T, List<?>> keys, Long count) {
+        PaginationCursor cursor = pagination.getCursor();
+        boolean previous = cursor != null && cursor.isPrevious();
+        boolean hasMore = rows.size() > pagination.getLimit();
+        List<T> page = new ArrayList<>(hasMore ? rows.subList(0, (int) pagination.getLimit()) : rows);
+        if (previous) {
+            Collections.reverse(page);
+        }
+        PaginationCursor next = null;
+        PaginationCursor prev = null;
+        if (!page.isEmpty()) {
+            if (previous || hasMore) {
+                next = PaginationCursor.after(keys.apply(page.get(page.size() - 1)));
+            }
+            if (previous ? hasMore : cursor != null || pagination.getOffset() > 0) {
+                prev = PaginationCursor.before(keys.apply(page.get(0)));
+            }
+        }
+        return new PaginatedResult<>(new Pagination(count, pagination, next, prev), page);
+    }
+
     public Pagination getPagination() {
         return pagination;
     }
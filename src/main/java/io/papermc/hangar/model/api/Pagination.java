@@ -1,24 +1,52 @@
 package io.papermc.hangar.model.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import io.papermc.hangar.model.api.requests.PaginationCursor;
 import io.papermc.hangar.model.api.requests.RequestPagination;
+import io.swagger.annotations.ApiModelProperty;
 
 public class Pagination extends RequestPagination {
 
-    private final long count;
+    @ApiModelProperty(value = "The total amount of items, absent if the count was skipped with count=none")
+    @JsonInclude(Include.NON_NULL)
+    private final Long count;
+    @ApiModelProperty(value = "Cursor for the next page, absent on the last page or if the listing is not cursor paginated")
+    @JsonInclude(Include.NON_NULL)
+    private final String next;
+    @ApiModelProperty(value = "Cursor for the previous page, absent on the first page or if the listing is not cursor paginated")
+    @JsonInclude(Include.NON_NULL)
+    private final String prev;
 
     public Pagination(Long count, RequestPagination pagination) {
+        this(count, pagination, null, null);
+    }
+
+    public Pagination(Long count, RequestPagination pagination, PaginationCursor next, PaginationCursor prev) {
         super(pagination.getLimit(), pagination.getOffset());
-        this.count = count != null ? count : 0;
+        this.count = count != null ? count : (pagination.isCountTotal() ? 0L : null);
+        this.next = next != null ? next.encode() : null;
+        this.prev = prev != null ? prev.encode() : null;
     }
 
-    public long getCount() {
+    public Long getCount() {
         return count;
     }
 
+    public String getNext() {
+        return next;
+    }
+
+    public String getPrev() {
+        return prev;
+    }
+
     @Override
     public String toString() {
         return "Pagination{" +
                 "count=" + count +
+                ", next=" + next +
+                ", prev=" + prev +
                 "} " + super.toString();
     }
 }
@@ -0,0 +1,88 @@
+package io.papermc.hangar.model.api.requests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.papermc.hangar.exceptions.HangarApiException;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Opaque position in a listing paginated by its sort keys. Holds the key values of the row next to the requested page,
+ * the page is read after that row, or before it for a previous cursor.
+ */
+public class PaginationCursor {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final List<String> keys;
+    private final boolean previous;
+
+    private PaginationCursor(List<String> keys, boolean previous) {
+        this.keys = Collections.unmodifiableList(keys);
+        this.previous = previous;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public boolean isPrevious() {
+        return previous;
+    }
+
+    public String encode() {
+        ObjectNode node = mapper.createObjectNode();
+        ArrayNode keyNodes = node.putArray("k");
+        keys.forEach(keyNodes::add);
+        if (previous) {
+            node.put("p", true);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(node.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PaginationCursor after(List<?> keys) {
+        return of(keys, false);
+    }
+
+    public static PaginationCursor before(List<?> keys) {
+        return of(keys, true);
+    }
+
+    private static PaginationCursor of(List<?> keys, boolean previous) {
+        List<String> values = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            values.add(String.valueOf(key));
+        }
+        return new PaginationCursor(values, previous);
+    }
+
+    public static PaginationCursor decode(String cursor) {
+        try {
+            JsonNode node = mapper.readTree(Base64.getUrlDecoder().decode(cursor));
+            if (!node.path("k").isArray()) {
+                throw new HangarApiException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            List<String> keys = new ArrayList<>();
+            node.get("k").forEach(key -> keys.add(key.asText()));
+            return new PaginationCursor(keys, node.path("p").asBoolean(false));
+        } catch (IllegalArgumentException | IOException e) {
+            throw new HangarApiException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PaginationCursor{" +
+                "keys=" + keys +
+                ", previous=" + previous +
+                '}';
+    }
+}
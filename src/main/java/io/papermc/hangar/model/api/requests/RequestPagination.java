@@ -27,14 +27,28 @@ public class RequestPagination {
     @ApiModelProperty(hidden = true)
     private final Map<String, Consumer<StringBuilder>> sorters;
 
+    @JsonIgnore
+    @ApiModelProperty(hidden = true)
+    private final PaginationCursor cursor;
+
+    @JsonIgnore
+    @ApiModelProperty(hidden = true)
+    private final boolean countTotal;
+
     /**
      * limit/offset params should be validated before construction
      */
     public RequestPagination(Long limit, Long offset) {
+        this(limit, offset, null, true);
+    }
+
+    public RequestPagination(Long limit, Long offset, PaginationCursor cursor, boolean countTotal) {
         this.limit = limit;
         this.offset = offset;
         this.filters = new ArrayList<>();
         this.sorters = new LinkedHashMap<>();
+        this.cursor = cursor;
+        this.countTotal = countTotal;
     }
 
     public long getLimit() {
@@ -53,6 +67,20 @@ public class RequestPagination {
         return sorters;
     }
 
+    /**
+     * @return the position to continue a keyset paginated listing from, null for the first page
+     */
+    public PaginationCursor getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return false if the client opted out of the total count of the listing
+     */
+    public boolean isCountTotal() {
+        return countTotal;
+    }
+
     @Override
     public String toString() {
         return "RequestPagination{" +
@@ -60,6 +88,8 @@ public class RequestPagination {
                 ", offset=" + offset +
                 ", filters=" + filters +
                 ", sorters=" + sorters.keySet() +
+                ", cursor=" + cursor +
+                ", countTotal=" + countTotal +
                 '}';
     }
 }
@@ -5,6 +5,7 @@ import io.papermc.hangar.model.db.Table;
 import io.papermc.hangar.model.internal.logs.LoggedAction;
 
 import java.net.InetAddress;
+import java.time.OffsetDateTime;
 
 public abstract class LoggedActionTable extends Table {
 
@@ -15,6 +16,8 @@ public abstract class LoggedActionTable extends Table {
     private final String oldState;
 
     public LoggedActionTable(long userId, InetAddress address, LoggedAction<?> action) {
+        // entries may be written later in a batch, keep the time of the action
+        super(OffsetDateTime.now(), -1);
         this.userId = userId;
         this.address = address;
         this.action = action.getType().getPgLoggedAction();
@@ -13,6 +13,8 @@ public abstract class IndividualTable extends Table {
     private final int processed;
 
     protected IndividualTable(InetAddress address, String cookie, Long userId) {
+        // the event time is captured here since rows are inserted asynchronously
+        super(OffsetDateTime.now(), -1);
         this.address = address;
         this.cookie = cookie;
         this.userId = userId;
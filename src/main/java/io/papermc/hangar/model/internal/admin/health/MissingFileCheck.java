@@ -3,6 +3,7 @@ package io.papermc.hangar.model.internal.admin.health;
 import io.papermc.hangar.model.api.project.ProjectNamespace;
 import io.papermc.hangar.model.common.Platform;
 import org.jdbi.v3.core.mapper.Nested;
+import org.jetbrains.annotations.Nullable;
 
 public class MissingFileCheck {
 
@@ -11,13 +12,15 @@ public class MissingFileCheck {
     private final String fileName;
     private final ProjectNamespace namespace;
     private final String name;
+    private final String blobHash;
 
-    public MissingFileCheck(Platform platform, String versionString, String fileName, @Nested ProjectNamespace namespace, String name) {
+    public MissingFileCheck(Platform platform, String versionString, String fileName, @Nested ProjectNamespace namespace, String name, @Nullable String blobHash) {
         this.platform = platform;
         this.versionString = versionString;
         this.fileName = fileName;
         this.namespace = namespace;
         this.name = name;
+        this.blobHash = blobHash;
     }
 
     public Platform getPlatform() {
@@ -40,6 +43,11 @@ public class MissingFileCheck {
         return name;
     }
 
+    @Nullable
+    public String getBlobHash() {
+        return blobHash;
+    }
+
     @Override
     public String toString() {
         return "MissingFileCheck{" +
@@ -48,6 +56,7 @@ public class MissingFileCheck {
                 ", fileName='" + fileName + '\'' +
                 ", namespace=" + namespace +
                 ", name='" + name + '\'' +
+                ", blobHash='" + blobHash + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,79 @@
+package io.papermc.hangar.model.internal.api.responses;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BlobMigrationReport {
+
+    private int migratedVersions;
+    private int missingVersions;
+    private int failedVersions;
+    // versions whose platforms have different files, they are left on the legacy layout
+    private final List<Long> conflictingVersions = new ArrayList<>();
+    private int removedFiles;
+    private long bytesBefore;
+    private long bytesAfter;
+
+    public void addMigrated(int removedFiles, long bytesBefore, long bytesAfter) {
+        this.migratedVersions++;
+        this.removedFiles += removedFiles;
+        this.bytesBefore += bytesBefore;
+        this.bytesAfter += bytesAfter;
+    }
+
+    public void addMissing() {
+        this.missingVersions++;
+    }
+
+    public void addFailed() {
+        this.failedVersions++;
+    }
+
+    public void addConflicting(long versionId) {
+        this.conflictingVersions.add(versionId);
+    }
+
+    public int getMigratedVersions() {
+        return migratedVersions;
+    }
+
+    public int getMissingVersions() {
+        return missingVersions;
+    }
+
+    public int getFailedVersions() {
+        return failedVersions;
+    }
+
+    public List<Long> getConflictingVersions() {
+        return conflictingVersions;
+    }
+
+    public int getRemovedFiles() {
+        return removedFiles;
+    }
+
+    public long getBytesBefore() {
+        return bytesBefore;
+    }
+
+    public long getBytesAfter() {
+        return bytesAfter;
+    }
+
+    public long getBytesReclaimed() {
+        return bytesBefore - bytesAfter;
+    }
+
+    @Override
+    public String toString() {
+        return "BlobMigrationReport{" +
+                "migratedVersions=" + migratedVersions +
+                ", missingVersions=" + missingVersions +
+                ", failedVersions=" + failedVersions +
+                ", conflictingVersions=" + conflictingVersions +
+                ", removedFiles=" + removedFiles +
+                ", bytesReclaimed=" + getBytesReclaimed() +
+                '}';
+    }
+}
@@ -6,4 +6,22 @@ public enum JobType {
     UPDATE_DISCOURSE_VERSION_POST,
     DELETE_DISCOURSE_TOPIC,
     POST_DISCOURSE_REPLY,
+    NOTIFY_PROJECT_WATCHERS(false);
+
+    private final boolean discourse;
+
+    JobType() {
+        this(true);
+    }
+
+    JobType(boolean discourse) {
+        this.discourse = discourse;
+    }
+
+    /**
+     * @return whether jobs of this type talk to Discourse and are only run if it is enabled
+     */
+    public boolean isDiscourse() {
+        return discourse;
+    }
 }
@@ -0,0 +1,111 @@
+package io.papermc.hangar.model.internal.job;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import io.papermc.hangar.model.db.JobTable;
+
+/**
+ * Notifies the watchers of a project about a new version. Watchers are notified in chunks ordered by user id,
+ * each chunk records its progress in the job properties so a retried job continues after the last notified watcher.
+ */
+public class NotifyProjectWatchersJob extends Job {
+
+    private long versionId;
+    private long lastUserId;
+    private long notified;
+
+    public NotifyProjectWatchersJob(long versionId) {
+        super(JobType.NOTIFY_PROJECT_WATCHERS);
+        this.versionId = versionId;
+    }
+
+    NotifyProjectWatchersJob() {
+        super(JobType.NOTIFY_PROJECT_WATCHERS);
+    }
+
+    public long getVersionId() {
+        return versionId;
+    }
+
+    public void setVersionId(long versionId) {
+        this.versionId = versionId;
+    }
+
+    /**
+     * @return the highest user id notified so far
+     */
+    public long getLastUserId() {
+        return lastUserId;
+    }
+
+    public void setLastUserId(long lastUserId) {
+        this.lastUserId = lastUserId;
+    }
+
+    /**
+     * @return the amount of watchers notified so far
+     */
+    public long getNotified() {
+        return notified;
+    }
+
+    public void setNotified(long notified) {
+        this.notified = notified;
+    }
+
+    @Override
+    public void loadFromProperties() {
+        if (getJobProperties() != null && getJobProperties().containsKey("versionId")) {
+            versionId = Long.parseLong(getJobProperties().get("versionId"));
+        }
+        if (getJobProperties() != null && getJobProperties().containsKey("lastUserId")) {
+            lastUserId = Long.parseLong(getJobProperties().get("lastUserId"));
+        }
+        if (getJobProperties() != null && getJobProperties().containsKey("notified")) {
+            notified = Long.parseLong(getJobProperties().get("notified"));
+        }
+    }
+
+    @Override
+    public void saveIntoProperties() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("versionId", versionId + "");
+        properties.put("lastUserId", lastUserId + "");
+        properties.put("notified", notified + "");
+        setJobProperties(properties);
+    }
+
+    public static NotifyProjectWatchersJob loadFromTable(JobTable table) {
+        NotifyProjectWatchersJob job  = new NotifyProjectWatchersJob();
+        job.fromTable(table);
+        job.setJobProperties(table.getJobProperties());
+        job.loadFromProperties();
+        return job;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        NotifyProjectWatchersJob that = (NotifyProjectWatchersJob) o;
+        return versionId == that.versionId && lastUserId == that.lastUserId && notified == that.notified;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), versionId, lastUserId, notified);
+    }
+
+    @Override
+    public String toString() {
+        return "NotifyProjectWatchersJob{" +
+               "createdAt=" + createdAt +
+               ", versionId=" + versionId +
+               ", lastUserId=" + lastUserId +
+               ", notified=" + notified +
+               "} " + super.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package io.papermc.hangar.model.internal.logs;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.papermc.hangar.model.Model;
 import io.papermc.hangar.model.internal.logs.contexts.Context;
 import io.papermc.hangar.model.internal.logs.viewmodels.LogPage;
@@ -14,6 +15,7 @@ import java.time.OffsetDateTime;
 
 public class HangarLoggedAction extends Model {
 
+    private final long id;
     private final Long userId;
     private final String userName;
     private final InetAddress address;
@@ -26,8 +28,9 @@ public class HangarLoggedAction extends Model {
     private final LogPage page;
     private final LogSubject subject;
 
-    public HangarLoggedAction(OffsetDateTime createdAt, Long userId, String userName, InetAddress address, LogAction<?> action, @EnumByOrdinal Context contextType, String newState, String oldState, @Nested("p_") LogProject project, @Nested("pv_") LogVersion version, @Nested("pp_") LogPage page, @Nested("s_") LogSubject subject) {
+    public HangarLoggedAction(long id, OffsetDateTime createdAt, Long userId, String userName, InetAddress address, LogAction<?> action, @EnumByOrdinal Context contextType, String newState, String oldState, @Nested("p_") LogProject project, @Nested("pv_") LogVersion version, @Nested("pp_") LogPage page, @Nested("s_") LogSubject subject) {
         super(createdAt);
+        this.id = id;
         this.userId = userId;
         this.userName = userName;
         this.address = address;
@@ -41,6 +44,14 @@ public class HangarLoggedAction extends Model {
         this.subject = subject;
     }
 
+    /**
+     * only unique per context type
+     */
+    @JsonIgnore
+    public long getId() {
+        return id;
+    }
+
     public Long getUserId() {
         return userId;
     }
@@ -88,7 +99,8 @@ public class HangarLoggedAction extends Model {
     @Override
     public String toString() {
         return "HangarLoggedAction{" +
-                "userId=" + userId +
+                "id=" + id +
+                ", userId=" + userId +
                 ", userName='" + userName + '\'' +
                 ", address=" + address +
                 ", action=" + action +
@@ -12,6 +12,7 @@ import io.papermc.hangar.model.internal.Joinable;
 import io.papermc.hangar.model.internal.user.JoinableMember;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -30,12 +31,12 @@ public class HangarProject extends Project implements Joinable<ProjectRoleTable>
         super(project);
         this.id = id;
         this.owner = owner;
-        this.members = members;
+        this.members = List.copyOf(members);
         this.lastVisibilityChangeComment = lastVisibilityChangeComment;
         this.lastVisibilityChangeUserName = lastVisibilityChangeUserName;
         this.info = info;
-        this.pages = pages;
-        this.recommendedVersions = recommendedVersions;
+        this.pages = List.copyOf(pages);
+        this.recommendedVersions = Collections.unmodifiableMap(recommendedVersions);
     }
 
     public long getId() {
@@ -0,0 +1,129 @@
+package io.papermc.hangar.model.internal.projects;
+
+import io.papermc.hangar.model.api.project.version.PromotedVersion;
+import io.papermc.hangar.model.common.projects.Category;
+import io.papermc.hangar.model.common.projects.Visibility;
+import org.jdbi.v3.core.enums.EnumByOrdinal;
+import org.jdbi.v3.core.mapper.reflect.JdbiConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The parts of a home_projects row the search index needs
+ */
+public class SearchableProject {
+
+    private final long id;
+    private final String name;
+    private final String ownerName;
+    private final String description;
+    private final Collection<String> keywords;
+    private final Category category;
+    private final Visibility visibility;
+    private final Collection<Long> projectMembers;
+    private final List<PromotedVersion> promotedVersions;
+    private final long views;
+    private final long downloads;
+    private final long recentViews;
+    private final long recentDownloads;
+    private final long stars;
+    private final OffsetDateTime createdAt;
+    private final OffsetDateTime lastUpdated;
+
+    @JdbiConstructor
+    public SearchableProject(long id, String name, String ownerName, String description, Collection<String> keywords, @EnumByOrdinal Category category, @EnumByOrdinal Visibility visibility, Collection<Long> projectMembers, List<PromotedVersion> promotedVersions, long views, long downloads, long recentViews, long recentDownloads, long stars, OffsetDateTime createdAt, OffsetDateTime lastUpdated) {
+        this.id = id;
+        this.name = name;
+        this.ownerName = ownerName;
+        this.description = description;
+        this.keywords = keywords == null ? List.of() : keywords;
+        this.category = category;
+        this.visibility = visibility;
+        this.projectMembers = projectMembers == null ? List.of() : projectMembers;
+        this.promotedVersions = promotedVersions;
+        this.views = views;
+        this.downloads = downloads;
+        this.recentViews = recentViews;
+        this.recentDownloads = recentDownloads;
+        this.stars = stars;
+        this.createdAt = createdAt;
+        this.lastUpdated = lastUpdated;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Collection<String> getKeywords() {
+        return keywords;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public Visibility getVisibility() {
+        return visibility;
+    }
+
+    public Collection<Long> getProjectMembers() {
+        return projectMembers;
+    }
+
+    public List<PromotedVersion> getPromotedVersions() {
+        return promotedVersions;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public long getDownloads() {
+        return downloads;
+    }
+
+    public long getRecentViews() {
+        return recentViews;
+    }
+
+    public long getRecentDownloads() {
+        return recentDownloads;
+    }
+
+    public long getStars() {
+        return stars;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchableProject{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", ownerName='" + ownerName + '\'' +
+                ", category=" + category +
+                ", visibility=" + visibility +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package io.papermc.hangar.model.internal.sitemap;
+
+import io.papermc.hangar.model.common.Platform;
+import org.jdbi.v3.core.enums.EnumByOrdinal;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.OffsetDateTime;
+import java.util.Locale;
+
+/**
+ * A single url of a user sitemap, either a project, a version of a project on one platform or a project page
+ */
+public class SitemapEntry {
+
+    private final long projectId;
+    private final String projectSlug;
+    private final String versionString;
+    private final Platform platform;
+    private final String pageSlug;
+    private final OffsetDateTime lastModified;
+
+    public SitemapEntry(long projectId, String projectSlug, @Nullable String versionString, @Nullable @EnumByOrdinal Platform platform, @Nullable String pageSlug, @Nullable OffsetDateTime lastModified) {
+        this.projectId = projectId;
+        this.projectSlug = projectSlug;
+        this.versionString = versionString;
+        this.platform = platform;
+        this.pageSlug = pageSlug;
+        this.lastModified = lastModified;
+    }
+
+    public long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectSlug() {
+        return projectSlug;
+    }
+
+    @Nullable
+    public String getVersionString() {
+        return versionString;
+    }
+
+    @Nullable
+    public Platform getPlatform() {
+        return platform;
+    }
+
+    @Nullable
+    public String getPageSlug() {
+        return pageSlug;
+    }
+
+    @Nullable
+    public OffsetDateTime getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return the path of this entry relative to the base url
+     */
+    public String getPath(String ownerName) {
+        String path = ownerName + "/" + projectSlug;
+        if (versionString != null && platform != null) {
+            return path + "/versions/" + versionString + "/" + platform.name().toLowerCase(Locale.ROOT);
+        } else if (pageSlug != null) {
+            return path + "/pages/" + pageSlug;
+        }
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return "SitemapEntry{" +
+                "projectId=" + projectId +
+                ", projectSlug='" + projectSlug + '\'' +
+                ", versionString='" + versionString + '\'' +
+                ", platform=" + platform +
+                ", pageSlug='" + pageSlug + '\'' +
+                ", lastModified=" + lastModified +
+                '}';
+    }
+}
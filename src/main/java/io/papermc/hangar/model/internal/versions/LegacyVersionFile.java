@@ -0,0 +1,47 @@
+package io.papermc.hangar.model.internal.versions;
+
+import io.papermc.hangar.model.common.Platform;
+import org.jdbi.v3.core.enums.EnumByOrdinal;
+
+public class LegacyVersionFile {
+
+    private final long versionId;
+    private final String ownerName;
+    private final String projectName;
+    private final String versionString;
+    private final String fileName;
+    private final Platform platform;
+
+    public LegacyVersionFile(long versionId, String ownerName, String projectName, String versionString, String fileName, @EnumByOrdinal Platform platform) {
+        this.versionId = versionId;
+        this.ownerName = ownerName;
+        this.projectName = projectName;
+        this.versionString = versionString;
+        this.fileName = fileName;
+        this.platform = platform;
+    }
+
+    public long getVersionId() {
+        return versionId;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public String getVersionString() {
+        return versionString;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Platform getPlatform() {
+        return platform;
+    }
+}
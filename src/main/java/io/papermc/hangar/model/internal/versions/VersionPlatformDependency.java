@@ -0,0 +1,43 @@
+package io.papermc.hangar.model.internal.versions;
+
+import io.papermc.hangar.model.common.Platform;
+import org.jdbi.v3.core.enums.EnumByOrdinal;
+
+import java.util.SortedSet;
+
+/**
+ * The platform versions a version supports on one platform, as loaded in a batch
+ */
+public class VersionPlatformDependency {
+
+    private final long versionId;
+    private final Platform platform;
+    private final SortedSet<String> versions;
+
+    public VersionPlatformDependency(long versionId, @EnumByOrdinal Platform platform, SortedSet<String> versions) {
+        this.versionId = versionId;
+        this.platform = platform;
+        this.versions = versions;
+    }
+
+    public long getVersionId() {
+        return versionId;
+    }
+
+    public Platform getPlatform() {
+        return platform;
+    }
+
+    public SortedSet<String> getVersions() {
+        return versions;
+    }
+
+    @Override
+    public String toString() {
+        return "VersionPlatformDependency{" +
+                "versionId=" + versionId +
+                ", platform=" + platform +
+                ", versions=" + versions +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package io.papermc.hangar.model.internal.versions;
+
+import io.papermc.hangar.model.api.project.version.PluginDependency;
+import io.papermc.hangar.model.common.Platform;
+import org.jdbi.v3.core.enums.EnumByOrdinal;
+import org.jdbi.v3.core.mapper.Nested;
+
+/**
+ * A plugin dependency row of a batch load, tagged with the version and platform it belongs to
+ */
+public class VersionPluginDependency {
+
+    private final long versionId;
+    private final Platform platform;
+    private final PluginDependency dependency;
+
+    public VersionPluginDependency(long versionId, @EnumByOrdinal Platform platform, @Nested PluginDependency dependency) {
+        this.versionId = versionId;
+        this.platform = platform;
+        this.dependency = dependency;
+    }
+
+    public long getVersionId() {
+        return versionId;
+    }
+
+    public Platform getPlatform() {
+        return platform;
+    }
+
+    public PluginDependency getDependency() {
+        return dependency;
+    }
+
+    @Override
+    public String toString() {
+        return "VersionPluginDependency{" +
+                "versionId=" + versionId +
+                ", platform=" + platform +
+                ", dependency=" + dependency +
+                '}';
+    }
+}
@@ -1,6 +1,12 @@
 package io.papermc.hangar.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.papermc.hangar.HangarComponent;
+import io.papermc.hangar.config.hangar.HangarSecurityConfig;
 import io.papermc.hangar.db.dao.HangarDao;
 import io.papermc.hangar.db.dao.internal.HangarApiKeysDAO;
 import io.papermc.hangar.db.dao.internal.table.auth.ApiKeyDAO;
@@ -13,11 +19,22 @@ import io.papermc.hangar.model.identified.UserIdentified;
 import io.papermc.hangar.model.internal.api.requests.CreateAPIKeyForm;
 import io.papermc.hangar.model.internal.logs.LogAction;
 import io.papermc.hangar.model.internal.logs.contexts.UserContext;
+import io.papermc.hangar.util.RequestUtil;
+import io.papermc.hangar.util.TransactionUtils;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -25,13 +42,121 @@ import java.util.stream.Collectors;
 @Service
 public class APIKeyService extends HangarComponent {
 
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
     private final ApiKeyDAO apiKeyDAO;
     private final HangarApiKeysDAO hangarApiKeysDAO;
+    private final int maxFailedAttempts;
+    // keyed digests of secrets which passed bcrypt, the hmac key only lives in this process.
+    // like the session keys, only used while deletions on other nodes are received
+    private final SecretKeySpec digestKey;
+    private final Cache<String, VerifiedApiKey> verifiedKeys;
+    // failures per key and client address, so nobody can lock others out of a key by guessing its secret
+    private final Cache<String, Integer> failedAttempts;
+    // keys of api sessions, trusted for the lifetime of a jwt while deletions on other nodes are received
+    private final Cache<String, ApiKeyTable> sessionKeys;
+    private volatile boolean revocationsReceived;
 
     @Autowired
-    public APIKeyService(HangarDao<ApiKeyDAO> apiKeyDAO, HangarDao<HangarApiKeysDAO> hangarApiKeysDAO) {
+    public APIKeyService(HangarDao<ApiKeyDAO> apiKeyDAO, HangarDao<HangarApiKeysDAO> hangarApiKeysDAO, HangarSecurityConfig securityConfig, MeterRegistry meterRegistry) {
         this.apiKeyDAO = apiKeyDAO.get();
         this.hangarApiKeysDAO = hangarApiKeysDAO.get();
+        this.maxFailedAttempts = securityConfig.getApiKeyMaxFailedAttempts();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, DIGEST_ALGORITHM);
+        this.verifiedKeys = Caffeine.newBuilder().expireAfterWrite(securityConfig.getApiKeyCacheTtl()).maximumSize(10000).recordStats().build();
+        this.failedAttempts = Caffeine.newBuilder().expireAfter(new FixedWindow(securityConfig.getApiKeyFailedAttemptsWindow())).maximumSize(10000).build();
+        this.sessionKeys = Caffeine.newBuilder().expireAfterWrite(securityConfig.getTokenExpiry()).maximumSize(10000).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedKeys, "apiKeys");
+        CaffeineCacheMetrics.monitor(meterRegistry, sessionKeys, "apiKeySessions");
+    }
+
+    /**
+     * Checks an api key secret, only hitting bcrypt in the database if the key wasn't recently verified.
+     * A secret matching the recently verified one is always accepted, even while its client is throttled
+     *
+     * @return the owner of the key, or null if the secret doesn't match
+     * @throws HangarApiException if there were too many failed attempts for this key from the client
+     */
+    @Nullable
+    public Long verifyApiKey(String identifier, String token) {
+        byte[] digest = digest(token);
+        VerifiedApiKey verifiedKey = revocationsReceived ? verifiedKeys.getIfPresent(identifier) : null;
+        if (verifiedKey != null && MessageDigest.isEqual(verifiedKey.digest, digest)) {
+            return verifiedKey.ownerId;
+        }
+        String attemptsKey = identifier + "/" + RequestUtil.getRemoteAddress(request);
+        Integer failures = failedAttempts.getIfPresent(attemptsKey);
+        if (failures != null && failures >= maxFailedAttempts) {
+            throw new HangarApiException(HttpStatus.TOO_MANY_REQUESTS, "Too many failed attempts for this API Key, try again later");
+        }
+        if (verifiedKey != null) {
+            // identifiers are unique, so a different secret can never be valid
+            failedAttempts.asMap().merge(attemptsKey, 1, Integer::sum);
+            return null;
+        }
+        ApiKeyTable apiKeyTable = apiKeyDAO.findApiKey(identifier, token);
+        if (apiKeyTable == null) {
+            failedAttempts.asMap().merge(attemptsKey, 1, Integer::sum);
+            return null;
+        }
+        if (revocationsReceived) {
+            verifiedKeys.put(identifier, new VerifiedApiKey(digest, apiKeyTable.getOwnerId()));
+        }
+        return apiKeyTable.getOwnerId();
+    }
+
+    /**
+     * Looks up the key an api session was created with
+     *
+     * @return the key, or null if it was deleted since
+     */
+    @Nullable
+    public ApiKeyTable getSessionApiKey(long userId, String identifier) {
+        ApiKeyTable apiKeyTable = revocationsReceived ? sessionKeys.getIfPresent(identifier) : null;
+        if (apiKeyTable == null) {
+            apiKeyTable = apiKeyDAO.findApiKey(userId, identifier);
+            if (apiKeyTable == null) {
+                return null;
+            }
+            if (revocationsReceived) {
+                sessionKeys.put(identifier, apiKeyTable);
+            }
+        }
+        return apiKeyTable.getOwnerId() == userId ? apiKeyTable : null;
+    }
+
+    /**
+     * Forgets a key, now and after the current transaction completes
+     */
+    public void evictApiKey(String identifier) {
+        TransactionUtils.evict(() -> {
+            verifiedKeys.invalidate(identifier);
+            sessionKeys.invalidate(identifier);
+        });
+    }
+
+    /**
+     * Set by the {@link io.papermc.hangar.tasks.ApiKeyRevocationListener}, deletions on other nodes can be missed while false,
+     * so nothing is cached then
+     */
+    public void setRevocationsReceived(boolean revocationsReceived) {
+        if (this.revocationsReceived != revocationsReceived) {
+            verifiedKeys.invalidateAll();
+            sessionKeys.invalidateAll();
+        }
+        this.revocationsReceived = revocationsReceived;
+    }
+
+    private byte[] digest(String token) {
+        try {
+            Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+            mac.init(digestKey);
+            return mac.doFinal(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     public List<ApiKey> getApiKeys(long userId) {
@@ -62,10 +187,49 @@ public class APIKeyService extends HangarComponent {
 
     @Transactional
     public void deleteApiKey(UserIdentified userIdentified, String keyName) {
-        if (apiKeyDAO.delete(keyName, userIdentified.getUserId()) == 0) {
+        ApiKeyTable apiKeyTable = apiKeyDAO.getByUserAndName(userIdentified.getUserId(), keyName);
+        if (apiKeyTable == null || apiKeyDAO.delete(keyName, userIdentified.getUserId()) == 0) {
             throw new HangarApiException(HttpStatus.NOT_FOUND);
         }
+        evictApiKey(apiKeyTable.getTokenIdentifier());
         actionLogger.user(LogAction.USER_APIKEY_DELETED.create(UserContext.of(userIdentified.getUserId()), "", "Key Name: " + keyName));
     }
 
+    /**
+     * Expires a window from its first failure, later failures don't extend it
+     */
+    private static final class FixedWindow implements Expiry<String, Integer> {
+
+        private final long window;
+
+        private FixedWindow(Duration window) {
+            this.window = window.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Integer value, long currentTime) {
+            return window;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Integer value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Integer value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static final class VerifiedApiKey {
+
+        private final byte[] digest;
+        private final long ownerId;
+
+        private VerifiedApiKey(byte[] digest, long ownerId) {
+            this.digest = digest;
+            this.ownerId = ownerId;
+        }
+    }
 }
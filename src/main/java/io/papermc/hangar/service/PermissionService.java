@@ -1,47 +1,90 @@
 package io.papermc.hangar.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.papermc.hangar.HangarComponent;
+import io.papermc.hangar.config.hangar.HangarSecurityConfig;
 import io.papermc.hangar.db.dao.HangarDao;
 import io.papermc.hangar.db.dao.PermissionsDAO;
 import io.papermc.hangar.model.common.Permission;
 import io.papermc.hangar.model.db.UserTable;
+import io.papermc.hangar.util.TransactionUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
-
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Resolves permissions of a user in a scope. Results are memoized for the current request and shared
+ * between requests for {@link HangarSecurityConfig#getPermissionCacheTtl()}, any change to a user's roles or
+ * memberships must call {@link #invalidate(long)}.
+ */
 @Service
 public class PermissionService extends HangarComponent {
 
     public static final Permission DEFAULT_SIGNED_OUT_PERMISSIONS = Permission.ViewPublicInfo;
     public static final Permission DEFAULT_SIGNED_IN_PERMISSIONS = Permission.ViewPublicInfo.add(Permission.EditOwnUserSettings).add(Permission.EditApiKeys);
 
-    private final PermissionsDAO permissionsDAO;
+    private static final String REQUEST_CACHE_ATTRIBUTE = PermissionService.class.getName() + ".requestCache";
 
-    public PermissionService(HangarDao<PermissionsDAO> permissionsDAO) {
+    private final PermissionsDAO permissionsDAO;
+    private final Cache<PermissionKey, Permission> sharedCache;
+    private final Counter requestHits;
+    private final Counter requestMisses;
+    private final Counter trustCorrections;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public PermissionService(HangarDao<PermissionsDAO> permissionsDAO, HangarSecurityConfig securityConfig, MeterRegistry meterRegistry) {
         this.permissionsDAO = permissionsDAO.get();
+        if (securityConfig.getPermissionCacheTtl().isZero()) {
+            this.sharedCache = null;
+        } else {
+            this.sharedCache = Caffeine.newBuilder()
+                    .expireAfterWrite(securityConfig.getPermissionCacheTtl())
+                    .maximumSize(securityConfig.getPermissionCacheSize())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, sharedCache, "permissions");
+        }
+        this.requestHits = Counter.builder("hangar.permissions.request.cache").tag("result", "hit").description("Permission lookups answered by the current request").register(meterRegistry);
+        this.requestMisses = Counter.builder("hangar.permissions.request.cache").tag("result", "miss").description("Permission lookups not yet resolved in the current request").register(meterRegistry);
+        this.trustCorrections = Counter.builder("hangar.permissions.trust.corrections").description("Stored trust rows which didn't match the roles they are derived from").register(meterRegistry);
     }
 
     @NotNull
     // Global permissions
     public Permission getGlobalPermissions(@Nullable Long userId) {
-        return getPermissions(userId, permissionsDAO::getGlobalPermission);
+        return getPermissions(userId, Scope.GLOBAL, null, permissionsDAO::getGlobalPermission);
     }
 
     @NotNull
     public Permission getGlobalPermissions(@Nullable String userName) {
-        return getPermissions(userName, permissionsDAO::getGlobalPermission);
+        // not cached, there is no user id to invalidate it by
+        if (userName == null) {
+            return DEFAULT_SIGNED_OUT_PERMISSIONS;
+        }
+        return withDefaults(permissionsDAO.getGlobalPermission(userName));
     }
 
     // Project permissions
     public Permission getProjectPermissions(@Nullable Long userId, long projectId) {
-        return getPermissions(userId, (id) -> permissionsDAO.getProjectPermission(id, projectId));
+        return getPermissions(userId, Scope.PROJECT, projectId, (id) -> permissionsDAO.getProjectPermission(id, projectId));
     }
 
     public Permission getProjectPermissions(@Nullable Long userId, @NotNull String author, @NotNull String slug) {
-        return getPermissions(userId, (id) -> permissionsDAO.getProjectPermission(id, author, slug));
+        return getPermissions(userId, Scope.PROJECT_SLUG, author.toLowerCase() + "/" + slug, (id) -> permissionsDAO.getProjectPermission(id, author, slug));
     }
 
     public Map<UserTable, Permission> getProjectMemberPermissions(long projectId) {
@@ -50,35 +93,152 @@ public class PermissionService extends HangarComponent {
 
     // Organization permissions
     public Permission getOrganizationPermissions(@Nullable Long userId, long orgId) {
-        return getPermissions(userId, (id) -> permissionsDAO.getOrganizationPermission(id, orgId));
+        return getPermissions(userId, Scope.ORGANIZATION, orgId, (id) -> permissionsDAO.getOrganizationPermission(id, orgId));
     }
 
     public Permission getOrganizationPermissions(@Nullable Long userId, @NotNull String orgName) {
-        return getPermissions(userId, (id) -> permissionsDAO.getOrganizationPermission(id, orgName));
+        return getPermissions(userId, Scope.ORGANIZATION_NAME, orgName, (id) -> permissionsDAO.getOrganizationPermission(id, orgName));
     }
 
     // Possible permissions for a user
     public Permission getPossibleProjectPermissions(@Nullable Long userId) {
-        return getPermissions(userId, permissionsDAO::getPossibleProjectPermissions);
+        return getPermissions(userId, Scope.POSSIBLE_PROJECT, null, permissionsDAO::getPossibleProjectPermissions);
     }
 
     public Permission getPossibleOrganizationPermissions(@Nullable Long userId) {
-        return getPermissions(userId, permissionsDAO::getPossibleOrganizationPermissions);
+        return getPermissions(userId, Scope.POSSIBLE_ORGANIZATION, null, permissionsDAO::getPossibleOrganizationPermissions);
     }
 
     public Permission getAllPossiblePermissions(@Nullable Long userId) {
         return getGlobalPermissions(userId).add(getPossibleProjectPermissions(userId)).add(getPossibleOrganizationPermissions(userId));
     }
 
+    /**
+     * Drops the cached permissions of a user, now and again once the current transaction completes
+     * so that a request racing the change can't cache the old permissions. That includes rollbacks,
+     * a request may have cached the uncommitted permissions in between. Loads started before an invalidation aren't shared.
+     */
+    public void invalidate(long userId) {
+        TransactionUtils.evict(() -> evict(userId));
+    }
+
+    /**
+     * Compares the stored trust tables with the roles they are derived from and fixes any difference. The tables are
+     * kept up to date by triggers, so this should never find anything.
+     */
+    public void reconcileTrust() {
+        long corrected = permissionsDAO.reconcileTrust();
+        if (corrected > 0) {
+            logger.warn("Corrected {} stored trust rows", corrected);
+            trustCorrections.increment(corrected);
+            invalidations.incrementAndGet();
+            if (sharedCache != null) {
+                sharedCache.invalidateAll();
+            }
+        }
+    }
+
+    private void evict(long userId) {
+        invalidations.incrementAndGet();
+        if (sharedCache != null) {
+            sharedCache.asMap().keySet().removeIf(key -> key.userId == userId);
+        }
+        Map<PermissionKey, Permission> requestCache = getRequestCache();
+        if (requestCache != null) {
+            requestCache.keySet().removeIf(key -> key.userId == userId);
+        }
+    }
+
     @NotNull
-    private <T> Permission getPermissions(@Nullable T identifier, @NotNull Function<T, Permission> permissionSupplier) {
-        if (identifier == null) {
+    private Permission getPermissions(@Nullable Long userId, @NotNull Scope scope, @Nullable Object scopeId, @NotNull LongFunction<Permission> permissionSupplier) {
+        if (userId == null) {
             return DEFAULT_SIGNED_OUT_PERMISSIONS;
         }
-        Permission perm = permissionSupplier.apply(identifier);
+        PermissionKey key = new PermissionKey(userId, scope, scopeId);
+        Map<PermissionKey, Permission> requestCache = getRequestCache();
+        if (requestCache != null) {
+            Permission perm = requestCache.get(key);
+            if (perm != null) {
+                requestHits.increment();
+                return perm;
+            }
+            requestMisses.increment();
+        }
+        Permission perm = sharedCache != null ? sharedCache.getIfPresent(key) : null;
+        if (perm == null) {
+            long generation = invalidations.get();
+            perm = withDefaults(permissionSupplier.apply(userId));
+            // the supplier may have read the roles before a change committed, only share it if nothing was invalidated since
+            if (sharedCache != null && invalidations.get() == generation) {
+                sharedCache.put(key, perm);
+                // an invalidation between the check and the put may have missed the entry
+                if (invalidations.get() != generation) {
+                    sharedCache.invalidate(key);
+                }
+            }
+        }
+        if (requestCache != null) {
+            requestCache.put(key, perm);
+        }
+        return perm;
+    }
+
+    @NotNull
+    private static Permission withDefaults(@Nullable Permission perm) {
         if (perm == null) {
             return DEFAULT_SIGNED_IN_PERMISSIONS;
         }
         else return perm.add(DEFAULT_SIGNED_IN_PERMISSIONS);
     }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Map<PermissionKey, Permission> getRequestCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<PermissionKey, Permission> requestCache = (Map<PermissionKey, Permission>) attributes.getAttribute(REQUEST_CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (requestCache == null) {
+            requestCache = new HashMap<>();
+            attributes.setAttribute(REQUEST_CACHE_ATTRIBUTE, requestCache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return requestCache;
+    }
+
+    private enum Scope {
+        GLOBAL,
+        PROJECT,
+        PROJECT_SLUG,
+        ORGANIZATION,
+        ORGANIZATION_NAME,
+        POSSIBLE_PROJECT,
+        POSSIBLE_ORGANIZATION
+    }
+
+    private static final class PermissionKey {
+
+        private final long userId;
+        private final Scope scope;
+        private final Object scopeId;
+
+        private PermissionKey(long userId, Scope scope, Object scopeId) {
+            this.userId = userId;
+            this.scope = scope;
+            this.scopeId = scopeId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PermissionKey that = (PermissionKey) o;
+            return userId == that.userId && scope == that.scope && Objects.equals(scopeId, that.scopeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, scope, scopeId);
+        }
+    }
 }
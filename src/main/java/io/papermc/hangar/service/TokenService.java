@@ -6,7 +6,6 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import io.papermc.hangar.HangarComponent;
 import io.papermc.hangar.db.dao.HangarDao;
-import io.papermc.hangar.db.dao.internal.table.auth.ApiKeyDAO;
 import io.papermc.hangar.db.dao.internal.table.auth.UserRefreshTokenDAO;
 import io.papermc.hangar.exceptions.HangarApiException;
 import io.papermc.hangar.model.api.auth.RefreshResponse;
@@ -34,7 +33,7 @@ import java.util.UUID;
 @Service
 public class TokenService extends HangarComponent {
 
-    private final ApiKeyDAO apiKeyDAO;
+    private final APIKeyService apiKeyService;
     private final UserRefreshTokenDAO userRefreshTokenDAO;
     private final UserService userService;
     private final PermissionService permissionService;
@@ -43,8 +42,8 @@ public class TokenService extends HangarComponent {
     private Algorithm algo;
 
     @Autowired
-    public TokenService(HangarDao<ApiKeyDAO> apiKeyDAO, HangarDao<UserRefreshTokenDAO> userRefreshTokenDAO, UserService userService, PermissionService permissionService) {
-        this.apiKeyDAO = apiKeyDAO.get();
+    public TokenService(APIKeyService apiKeyService, HangarDao<UserRefreshTokenDAO> userRefreshTokenDAO, UserService userService, PermissionService permissionService) {
+        this.apiKeyService = apiKeyService;
         this.userRefreshTokenDAO = userRefreshTokenDAO.get();
         this.userService = userService;
         this.permissionService = permissionService;
@@ -110,7 +109,7 @@ public class TokenService extends HangarComponent {
             throw new BadCredentialsException("Malformed jwt");
         }
         if (apiKeyIdentifier != null) {
-            ApiKeyTable apiKeyTable = apiKeyDAO.findApiKey(userId, apiKeyIdentifier);
+            ApiKeyTable apiKeyTable = apiKeyService.getSessionApiKey(userId, apiKeyIdentifier);
             if (apiKeyTable == null) {
                 throw new BadCredentialsException("Invalid api key identifier");
             }
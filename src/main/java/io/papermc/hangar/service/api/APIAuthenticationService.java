@@ -3,11 +3,10 @@ package io.papermc.hangar.service.api;
 import io.papermc.hangar.HangarComponent;
 import io.papermc.hangar.db.dao.HangarDao;
 import io.papermc.hangar.db.dao.internal.table.UserDAO;
-import io.papermc.hangar.db.dao.internal.table.auth.ApiKeyDAO;
 import io.papermc.hangar.exceptions.HangarApiException;
 import io.papermc.hangar.model.api.auth.ApiSession;
 import io.papermc.hangar.model.db.UserTable;
-import io.papermc.hangar.model.db.auth.ApiKeyTable;
+import io.papermc.hangar.service.APIKeyService;
 import io.papermc.hangar.service.PermissionService;
 import io.papermc.hangar.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,14 +21,14 @@ public class APIAuthenticationService extends HangarComponent {
     private static final Pattern API_KEY_PATTERN = Pattern.compile("(" + UUID_REGEX + ").(" + UUID_REGEX + ")");
 
     private final UserDAO userDAO;
-    private final ApiKeyDAO apiKeyDAO;
+    private final APIKeyService apiKeyService;
     private final TokenService tokenService;
     private final PermissionService permissionService;
 
     @Autowired
-    public APIAuthenticationService(HangarDao<UserDAO> userDAO, HangarDao<ApiKeyDAO> apiKeyDAO, TokenService tokenService, PermissionService permissionService) {
+    public APIAuthenticationService(HangarDao<UserDAO> userDAO, APIKeyService apiKeyService, TokenService tokenService, PermissionService permissionService) {
         this.userDAO = userDAO.get();
-        this.apiKeyDAO = apiKeyDAO.get();
+        this.apiKeyService = apiKeyService;
         this.tokenService = tokenService;
         this.permissionService = permissionService;
     }
@@ -40,11 +39,15 @@ public class APIAuthenticationService extends HangarComponent {
         }
         String identifier = apiKey.split("\\.")[0];
         String token = apiKey.split("\\.")[1];
-        ApiKeyTable apiKeyTable = apiKeyDAO.findApiKey(identifier, token);
-        if (apiKeyTable == null) {
+        Long ownerId = apiKeyService.verifyApiKey(identifier, token);
+        if (ownerId == null) {
+            throw new HangarApiException("No valid API Key found");
+        }
+        UserTable userTable = userDAO.getUserTable(ownerId);
+        if (userTable == null) {
+            apiKeyService.evictApiKey(identifier);
             throw new HangarApiException("No valid API Key found");
         }
-        UserTable userTable = userDAO.getUserTable(apiKeyTable.getOwnerId());
         String jwt = tokenService.expiring(userTable, permissionService.getGlobalPermissions(userTable.getId()), identifier);
         return new ApiSession(jwt, config.security.getRefreshTokenExpiry().toSeconds());
     }
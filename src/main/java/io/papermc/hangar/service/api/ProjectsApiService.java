@@ -2,6 +2,7 @@ package io.papermc.hangar.service.api;
 
 import io.papermc.hangar.HangarComponent;
 import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.HangarStatsDAO;
 import io.papermc.hangar.db.dao.v1.ProjectsApiDAO;
 import io.papermc.hangar.model.api.PaginatedResult;
 import io.papermc.hangar.model.api.Pagination;
@@ -12,6 +13,11 @@ import io.papermc.hangar.model.api.project.ProjectMember;
 import io.papermc.hangar.model.api.project.ProjectSortingStrategy;
 import io.papermc.hangar.model.api.requests.RequestPagination;
 import io.papermc.hangar.model.common.Permission;
+import io.papermc.hangar.model.db.projects.ProjectTable;
+import io.papermc.hangar.service.internal.EntityCacheService;
+import io.papermc.hangar.service.internal.projects.search.ProjectSearchIndex.Result;
+import io.papermc.hangar.service.internal.projects.search.ProjectSearchService;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -23,10 +29,16 @@ import java.util.Map;
 public class ProjectsApiService extends HangarComponent {
 
     private final ProjectsApiDAO projectsApiDAO;
+    private final HangarStatsDAO hangarStatsDAO;
+    private final ProjectSearchService projectSearchService;
+    private final EntityCacheService entityCacheService;
 
     @Autowired
-    public ProjectsApiService(HangarDao<ProjectsApiDAO> projectsApiDAO) {
+    public ProjectsApiService(HangarDao<ProjectsApiDAO> projectsApiDAO, HangarDao<HangarStatsDAO> hangarStatsDAO, ProjectSearchService projectSearchService, EntityCacheService entityCacheService) {
         this.projectsApiDAO = projectsApiDAO.get();
+        this.hangarStatsDAO = hangarStatsDAO.get();
+        this.projectSearchService = projectSearchService;
+        this.entityCacheService = entityCacheService;
     }
 
     public Project getProject(String author, String slug) {
@@ -34,6 +46,15 @@ public class ProjectsApiService extends HangarComponent {
         return projectsApiDAO.getProject(author, slug, seeHidden, getHangarUserId());
     }
 
+    /**
+     * @return version of the project as seen by a signed out user, used for its ETag
+     */
+    @Nullable
+    public String getProjectVersion(String author, String slug) {
+        ProjectTable projectTable = entityCacheService.getProject(author, slug);
+        return projectTable == null ? null : projectsApiDAO.getProjectVersion(projectTable.getId());
+    }
+
     public PaginatedResult<ProjectMember> getProjectMembers(String author, String slug, RequestPagination requestPagination) {
         List<ProjectMember> projectMembers = projectsApiDAO.getProjectMembers(author, slug, requestPagination);
         return new PaginatedResult<>(new Pagination(projectsApiDAO.getProjectMembersCount(author, slug), requestPagination), projectMembers);
@@ -43,6 +64,13 @@ public class ProjectsApiService extends HangarComponent {
         return projectsApiDAO.getProjectStats(author, slug, fromDate, toDate);
     }
 
+    /**
+     * @return version of the daily stats, they only change when the individual stats are rolled up
+     */
+    public String getProjectStatsVersion() {
+        return hangarStatsDAO.getRollupWatermarks();
+    }
+
     public PaginatedResult<User> getProjectStargazers(String author, String slug, RequestPagination pagination) {
         List<User> stargazers = projectsApiDAO.getProjectStargazers(author, slug, pagination.getLimit(), pagination.getOffset());
         return new PaginatedResult<>(new Pagination(projectsApiDAO.getProjectStargazersCount(author, slug), pagination), stargazers);
@@ -54,6 +82,12 @@ public class ProjectsApiService extends HangarComponent {
     }
 
     public PaginatedResult<Project> getProjects(String query, ProjectSortingStrategy sort, boolean orderWithRelevance, RequestPagination pagination) {
+        boolean seeHidden = getGlobalPermissions().has(Permission.SeeHidden);
+        if (projectSearchService.canSearch(pagination)) {
+            Result result = projectSearchService.search(query, sort, orderWithRelevance, pagination, seeHidden, getHangarUserId());
+            List<Project> projects = result.getProjectIds().isEmpty() ? List.of() : projectsApiDAO.getProjectsByIds(result.getProjectIds(), seeHidden, getHangarUserId());
+            return new PaginatedResult<>(new Pagination(result.getCount(), pagination), projects);
+        }
 
         String ordering = sort.getSql();
         if (orderWithRelevance && query != null && !query.isEmpty()) {
@@ -80,7 +114,6 @@ public class ProjectsApiService extends HangarComponent {
             ordering = orderingFirstHalf + relevance;
         }
 
-        boolean seeHidden = getGlobalPermissions().has(Permission.SeeHidden);
         List<Project> projects = projectsApiDAO.getProjects(seeHidden, getHangarUserId(), ordering, pagination);
         return new PaginatedResult<>(new Pagination(projectsApiDAO.countProjects(seeHidden, getHangarUserId(), pagination), pagination), projects);
     }
@@ -5,7 +5,6 @@ import io.papermc.hangar.db.dao.HangarDao;
 import io.papermc.hangar.db.dao.v1.VersionsApiDAO;
 import io.papermc.hangar.exceptions.HangarApiException;
 import io.papermc.hangar.model.api.PaginatedResult;
-import io.papermc.hangar.model.api.Pagination;
 import io.papermc.hangar.model.api.project.version.Version;
 import io.papermc.hangar.model.api.project.version.VersionStats;
 import io.papermc.hangar.model.api.requests.RequestPagination;
@@ -19,9 +18,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.SortedMap;
 
 @Service
 public class VersionsApiService extends HangarComponent {
@@ -47,18 +48,26 @@ public class VersionsApiService extends HangarComponent {
     }
 
     public List<Version> getVersions(String author, String slug, String versionString) {
-        List<Version> versions = versionsApiDAO.getVersionsWithVersionString(author, slug, versionString, getGlobalPermissions().has(Permission.SeeHidden), getHangarUserId()).entrySet().stream().map(entry -> versionDependencyService.addDependenciesAndTags(entry.getKey(), entry.getValue())).collect(Collectors.toList());
+        SortedMap<Long, Version> versions = versionsApiDAO.getVersionsWithVersionString(author, slug, versionString, getGlobalPermissions().has(Permission.SeeHidden), getHangarUserId());
         if (versions.isEmpty()) {
             throw new HangarApiException(HttpStatus.NOT_FOUND);
         }
-        return versions;
+        versionDependencyService.addDependenciesAndTags(versions);
+        return new ArrayList<>(versions.values());
     }
 
     public PaginatedResult<Version> getVersions(String author, String slug, RequestPagination pagination) {
         boolean canSeeHidden = getGlobalPermissions().has(Permission.SeeHidden);
-        List<Version> versions = versionsApiDAO.getVersions(author, slug, canSeeHidden, getHangarUserId(), pagination).entrySet().stream().map(entry -> versionDependencyService.addDependenciesAndTags(entry.getKey(), entry.getValue())).collect(Collectors.toList());
-        Long versionCount = versionsApiDAO.getVersionCount(author, slug, canSeeHidden, getHangarUserId(), pagination);
-        return new PaginatedResult<>(new Pagination(versionCount == null ? 0 : versionCount, pagination), versions);
+        LinkedHashMap<Long, Version> versions = versionsApiDAO.getVersions(author, slug, canSeeHidden, getHangarUserId(), pagination);
+        Long versionCount = null;
+        if (pagination.isCountTotal()) {
+            versionCount = versionsApiDAO.getVersionCount(author, slug, canSeeHidden, getHangarUserId(), pagination);
+        }
+        PaginatedResult<Map.Entry<Long, Version>> page = PaginatedResult.ofKeyset(new ArrayList<>(versions.entrySet()), pagination, entry -> List.of(entry.getValue().getCreatedAt(), entry.getKey()), versionCount);
+        Map<Long, Version> pageVersions = new LinkedHashMap<>();
+        page.getResult().forEach(entry -> pageVersions.put(entry.getKey(), entry.getValue()));
+        versionDependencyService.addDependenciesAndTags(pageVersions);
+        return new PaginatedResult<>(page.getPagination(), new ArrayList<>(pageVersions.values()));
     }
 
     public Map<String, VersionStats> getVersionStats(String author, String slug, String versionString, Platform platform, OffsetDateTime fromDate, OffsetDateTime toDate) {
@@ -0,0 +1,55 @@
+package io.papermc.hangar.service.internal;
+
+import io.papermc.hangar.HangarComponent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.info.GitProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Deep ETags, derived from the versions of whatever a response is built from instead of the rendered body.
+ * They are checked before the response is built, so a matching If-None-Match skips the work entirely.
+ */
+@Service
+public class ETagService extends HangarComponent {
+
+    // without git.properties every start counts as a new build, ETags are then not reused across restarts
+    private static final String STARTUP = UUID.randomUUID().toString();
+
+    // a new build may render the same versions differently
+    private final String build;
+
+    @Autowired
+    public ETagService(ObjectProvider<GitProperties> gitProperties) {
+        this(Optional.ofNullable(gitProperties.getIfAvailable()).map(GitProperties::getCommitId).orElse(STARTUP));
+    }
+
+    ETagService(String build) {
+        this.build = build;
+    }
+
+    /**
+     * Sets the ETag of the current response and checks If-None-Match against it. The url and the current
+     * user are always part of the ETag.
+     *
+     * @param versions values which change whenever the response would
+     * @return true if the request was answered with 304
+     */
+    public boolean checkNotModified(Object... versions) {
+        StringBuilder sb = new StringBuilder(build)
+                .append('|').append(request.getRequestURI())
+                .append('?').append(request.getQueryString())
+                .append('|').append(getHangarUserId());
+        for (Object version : versions) {
+            sb.append('|').append(version);
+        }
+        String eTag = "W/\"" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+}
@@ -0,0 +1,223 @@
+package io.papermc.hangar.service.internal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.papermc.hangar.config.hangar.ProjectsConfig;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.table.projects.ProjectsDAO;
+import io.papermc.hangar.db.dao.internal.table.versions.ProjectVersionsDAO;
+import io.papermc.hangar.db.dao.internal.table.versions.RecommendedProjectVersionsDAO;
+import io.papermc.hangar.model.common.Platform;
+import io.papermc.hangar.model.common.projects.Visibility;
+import io.papermc.hangar.model.db.projects.ProjectTable;
+import io.papermc.hangar.model.db.versions.ProjectVersionTable;
+import io.papermc.hangar.model.internal.projects.HangarProject;
+import io.papermc.hangar.util.TransactionUtils;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for project and version rows and recommended versions. Lookups are memoized for the current request,
+ * public rows are also shared between requests for {@link ProjectsConfig#getCacheTtl()}. Rows are mutable, so the shared cache only
+ * ever hands out copies. Also keeps the assembled page of public projects as seen by signed out users.
+ * Any write to a project, its versions, pages or members must call {@link #invalidate(long)}.
+ */
+@Service
+public class EntityCacheService {
+
+    private static final String REQUEST_CACHE_ATTRIBUTE = EntityCacheService.class.getName() + ".requestCache";
+
+    private final ProjectsDAO projectsDAO;
+    private final ProjectVersionsDAO projectVersionsDAO;
+    private final RecommendedProjectVersionsDAO recommendedProjectVersionsDAO;
+    private final Cache<List<Object>, Object> sharedCache;
+    private final Cache<List<Object>, HangarProject> snapshotCache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public EntityCacheService(HangarDao<ProjectsDAO> projectsDAO, HangarDao<ProjectVersionsDAO> projectVersionsDAO, HangarDao<RecommendedProjectVersionsDAO> recommendedProjectVersionsDAO, ProjectsConfig projectsConfig, MeterRegistry meterRegistry) {
+        this.projectsDAO = projectsDAO.get();
+        this.projectVersionsDAO = projectVersionsDAO.get();
+        this.recommendedProjectVersionsDAO = recommendedProjectVersionsDAO.get();
+        if (projectsConfig.getCacheTtl().isZero()) {
+            this.sharedCache = null;
+            this.snapshotCache = null;
+        } else {
+            this.sharedCache = Caffeine.newBuilder()
+                    .expireAfterWrite(projectsConfig.getCacheTtl())
+                    .maximumSize(projectsConfig.getCacheSize())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, sharedCache, "entities");
+            this.snapshotCache = Caffeine.newBuilder()
+                    .expireAfterWrite(projectsConfig.getCacheTtl())
+                    .maximumSize(projectsConfig.getCacheSize())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, snapshotCache, "projectSnapshots");
+        }
+    }
+
+    @Nullable
+    public ProjectTable getProject(long projectId) {
+        return get(List.of("project", projectId), () -> projectsDAO.getById(projectId), EntityCacheService::copy);
+    }
+
+    @Nullable
+    public ProjectTable getProject(String author, String slug) {
+        return get(List.of("project", author.toLowerCase(Locale.ROOT), slug.toLowerCase(Locale.ROOT)), () -> projectsDAO.getBySlug(author, slug), EntityCacheService::copy);
+    }
+
+    @Nullable
+    public ProjectVersionTable getVersion(long versionId) {
+        return get(List.of("version", versionId), () -> projectVersionsDAO.getProjectVersionTable(versionId), EntityCacheService::copy);
+    }
+
+    @Nullable
+    public ProjectVersionTable getVersion(String author, String slug, String versionString, Platform platform) {
+        return get(List.of("version", author.toLowerCase(Locale.ROOT), slug.toLowerCase(Locale.ROOT), versionString, platform), () -> projectVersionsDAO.getProjectVersionTable(author, slug, versionString, platform), EntityCacheService::copy);
+    }
+
+    /**
+     * Only memoized for the current request
+     */
+    public Map<Platform, String> getRecommendedVersions(String author, String slug) {
+        return get(List.of("recommended", author.toLowerCase(Locale.ROOT), slug.toLowerCase(Locale.ROOT)), () -> recommendedProjectVersionsDAO.getRecommendedVersions(author, slug), null);
+    }
+
+    /**
+     * Snapshot of a project page as seen by signed out users, only public projects are kept. Stars and watchers
+     * aren't invalidated and may lag behind for {@link ProjectsConfig#getCacheTtl()}.
+     *
+     * @param loader assembles the project for a signed out user
+     */
+    public HangarProject getAnonymousProject(String author, String slug, Supplier<HangarProject> loader) {
+        if (snapshotCache == null) {
+            return loader.get();
+        }
+        List<Object> key = List.of(author.toLowerCase(Locale.ROOT), slug.toLowerCase(Locale.ROOT));
+        HangarProject project = snapshotCache.getIfPresent(key);
+        if (project == null) {
+            long generation = invalidations.get();
+            project = loader.get();
+            if (project != null && project.getVisibility() == Visibility.PUBLIC) {
+                putIfCurrent(snapshotCache, key, project, generation);
+            }
+        }
+        return project;
+    }
+
+    /**
+     * Drops the cached rows of a project and all its versions, now and again once the current transaction completes
+     * so that a request racing the change can't cache the old rows. Loads started before an invalidation aren't shared.
+     */
+    public void invalidate(long projectId) {
+        TransactionUtils.evict(() -> evict(projectId));
+    }
+
+    private void evict(long projectId) {
+        invalidations.incrementAndGet();
+        if (sharedCache != null) {
+            sharedCache.asMap().values().removeIf(row -> getProjectId(row) == projectId);
+            snapshotCache.asMap().values().removeIf(project -> project.getId() == projectId);
+        }
+        Map<List<Object>, Object> requestCache = getRequestCache();
+        if (requestCache != null) {
+            // request only entries can't be attributed to a project
+            requestCache.values().removeIf(row -> !isRow(row) || getProjectId(row) == projectId);
+        }
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <T> T get(List<Object> key, Supplier<T> loader, @Nullable Function<T, T> copier) {
+        Map<List<Object>, Object> requestCache = getRequestCache();
+        if (requestCache != null && requestCache.containsKey(key)) {
+            return (T) requestCache.get(key);
+        }
+        T row = null;
+        if (sharedCache != null && copier != null) {
+            T shared = (T) sharedCache.getIfPresent(key);
+            if (shared != null) {
+                row = copier.apply(shared);
+            }
+        }
+        if (row == null) {
+            long generation = invalidations.get();
+            row = loader.get();
+            if (row != null && sharedCache != null && copier != null && getVisibility(row) == Visibility.PUBLIC) {
+                putIfCurrent(sharedCache, key, copier.apply(row), generation);
+            }
+        }
+        if (requestCache != null && row != null) {
+            requestCache.put(key, row);
+        }
+        return row;
+    }
+
+    /**
+     * Only caches a value if nothing was invalidated since its load started, the loader may have read the rows before the change committed
+     */
+    private <V> void putIfCurrent(Cache<List<Object>, V> cache, List<Object> key, V value, long generation) {
+        if (invalidations.get() == generation) {
+            cache.put(key, value);
+            // an invalidation between the check and the put may have missed the entry
+            if (invalidations.get() != generation) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    private static boolean isRow(Object row) {
+        return row instanceof ProjectTable || row instanceof ProjectVersionTable;
+    }
+
+    private static long getProjectId(Object row) {
+        return row instanceof ProjectTable ? ((ProjectTable) row).getId() : ((ProjectVersionTable) row).getProjectId();
+    }
+
+    private static Visibility getVisibility(Object row) {
+        return row instanceof ProjectTable ? ((ProjectTable) row).getVisibility() : ((ProjectVersionTable) row).getVisibility();
+    }
+
+    private static ProjectTable copy(ProjectTable pt) {
+        return new ProjectTable(pt.getCreatedAt(), pt.getId(), pt.getName(), pt.getSlug(), pt.getOwnerName(), pt.getOwnerId(), pt.getTopicId(),
+                pt.getPostId(), pt.getCategory(), pt.getDescription(), pt.getVisibility(), pt.getKeywords(),
+                pt.getHomepage(), pt.getIssues(), pt.getSource(), pt.getSupport(), pt.getLicenseName(), pt.getLicenseUrl(), pt.isForumSync(),
+                pt.isDonationEnabled(), pt.getDonationEmail(), pt.getDonationDefaultAmount(), pt.getDonationOnetimeAmounts(), pt.getDonationMonthlyAmounts());
+    }
+
+    private static ProjectVersionTable copy(ProjectVersionTable pvt) {
+        return new ProjectVersionTable(pvt.getCreatedAt(), pvt.getId(), pvt.getVersionString(), pvt.getDescription(), pvt.getProjectId(), pvt.getChannelId(),
+                pvt.getFileSize(), pvt.getHash(), pvt.getFileName(), pvt.getReviewerId(), pvt.getApprovedAt(), pvt.getAuthorId(), pvt.getVisibility(),
+                pvt.getReviewState(), pvt.isCreateForumPost(), pvt.getPostId(), pvt.getExternalUrl());
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Map<List<Object>, Object> getRequestCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<List<Object>, Object> requestCache = (Map<List<Object>, Object>) attributes.getAttribute(REQUEST_CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (requestCache == null) {
+            requestCache = new HashMap<>();
+            attributes.setAttribute(REQUEST_CACHE_ATTRIBUTE, requestCache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return requestCache;
+    }
+}
@@ -4,18 +4,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import io.papermc.hangar.HangarComponent;
 import io.papermc.hangar.db.dao.HangarDao;
@@ -27,11 +40,14 @@ import io.papermc.hangar.model.internal.discourse.DiscourseError;
 import io.papermc.hangar.model.internal.job.DeleteDiscourseTopicJob;
 import io.papermc.hangar.model.internal.job.Job;
 import io.papermc.hangar.model.internal.job.JobException;
+import io.papermc.hangar.model.internal.job.JobType;
+import io.papermc.hangar.model.internal.job.NotifyProjectWatchersJob;
 import io.papermc.hangar.model.internal.job.PostDiscourseReplyJob;
 import io.papermc.hangar.model.internal.job.UpdateDiscourseProjectTopicJob;
 import io.papermc.hangar.model.internal.job.UpdateDiscourseVersionPostJob;
 import io.papermc.hangar.service.internal.discourse.DiscourseService;
 import io.papermc.hangar.service.internal.projects.ProjectService;
+import io.papermc.hangar.service.internal.users.NotificationService;
 import io.papermc.hangar.service.internal.versions.VersionService;
 
 @Service
@@ -43,50 +59,129 @@ public class JobService extends HangarComponent {
     private final DiscourseService discourseService;
     private final ProjectService projectService;
     private final VersionService versionService;
+    private final NotificationService notificationService;
 
+    private final Map<JobType, Lane> lanes = new EnumMap<>(JobType.class);
     private ExecutorService executorService;
+    private ScheduledExecutorService retryScheduler;
 
     @Autowired
-    public JobService(HangarDao<JobsDAO> jobsDAO, @Lazy DiscourseService discourseService, @Lazy ProjectService projectService, @Lazy VersionService versionService) {
+    public JobService(HangarDao<JobsDAO> jobsDAO, @Lazy DiscourseService discourseService, @Lazy ProjectService projectService, @Lazy VersionService versionService, @Lazy NotificationService notificationService) {
         this.jobsDAO = jobsDAO.get();
         this.discourseService = discourseService;
         this.projectService = projectService;
         this.versionService = versionService;
+        this.notificationService = notificationService;
     }
 
     @PostConstruct
     public void initThreadPool() {
-        this.executorService = new ThreadPoolExecutor(1, config.jobs.getMaxConcurrentJobs(), 60, TimeUnit.SECONDS, new SynchronousQueue<>());
+        for (JobType jobType : JobType.values()) {
+            lanes.put(jobType, new Lane(jobType, config.jobs.getConcurrency(jobType)));
+        }
+        // every lane caps the jobs it has in flight, the queue never holds more than the sum of the lane limits
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(config.jobs.getMaxConcurrentJobs(), config.jobs.getMaxConcurrentJobs(), 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), namedThreads("hangar-job"));
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.executorService = threadPoolExecutor;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("hangar-job-retry"));
+    }
+
+    @PreDestroy
+    public void shutdownThreadPool() {
+        retryScheduler.shutdownNow();
+        executorService.shutdown();
     }
 
+    /**
+     * Claims awaiting jobs of every type, catches jobs whose notification was missed or whose retry time has passed
+     * and starts jobs again which a node that went away left behind
+     */
     public void checkAndProcess() {
-        if (!config.discourse.isEnabled()) { return; }
-        long awaitingJobs = jobsDAO.countAwaitingJobs();
-        logger.debug("Found {} awaiting jobs", awaitingJobs);
-        if (awaitingJobs > 0) {
-            long numberToProcess = Math.max(1, Math.min(awaitingJobs, config.jobs.getMaxConcurrentJobs()));
-            for (long i = 0; i < numberToProcess; i++) {
-                executorService.submit(this::process);
-            }
+        int abandoned = jobsDAO.resetAbandonedJobs(OffsetDateTime.now().minus(config.jobs.getAbandonedTimeout()));
+        if (abandoned > 0) {
+            logger.warn("Starting {} abandoned jobs again", abandoned);
+        }
+        for (Lane lane : lanes.values()) {
+            dispatch(lane);
         }
     }
 
+    /**
+     * Called when a job of the type was added
+     */
+    public void onJobAvailable(JobType jobType) {
+        dispatch(lanes.get(jobType));
+    }
+
     public List<JobTable> getErroredJobs() {
         return jobsDAO.getErroredJobs();
     }
 
     public void save(Job job) {
-        if (!config.discourse.isEnabled()) { return; }
+        if (!isEnabled(job.getJobType())) { return; }
+        // the insert trigger notifies the listeners once the transaction commits
         jobsDAO.save(job.toTable());
     }
 
-    public void process() {
-        SecurityContextHolder.getContext().setAuthentication(new JobAuthentication());
+    private boolean isEnabled(JobType jobType) {
+        return !jobType.isDiscourse() || config.discourse.isEnabled();
+    }
+
+    private void dispatch(Lane lane) {
+        if (!isEnabled(lane.jobType)) { return; }
+        int free;
+        synchronized (lane) {
+            if (lane.claiming) {
+                // the running claim may have missed the new jobs, claim again once it is done
+                lane.claimAgain = true;
+                return;
+            }
+            free = lane.limit - lane.running;
+            if (free <= 0 || lane.pausedUntil.isAfter(OffsetDateTime.now())) {
+                return;
+            }
+            // reserve the slots, the claim happens outside the lock so finishing jobs don't wait on the database
+            lane.running += free;
+            lane.claiming = true;
+            lane.claimAgain = false;
+        }
+        List<JobTable> jobs = List.of();
+        boolean claimAgain;
+        try {
+            jobs = jobsDAO.claimJobs(lane.jobType, free);
+            logger.debug("Claimed {} {} jobs", jobs.size(), lane.jobType);
+        } finally {
+            synchronized (lane) {
+                lane.running -= free - jobs.size();
+                lane.claiming = false;
+                claimAgain = lane.claimAgain;
+            }
+        }
+        for (JobTable job : jobs) {
+            executorService.execute(() -> run(lane, job));
+        }
+        if (claimAgain) {
+            dispatch(lane);
+        }
+    }
 
-        JobTable jobTable = jobsDAO.fetchJob();
-        if (jobTable == null) {
-            return;
+    private void run(Lane lane, JobTable jobTable) {
+        try {
+            process(lane, jobTable);
+        } finally {
+            synchronized (lane) {
+                lane.running--;
+            }
         }
+        try {
+            dispatch(lane);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not claim more {} jobs", lane.jobType, ex);
+        }
+    }
+
+    private void process(Lane lane, JobTable jobTable) {
+        SecurityContextHolder.getContext().setAuthentication(new JobAuthentication());
 
         logger.debug("Starting job: {} {} {}", jobTable.getId(), jobTable.getJobType(), jobTable.getJobProperties());
 
@@ -95,21 +190,26 @@ public class JobService extends HangarComponent {
 
             jobsDAO.finishJob(jobTable.getId());
         } catch (DiscourseError.RateLimitError rateLimitError) {
-            jobsDAO.retryIn(jobTable.getId(), OffsetDateTime.now().plus(rateLimitError.getDuration()).plusSeconds(5), "Rate limit hit", "rate_limit");
+            OffsetDateTime retryAt = OffsetDateTime.now().plus(rateLimitError.getDuration()).plusSeconds(5);
+            synchronized (lane) {
+                // no point in sending more requests of this type before the limit resets
+                lane.pausedUntil = retryAt;
+            }
+            retryAt(lane, jobTable.getId(), retryAt, "Rate limit hit", "rate_limit");
         } catch (DiscourseError.StatusError statusError) {
             String error = "Encountered status error when executing Discourse request\n" +
                            "Job: " + jobTable.getId() + " " + jobTable.getJobType() + " " + jobTable.getJobProperties() + "\n" +
                            "Status Code: " + statusError.getStatus() + "\n" +
                            "Message: " + statusError.getMessage();
-            jobsDAO.retryIn(jobTable.getId(), OffsetDateTime.now().plus(config.jobs.getStatusErrorTimeout()).plusSeconds(5), error, "status_error_" + statusError.getStatus().value());
+            retryAt(lane, jobTable.getId(), OffsetDateTime.now().plus(config.jobs.getStatusErrorTimeout()).plusSeconds(5), error, "status_error_" + statusError.getStatus().value());
         } catch (DiscourseError.UnknownError unknownError) {
             String error = "Encountered error when executing Discourse request\n" +
                            "Job: " + jobTable.getId() + " " + jobTable.getJobType() + " " + jobTable.getJobProperties() + "\n" +
                            "Type: " + unknownError.getDescriptor() + "\n" +
                            "Message: " + unknownError.getMessage();
-            jobsDAO.retryIn(jobTable.getId(), OffsetDateTime.now().plus(config.jobs.getUnknownErrorTimeout()).plusSeconds(5), error, "unknown_error" + unknownError.getDescriptor());
+            retryAt(lane, jobTable.getId(), OffsetDateTime.now().plus(config.jobs.getUnknownErrorTimeout()).plusSeconds(5), error, "unknown_error" + unknownError.getDescriptor());
         } catch (DiscourseError.NotAvailableError notAvailableError) {
-            jobsDAO.retryIn(jobTable.getId(), OffsetDateTime.now().plus(config.jobs.getNotAvailableTimeout()).plusSeconds(5), "Not Available", "not_available");
+            retryAt(lane, jobTable.getId(), OffsetDateTime.now().plus(config.jobs.getNotAvailableTimeout()).plusSeconds(5), "Not Available", "not_available");
         } catch (DiscourseError.NotProcessable notProcessable) {
             logger.debug("job failed to process discourse job: {} {}", notProcessable.getMessage(), jobTable);
             String error = "Encountered error when processing discourse job\n" +
@@ -130,10 +230,61 @@ public class JobService extends HangarComponent {
                            "Job: " + jobTable.getId() + " " + jobTable.getJobType() + " " + jobTable.getJobProperties() + "\n" +
                            "Exception: " + ex.getClass().getName() + "\n" +
                            "Message: " + ex.getMessage();
-            jobsDAO.fail(jobTable.getId(), error, "exception");
+            if (isTransient(ex)) {
+                // progress the job committed so far is kept, the retry continues from there
+                retryAt(lane, jobTable.getId(), OffsetDateTime.now().plus(config.jobs.getTransientErrorTimeout()), error, "transient");
+            } else {
+                jobsDAO.fail(jobTable.getId(), error, "exception");
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
         }
     }
 
+    private void retryAt(Lane lane, long jobId, OffsetDateTime retryAt, String lastError, String lastErrorDescriptor) {
+        jobsDAO.retryIn(jobId, retryAt, lastError, lastErrorDescriptor);
+        long delay = Math.max(0, Duration.between(OffsetDateTime.now(), retryAt).toMillis());
+        retryScheduler.schedule(() -> {
+            try {
+                dispatch(lane);
+            } catch (RuntimeException ex) {
+                logger.warn("Could not claim {} jobs for retry", lane.jobType, ex);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return true for database errors which may go away by trying again, lost connections, deadlocks, serialization
+     * failures, exhausted resources and shutdowns
+     */
+    static boolean isTransient(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException || cause instanceof CannotGetJdbcConnectionException
+                || cause instanceof SQLTransientException || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && (sqlState.startsWith("08") || sqlState.startsWith("40") || sqlState.startsWith("53") || sqlState.startsWith("57P"))) {
+                    return true;
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static ThreadFactory namedThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     public void processJob(JobTable job) {
         switch (job.getJobType()) {
             case UPDATE_DISCOURSE_PROJECT_TOPIC:
@@ -175,11 +326,32 @@ public class JobService extends HangarComponent {
                 PostDiscourseReplyJob postDiscourseReplyJob = PostDiscourseReplyJob.loadFromTable(job);
                 discourseService.createComment(postDiscourseReplyJob.getProjectId(), postDiscourseReplyJob.getPoster(), postDiscourseReplyJob.getContent());
                 break;
+            case NOTIFY_PROJECT_WATCHERS:
+                notificationService.notifyProjectWatchers(job.getId(), NotifyProjectWatchersJob.loadFromTable(job));
+                break;
             default:
                 throw new JobException("Unknown job type " + job, "unknown_job_type");
         }
     }
 
+    /**
+     * Jobs of one type, limited separately so slow or rate limited job types don't hold up the others
+     */
+    private static class Lane {
+
+        private final JobType jobType;
+        private final int limit;
+        private int running;
+        private boolean claiming;
+        private boolean claimAgain;
+        private OffsetDateTime pausedUntil = OffsetDateTime.MIN;
+
+        private Lane(JobType jobType, int limit) {
+            this.jobType = jobType;
+            this.limit = limit;
+        }
+    }
+
     public static class JobAuthentication extends PreAuthenticatedAuthenticationToken {
 
         public JobAuthentication() {
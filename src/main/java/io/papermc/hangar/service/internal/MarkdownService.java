@@ -1,5 +1,7 @@
 package io.papermc.hangar.service.internal;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.vladsch.flexmark.ast.MailLink;
 import com.vladsch.flexmark.ext.admonition.AdmonitionExtension;
 import com.vladsch.flexmark.ext.anchorlink.AnchorLinkExtension;
@@ -23,25 +25,53 @@ import com.vladsch.flexmark.html.renderer.ResolvedLink;
 import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.util.ast.Node;
 import com.vladsch.flexmark.util.data.MutableDataSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.papermc.hangar.config.hangar.HangarConfig;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.table.projects.ProjectPagesDAO;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class MarkdownService {
 
+    /**
+     * Part of the hash of every rendered page, bump it whenever flexmark is upgraded or the options, extensions
+     * or link resolving change so pages stored by earlier builds are rendered again
+     */
+    static final int RENDERER_VERSION = 1;
+
     private final Parser markdownParser;
     private final MutableDataSet options;
     private final HangarConfig config;
+    private final ProjectPagesDAO projectPagesDAO;
+    // renderers are immutable and thread safe once built
+    private final Map<RenderSettings, HtmlRenderer> renderers = new ConcurrentHashMap<>();
+    private final Cache<String, String> renderCache;
 
     @Autowired
-    public MarkdownService(HangarConfig config) {
+    public MarkdownService(HangarConfig config, HangarDao<ProjectPagesDAO> projectPagesDAO, MeterRegistry meterRegistry) {
         this.config = config;
+        this.projectPagesDAO = projectPagesDAO.get();
+        this.renderCache = Caffeine.newBuilder()
+                .maximumWeight(config.pages.getRenderCacheSize())
+                .<String, String>weigher((key, html) -> key.length() + html.length())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, renderCache, "markdown");
 
         options = new MutableDataSet()
                 .set(HtmlRenderer.ESCAPE_HTML, true)
@@ -81,6 +111,26 @@ public class MarkdownService {
     }
 
     public String render(String input, RenderSettings settings) {
+        byte[] hash = hash(input, settings);
+        return renderCache.get(Base64.getEncoder().encodeToString(hash), key -> {
+            if (settings.equals(RenderSettings.defaultSettings)) {
+                String stored = projectPagesDAO.getRendered(hash);
+                if (stored != null) {
+                    return stored;
+                }
+            }
+            return renderers.computeIfAbsent(settings, this::createRenderer).render(markdownParser.parse(input));
+        });
+    }
+
+    /**
+     * Stores the rendered contents of a page so they survive restarts and cache evictions
+     */
+    public void storeRendered(long pageId, String contents) {
+        projectPagesDAO.updateRendered(pageId, hash(contents, RenderSettings.defaultSettings), render(contents));
+    }
+
+    private HtmlRenderer createRenderer(RenderSettings settings) {
         MutableDataSet options = new MutableDataSet(this.options);
 
         if (settings.linkEscapeChars != null) {
@@ -90,12 +140,24 @@ public class MarkdownService {
             options.set(WikiLinkExtension.LINK_PREFIX, settings.linkPrefix);
         }
 
-        HtmlRenderer htmlRenderer = HtmlRenderer
+        return HtmlRenderer
                 .builder(options)
                 .linkResolverFactory(new ExternalLinkResolverFactory(config))
                 .build();
+    }
 
-        return htmlRenderer.render(markdownParser.parse(input));
+    /**
+     * Hash of everything the output depends on, links are resolved against the safe hosts so those are included.
+     * Also includes the renderer version so stored pages don't outlive the renderer that produced them
+     */
+    private byte[] hash(String input, RenderSettings settings) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((RENDERER_VERSION + "\0" + settings.linkEscapeChars + "\0" + settings.linkPrefix + "\0" + config.security.getSafeDownloadHosts() + "\0").getBytes(StandardCharsets.UTF_8));
+            return digest.digest(input.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     static class RenderSettings {
@@ -108,6 +170,19 @@ public class MarkdownService {
             this.linkEscapeChars = linkEscapeChars;
             this.linkPrefix = linkPrefix;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RenderSettings that = (RenderSettings) o;
+            return Objects.equals(linkEscapeChars, that.linkEscapeChars) && Objects.equals(linkPrefix, that.linkPrefix);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(linkEscapeChars, linkPrefix);
+        }
     }
 
     static class ExternalLinkResolverFactory implements LinkResolverFactory {
@@ -1,47 +1,104 @@
 package io.papermc.hangar.service.internal;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import cz.jiripinkas.jsitemapgenerator.ChangeFreq;
 import cz.jiripinkas.jsitemapgenerator.WebPage;
 import cz.jiripinkas.jsitemapgenerator.generator.SitemapGenerator;
+import cz.jiripinkas.jsitemapgenerator.generator.SitemapIndexGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.papermc.hangar.HangarComponent;
 import io.papermc.hangar.db.dao.HangarDao;
-import io.papermc.hangar.db.dao.internal.projects.HangarProjectPagesDAO;
+import io.papermc.hangar.db.dao.internal.SitemapDAO;
 import io.papermc.hangar.db.dao.internal.table.UserDAO;
 import io.papermc.hangar.db.dao.internal.table.projects.ProjectsDAO;
-import io.papermc.hangar.db.dao.internal.table.versions.ProjectVersionsDAO;
-import io.papermc.hangar.model.common.Platform;
+import io.papermc.hangar.exceptions.HangarApiException;
 import io.papermc.hangar.model.db.UserTable;
 import io.papermc.hangar.model.db.projects.ProjectTable;
-import io.papermc.hangar.model.db.versions.ProjectVersionTable;
-import io.papermc.hangar.model.internal.projects.ExtendedProjectPage;
+import io.papermc.hangar.model.internal.sitemap.SitemapEntry;
+import io.papermc.hangar.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
+/**
+ * Builds the sitemaps. User sitemaps are streamed from a single query straight into the response and kept until
+ * one of the user's projects, versions or pages changes, see {@link #invalidateProject(long)}.
+ */
 @Service
 public class SitemapService extends HangarComponent {
 
+    /**
+     * Max amount of urls in a sitemap and of sitemaps in an index, as defined by the sitemap protocol
+     */
+    public static final int MAX_URLS = 50_000;
+
+    private static final String NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final int MAX_AUTHORS = 49_000;
+    private static final Duration INDEX_TTL = Duration.ofHours(1);
+    private static final long MAX_CACHED_BYTES = 64L * 1024 * 1024;
+
     private final UserDAO userDAO;
     private final ProjectsDAO projectsDAO;
-    private final ProjectVersionsDAO projectVersionsDAO;
-    private final HangarProjectPagesDAO hangarProjectPagesDAO;
+    private final SitemapDAO sitemapDAO;
+    private final TransactionTemplate readOnlyTransaction;
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newFactory();
+    private final Cache<String, String> indexSitemap;
+    private final Cache<String, UserSitemap> userSitemaps;
+    private final AtomicLong invalidations = new AtomicLong();
 
-    public SitemapService(HangarDao<UserDAO> userDAO, HangarDao<ProjectsDAO> projectsDAO, HangarDao<ProjectVersionsDAO> projectVersionsDAO, HangarDao<HangarProjectPagesDAO> hangarProjectPagesDAO) {
+    @Autowired
+    public SitemapService(HangarDao<UserDAO> userDAO, HangarDao<ProjectsDAO> projectsDAO, HangarDao<SitemapDAO> sitemapDAO, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
         this.userDAO = userDAO.get();
         this.projectsDAO = projectsDAO.get();
-        this.projectVersionsDAO = projectVersionsDAO.get();
-        this.hangarProjectPagesDAO = hangarProjectPagesDAO.get();
+        this.sitemapDAO = sitemapDAO.get();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexSitemap = Caffeine.newBuilder().expireAfterWrite(INDEX_TTL).build();
+        this.userSitemaps = Caffeine.newBuilder()
+                .maximumWeight(MAX_CACHED_BYTES)
+                .<String, UserSitemap>weigher((key, sitemap) -> sitemap.xml.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userSitemaps, "sitemaps");
     }
 
-    @Cacheable("indexSitemap")
     public String getSitemap() {
-        SitemapGenerator generator = SitemapGenerator.of(config.getBaseUrl())
-                .addPage(WebPage.builder().name("global-sitemap.xml").build());
-
-        userDAO.getAuthorNames().forEach(name -> generator.addPage(name + "/sitemap.xml"));
-        return generator.toString();
+        return indexSitemap.get("index", key -> {
+            SitemapIndexGenerator generator = SitemapIndexGenerator.of(config.getBaseUrl())
+                    .addPage(WebPage.builder().name("global-sitemap.xml").build());
+            int sitemaps = 1;
+            for (Map.Entry<String, Long> author : sitemapDAO.getAuthorEntryCounts(MAX_AUTHORS).entrySet()) {
+                // the user page itself is the first url of the first sitemap
+                long pages = Math.max(1, (author.getValue() + 1 + MAX_URLS - 1) / MAX_URLS);
+                for (int page = 1; page <= pages && sitemaps < MAX_URLS; page++, sitemaps++) {
+                    generator.addPage(getUserSitemapPath(author.getKey(), page));
+                }
+            }
+            return generator.toString();
+        });
     }
 
     @Cacheable("globalSitemap")
@@ -54,45 +111,151 @@ public class SitemapService extends HangarComponent {
                 .toString();
     }
 
-    @Cacheable(value = "userSitemap", key = "#username")
-    public String getUserSitemap(String username) {
-        final UserTable userTable = userDAO.getUserTable(username);
-        final SitemapGenerator generator = SitemapGenerator.of(config.getBaseUrl());
-        generator.defaultChangeFreqWeekly();
+    /**
+     * Writes one page of a user sitemap, the first page starts with the user page followed by
+     * the public projects, versions and pages of the user. Cached pages are written without a connection,
+     * a read-only transaction is only opened to build a page.
+     *
+     * @param page 1-based page of the sitemap
+     */
+    public void writeUserSitemap(String username, int page, OutputStream out) throws IOException {
+        String key = username.toLowerCase(Locale.ROOT) + "/" + page;
+        UserSitemap cached = userSitemaps.getIfPresent(key);
+        if (cached != null) {
+            out.write(cached.xml);
+            return;
+        }
 
-        // add all projects
-        List<ProjectTable> projects = projectsDAO.getUserProjects(userTable.getId());
-        projects.forEach(p -> generator.addPage(userTable.getName() + "/" + p.getSlug()));
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    buildUserSitemap(key, username, page, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
-        // add all versions of said projects
-        projects.forEach(p -> {
-            List<ProjectVersionTable> projectVersions = projectVersionsDAO.getProjectVersions(p.getId());
+    private void buildUserSitemap(String key, String username, int page, OutputStream out) throws IOException {
+        UserTable userTable = userDAO.getUserTable(username);
+        if (userTable == null || page < 1) {
+            throw new HangarApiException(HttpStatus.NOT_FOUND);
+        }
+        long generation = invalidations.get();
+        long offset = page == 1 ? 0 : (long) (page - 1) * MAX_URLS - 1;
+        int limit = page == 1 ? MAX_URLS - 1 : MAX_URLS;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Set<Long> projectIds = new HashSet<>();
+        try (Stream<SitemapEntry> entries = sitemapDAO.getUserEntries(userTable.getId(), offset, limit)) {
+            writeUrlSet(userTable.getName(), page == 1, entries.peek(entry -> projectIds.add(entry.getProjectId())), new TeeOutputStream(out, buffer));
+        }
+        if (invalidations.get() == generation) {
+            userSitemaps.put(key, new UserSitemap(buffer.toByteArray(), projectIds));
+        }
+    }
 
-            projectVersions.forEach(pv -> {
-                List<Platform> platforms = projectVersionsDAO.getVersionPlatforms(pv.getId());
-                platforms.forEach(platform -> generator.addPage(path(userTable.getName(), p.getSlug(), "versions", pv.getVersionString(), platform.name().toLowerCase(Locale.ROOT))));
+    /**
+     * Drops the cached sitemaps containing a project and those of its current owner,
+     * now and again once the current transaction completes
+     */
+    public void invalidateProject(long projectId) {
+        TransactionUtils.evict(() -> evictProject(projectId));
+    }
 
-            });
-        });
+    private void evictProject(long projectId) {
+        invalidations.incrementAndGet();
+        userSitemaps.asMap().values().removeIf(sitemap -> sitemap.projectIds.contains(projectId));
+        ProjectTable projectTable = projectsDAO.getById(projectId);
+        if (projectTable != null) {
+            String prefix = projectTable.getOwnerName().toLowerCase(Locale.ROOT) + "/";
+            userSitemaps.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
 
-        // add all pages of said projects
-        projects.forEach(project -> {
-            List<ExtendedProjectPage> projectPages = hangarProjectPagesDAO.getProjectPages(project.getId());
-            for (ExtendedProjectPage pp : projectPages) {
-                if (pp.isHome()) {
-                    continue;
-                }
-                generator.addPage(path(userTable.getName(), project.getSlug(), "pages", pp.getSlug()));
+    void writeUrlSet(String ownerName, boolean includeUserPage, Stream<SitemapEntry> entries, OutputStream out) throws IOException {
+        String baseUrl = config.getBaseUrl().endsWith("/") ? config.getBaseUrl() : config.getBaseUrl() + "/";
+        try {
+            XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(out, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("urlset");
+            writer.writeDefaultNamespace(NAMESPACE);
+            if (includeUserPage) {
+                writeUrl(writer, baseUrl + ownerName, null);
             }
-        });
+            for (SitemapEntry entry : (Iterable<SitemapEntry>) entries::iterator) {
+                writeUrl(writer, baseUrl + entry.getPath(ownerName), entry.getLastModified());
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not write sitemap of " + ownerName, e);
+        }
+        out.flush();
+    }
+
+    private static void writeUrl(XMLStreamWriter writer, String loc, OffsetDateTime lastModified) throws XMLStreamException {
+        writer.writeStartElement("url");
+        writeElement(writer, "loc", loc);
+        if (lastModified != null) {
+            writeElement(writer, "lastmod", lastModified.truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        }
+        writeElement(writer, "changefreq", "weekly");
+        writer.writeEndElement();
+    }
 
-        // lastly, add user page
-        generator.addPage(WebPage.builder().name(userTable.getName()).build());
+    private static void writeElement(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
 
-        return generator.toString();
+    public static String getUserSitemapPath(String username, int page) {
+        return page == 1 ? username + "/sitemap.xml" : username + "/sitemap-" + page + ".xml";
     }
 
-    private String path(String...paths) {
-        return String.join("/", paths);
+    private static final class UserSitemap {
+
+        private final byte[] xml;
+        private final Set<Long> projectIds;
+
+        private UserSitemap(byte[] xml, Set<Long> projectIds) {
+            this.xml = xml;
+            this.projectIds = projectIds;
+        }
+    }
+
+    /**
+     * Writes to the response while keeping a copy for the cache
+     */
+    private static final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private final OutputStream copy;
+
+        private TeeOutputStream(OutputStream out, OutputStream copy) {
+            this.out = out;
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
     }
 }
@@ -1,10 +1,11 @@
 package io.papermc.hangar.service.internal;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.papermc.hangar.HangarComponent;
 import io.papermc.hangar.db.dao.HangarDao;
 import io.papermc.hangar.db.dao.internal.LoggedActionsDAO;
 import io.papermc.hangar.model.api.PaginatedResult;
-import io.papermc.hangar.model.api.Pagination;
 import io.papermc.hangar.model.api.requests.RequestPagination;
 import io.papermc.hangar.model.db.log.LoggedActionTable;
 import io.papermc.hangar.model.internal.logs.HangarLoggedAction;
@@ -18,47 +19,112 @@ import io.papermc.hangar.model.internal.logs.contexts.VersionContext;
 import io.papermc.hangar.util.RequestUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
+/**
+ * Writes the action log. Inside a transaction, entries are collected and written in one batch per table right before
+ * it commits, so they are persisted exactly when the change they describe is. Outside of one they are written immediately.
+ * Large states are moved to logged_action_states by the database, see V1.14.0.
+ */
 @Service
 public class UserActionLogService extends HangarComponent {
 
     private final LoggedActionsDAO loggedActionsDAO;
+    private final DistributionSummary batchSizes;
 
     @Autowired
-    public UserActionLogService(HangarDao<LoggedActionsDAO> loggedActionsDAO) {
+    public UserActionLogService(HangarDao<LoggedActionsDAO> loggedActionsDAO, MeterRegistry meterRegistry) {
         this.loggedActionsDAO = loggedActionsDAO.get();
+        this.batchSizes = DistributionSummary.builder("hangar.actionlog.batch").description("Action log entries written together at the end of a transaction").register(meterRegistry);
     }
 
     public void project(LoggedAction<ProjectContext> action) {
-        log(loggedActionsDAO::insertProjectLog, action);
+        log(loggedActionsDAO::insertProjectLogs, action);
     }
 
     public void projectPage(LoggedAction<PageContext> action) {
-        log(loggedActionsDAO::insertProjectPageLog, action);
+        log(loggedActionsDAO::insertProjectPageLogs, action);
     }
 
     public void version(LoggedAction<VersionContext> action) {
-        log(loggedActionsDAO::insertVersionLog, action);
+        log(loggedActionsDAO::insertVersionLogs, action);
     }
 
     public void user(LoggedAction<UserContext> action) {
-        log(loggedActionsDAO::insertUserLog, action);
+        log(loggedActionsDAO::insertUserLogs, action);
     }
 
     public void organization(LoggedAction<OrganizationContext> action) {
-        log(loggedActionsDAO::insertOrganizationLog, action);
+        log(loggedActionsDAO::insertOrganizationLogs, action);
     }
 
-    @Transactional
-    public  <LT extends LoggedActionTable, LC extends LogContext<LT, LC>> void log(Consumer<LT> inserter, LoggedAction<LC> action) {
-        inserter.accept(action.getContext().createTable(getHangarPrincipal().getUserId(), RequestUtil.getRemoteInetAddress(request), action));
+    public <LT extends LoggedActionTable, LC extends LogContext<LT, LC>> void log(Consumer<List<LT>> inserter, LoggedAction<LC> action) {
+        write(inserter, action.getContext().createTable(getHangarPrincipal().getUserId(), RequestUtil.getRemoteInetAddress(request), action));
+    }
+
+    <LT extends LoggedActionTable> void write(Consumer<List<LT>> inserter, LT table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inserter.accept(List.of(table));
+            return;
+        }
+        PendingEntries pending = (PendingEntries) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEntries();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(inserter, table);
     }
 
     public PaginatedResult<HangarLoggedAction> getLogs(RequestPagination pagination) {
-        return new PaginatedResult<>(new Pagination(loggedActionsDAO.getLogCount(pagination), pagination), loggedActionsDAO.getLog(pagination));
+        Long count = pagination.isCountTotal() ? loggedActionsDAO.getLogCount(pagination) : null;
+        return PaginatedResult.ofKeyset(loggedActionsDAO.getLog(pagination), pagination, action -> List.of(action.getCreatedAt(), action.getContextType().ordinal(), action.getId()), count);
+    }
+
+    private final class PendingEntries implements TransactionSynchronization {
+
+        private final Map<Class<?>, Batch<?>> batches = new LinkedHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private <LT extends LoggedActionTable> void add(Consumer<List<LT>> inserter, LT table) {
+            ((Batch<LT>) batches.computeIfAbsent(table.getClass(), key -> new Batch<>(inserter))).tables.add(table);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            int size = 0;
+            for (Batch<?> batch : batches.values()) {
+                batch.write();
+                size += batch.tables.size();
+            }
+            batches.clear();
+            batchSizes.record(size);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UserActionLogService.this);
+        }
+    }
+
+    private static final class Batch<LT extends LoggedActionTable> {
+
+        private final Consumer<List<LT>> inserter;
+        private final List<LT> tables = new ArrayList<>();
+
+        private Batch(Consumer<List<LT>> inserter) {
+            this.inserter = inserter;
+        }
+
+        private void write() {
+            inserter.accept(tables);
+        }
     }
 }
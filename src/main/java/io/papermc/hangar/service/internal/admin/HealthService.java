@@ -41,6 +41,9 @@ public class HealthService extends HangarComponent {
     public List<MissingFileCheck> getVersionsWithMissingFiles() {
         List<MissingFileCheck> missingFileChecks = healthDAO.getVersionsForMissingFiles();
         return missingFileChecks.stream().filter(mfc -> {
+            if (mfc.getBlobHash() != null) {
+                return Files.notExists(projectFiles.getBlobPath(mfc.getBlobHash()));
+            }
             Path path = projectFiles.getVersionDir(mfc.getNamespace().getOwner(), mfc.getName(), mfc.getVersionString(), mfc.getPlatform());
             return Files.notExists(path.resolve(mfc.getFileName()));
         }).collect(Collectors.toList());
@@ -0,0 +1,182 @@
+package io.papermc.hangar.service.internal.admin;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.papermc.hangar.config.hangar.StatsConfig;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.table.stats.ProjectVersionDownloadsDAO;
+import io.papermc.hangar.db.dao.internal.table.stats.ProjectViewsDAO;
+import io.papermc.hangar.model.db.stats.IndividualTable;
+import io.papermc.hangar.model.db.stats.ProjectVersionDownloadIndividualTable;
+import io.papermc.hangar.model.db.stats.ProjectViewIndividualTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Buffers view and download events in memory and writes them to the individual stat tables in batches
+ * from a background thread, so recording a stat never costs a database round trip on the request thread.
+ */
+@Service
+public class StatIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatIngestionService.class);
+
+    private final StatsConfig config;
+    private final EventBuffer<ProjectViewIndividualTable> views;
+    private final EventBuffer<ProjectVersionDownloadIndividualTable> downloads;
+    private final Timer flushTimer;
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public StatIngestionService(StatsConfig config, MeterRegistry meterRegistry, HangarDao<ProjectViewsDAO> projectViewsDAO, HangarDao<ProjectVersionDownloadsDAO> projectVersionDownloadsDAO) {
+        this.config = config;
+        this.views = new EventBuffer<>("views", config.getQueueCapacity(), projectViewsDAO.get()::insert, meterRegistry);
+        this.downloads = new EventBuffer<>("downloads", config.getQueueCapacity(), projectVersionDownloadsDAO.get()::insert, meterRegistry);
+        this.flushTimer = Timer.builder("hangar.stats.flush").description("Time spent writing buffered stat events").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startFlusher() {
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hangar-stats-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getFlushInterval().toMillis();
+        this.flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopFlusher() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Stats flusher did not terminate in time");
+        }
+        flush();
+    }
+
+    public void addView(ProjectViewIndividualTable view) {
+        add(views, view);
+    }
+
+    public void addDownload(ProjectVersionDownloadIndividualTable download) {
+        add(downloads, download);
+    }
+
+    public int getQueuedViews() {
+        return views.size();
+    }
+
+    public int getQueuedDownloads() {
+        return downloads.size();
+    }
+
+    private <T extends IndividualTable> void add(EventBuffer<T> buffer, T event) {
+        if (!buffer.offer(event)) {
+            if (config.getOverflowStrategy() == StatsConfig.OverflowStrategy.FLUSH_INLINE) {
+                buffer.flush(config.getFlushSize());
+                if (buffer.offer(event)) {
+                    return;
+                }
+            }
+            buffer.dropped.increment();
+            return;
+        }
+        if (buffer.size() >= config.getFlushSize() && flushPending.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    public void flush() {
+        flushPending.set(false);
+        flushTimer.record(() -> {
+            views.flush(config.getFlushSize());
+            downloads.flush(config.getFlushSize());
+        });
+    }
+
+    /**
+     * Bounded multi-producer queue. Capacity is enforced by reserving a slot with a CAS on the size counter
+     * before the (lock-free) enqueue, so producers never block each other.
+     */
+    private static class EventBuffer<T> {
+
+        private final String name;
+        private final int capacity;
+        private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final Consumer<List<T>> writer;
+        private final Counter dropped;
+        private final Counter written;
+
+        EventBuffer(String name, int capacity, Consumer<List<T>> writer, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.capacity = capacity;
+            this.writer = writer;
+            this.dropped = Counter.builder("hangar.stats.events.dropped").tag("type", name).description("Stat events discarded because the buffer was full or the write failed").register(meterRegistry);
+            this.written = Counter.builder("hangar.stats.events.written").tag("type", name).description("Stat events written to the database").register(meterRegistry);
+            Gauge.builder("hangar.stats.queue.depth", size, AtomicInteger::get).tag("type", name).description("Stat events waiting to be written").register(meterRegistry);
+        }
+
+        boolean offer(T event) {
+            int current;
+            do {
+                current = size.get();
+                if (current >= capacity) {
+                    return false;
+                }
+            } while (!size.compareAndSet(current, current + 1));
+            queue.add(event);
+            return true;
+        }
+
+        int size() {
+            return size.get();
+        }
+
+        void flush(int batchSize) {
+            List<T> batch = new ArrayList<>(batchSize);
+            T event;
+            while ((event = queue.poll()) != null) {
+                size.decrementAndGet();
+                batch.add(event);
+                if (batch.size() >= batchSize) {
+                    write(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        }
+
+        private void write(List<T> batch) {
+            try {
+                writer.accept(batch);
+                written.increment(batch.size());
+            } catch (RuntimeException ex) {
+                logger.error("Failed to write {} buffered {} stat events", batch.size(), name, ex);
+                dropped.increment(batch.size());
+            }
+        }
+    }
+}
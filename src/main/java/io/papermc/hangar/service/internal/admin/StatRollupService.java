@@ -0,0 +1,69 @@
+package io.papermc.hangar.service.internal.admin;
+
+import io.papermc.hangar.config.hangar.StatsConfig;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.HangarStatsDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Rolls the individual stat tables up into the daily tables one chunk of unprocessed rows at a time. The
+ * checkpoint row in {@code stats_rollup_checkpoints} is locked for the duration of a chunk so only one node
+ * processes a table at a time, its watermark is the highest id rolled up so far.
+ */
+@Service
+public class StatRollupService {
+
+    private final HangarStatsDAO hangarStatsDAO;
+    private final StatsConfig config;
+
+    @Autowired
+    public StatRollupService(HangarDao<HangarStatsDAO> hangarStatsDAO, StatsConfig config) {
+        this.hangarStatsDAO = hangarStatsDAO.get();
+        this.config = config;
+    }
+
+    /**
+     * Processes the next chunk of unprocessed rows
+     *
+     * @return the number of rows processed, 0 if the table has been caught up
+     */
+    @Transactional
+    public int rollupChunk(RollupTarget target) {
+        hangarStatsDAO.lockCheckpoint(target.individualTable);
+        List<Long> chunk = hangarStatsDAO.findChunk(target.individualTable, config.getRollupChunkSize());
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        hangarStatsDAO.fillStatsUserIdsFromOthers(target.individualTable, chunk);
+        hangarStatsDAO.processStatsChunk(target.individualTable, target.dayTable, target.statColumn, target.includeVersionId, chunk);
+        int rows = hangarStatsDAO.markProcessed(target.individualTable, chunk);
+        hangarStatsDAO.advanceCheckpoint(target.individualTable, chunk.get(chunk.size() - 1));
+        return rows;
+    }
+
+    public enum RollupTarget {
+        PROJECT_VIEWS("project_views_individual", "project_views", "views", false),
+        VERSION_DOWNLOADS("project_versions_downloads_individual", "project_versions_downloads", "downloads", true);
+
+        private final String individualTable;
+        private final String dayTable;
+        private final String statColumn;
+        private final boolean includeVersionId;
+
+        RollupTarget(String individualTable, String dayTable, String statColumn, boolean includeVersionId) {
+            this.individualTable = individualTable;
+            this.dayTable = dayTable;
+            this.statColumn = statColumn;
+            this.includeVersionId = includeVersionId;
+        }
+
+        public String getIndividualTable() {
+            return individualTable;
+        }
+    }
+}
@@ -1,15 +1,17 @@
 package io.papermc.hangar.service.internal.admin;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.papermc.hangar.HangarComponent;
 import io.papermc.hangar.db.dao.HangarDao;
 import io.papermc.hangar.db.dao.internal.HangarStatsDAO;
-import io.papermc.hangar.db.dao.internal.table.stats.ProjectVersionDownloadsDAO;
-import io.papermc.hangar.db.dao.internal.table.stats.ProjectViewsDAO;
 import io.papermc.hangar.model.db.stats.ProjectVersionDownloadIndividualTable;
 import io.papermc.hangar.model.db.stats.ProjectViewIndividualTable;
 import io.papermc.hangar.model.identified.ProjectIdentified;
 import io.papermc.hangar.model.identified.VersionIdentified;
 import io.papermc.hangar.model.internal.admin.DayStats;
+import io.papermc.hangar.service.internal.admin.StatRollupService.RollupTarget;
 import io.papermc.hangar.util.RequestUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -18,11 +20,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.Cookie;
-import java.net.InetAddress;
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class StatService extends HangarComponent {
@@ -30,14 +35,23 @@ public class StatService extends HangarComponent {
     private static final String STAT_TRACKING_COOKIE = "hangar_stats";
 
     private final HangarStatsDAO hangarStatsDAO;
-    private final ProjectViewsDAO projectViewsDAO;
-    private final ProjectVersionDownloadsDAO projectVersionDownloadsDAO;
+    private final StatIngestionService statIngestionService;
+    private final StatRollupService statRollupService;
+    private final Map<RollupTarget, Timer> rollupTimers = new EnumMap<>(RollupTarget.class);
+    private final Map<RollupTarget, AtomicLong> rollupWatermarks = new EnumMap<>(RollupTarget.class);
 
     @Autowired
-    public StatService(HangarDao<HangarStatsDAO> hangarStatsDAO, HangarDao<ProjectViewsDAO> projectViewsDAO, HangarDao<ProjectVersionDownloadsDAO> projectVersionDownloadsDAO) {
+    public StatService(HangarDao<HangarStatsDAO> hangarStatsDAO, StatIngestionService statIngestionService, StatRollupService statRollupService, MeterRegistry meterRegistry) {
         this.hangarStatsDAO = hangarStatsDAO.get();
-        this.projectViewsDAO = projectViewsDAO.get();
-        this.projectVersionDownloadsDAO = projectVersionDownloadsDAO.get();
+        this.statIngestionService = statIngestionService;
+        this.statRollupService = statRollupService;
+        for (RollupTarget target : RollupTarget.values()) {
+            String tableName = target.getIndividualTable();
+            rollupTimers.put(target, Timer.builder("hangar.stats.rollup").tag("table", tableName).description("Duration of a stats rollup run").register(meterRegistry));
+            AtomicLong watermark = new AtomicLong(System.currentTimeMillis());
+            rollupWatermarks.put(target, watermark);
+            Gauge.builder("hangar.stats.rollup.lag", watermark, w -> (System.currentTimeMillis() - w.get()) / 1000.0).tag("table", tableName).description("Seconds between now and the newest rolled up stat").baseUnit("seconds").register(meterRegistry);
+        }
     }
 
     public List<DayStats> getStats(LocalDate from, LocalDate to) {
@@ -45,23 +59,21 @@ public class StatService extends HangarComponent {
     }
 
     public void addProjectView(ProjectIdentified projectIdentified) {
-        Long userId = getHangarUserId();
-        InetAddress address = RequestUtil.getRemoteInetAddress(request);
-        Optional<String> existingCookie = projectViewsDAO.getIndividualView(userId, address).map(ProjectViewIndividualTable::getCookie);
-        String cookie = existingCookie.orElse(Optional.ofNullable(WebUtils.getCookie(request, STAT_TRACKING_COOKIE)).map(Cookie::getValue).orElse(UUID.randomUUID().toString()));
-        projectViewsDAO.insert(new ProjectViewIndividualTable(address, cookie, userId, projectIdentified.getProjectId()));
+        String cookie = getStatCookie();
+        statIngestionService.addView(new ProjectViewIndividualTable(RequestUtil.getRemoteInetAddress(request), cookie, getHangarUserId(), projectIdentified.getProjectId()));
         setCookie(cookie);
     }
 
     public <T extends VersionIdentified & ProjectIdentified> void addVersionDownload(T versionIdentified) {
-        Long userId = getHangarUserId();
-        InetAddress address = RequestUtil.getRemoteInetAddress(request);
-        Optional<String> existingCookie = projectVersionDownloadsDAO.getIndividualView(userId, address).map(ProjectVersionDownloadIndividualTable::getCookie);
-        String cookie = existingCookie.orElse(Optional.ofNullable(WebUtils.getCookie(request, STAT_TRACKING_COOKIE)).map(Cookie::getValue).orElse(UUID.randomUUID().toString()));
-        projectVersionDownloadsDAO.insert(new ProjectVersionDownloadIndividualTable(address, cookie, userId, versionIdentified.getProjectId(), versionIdentified.getVersionId()));
+        String cookie = getStatCookie();
+        statIngestionService.addDownload(new ProjectVersionDownloadIndividualTable(RequestUtil.getRemoteInetAddress(request), cookie, getHangarUserId(), versionIdentified.getProjectId(), versionIdentified.getVersionId()));
         setCookie(cookie);
     }
 
+    private String getStatCookie() {
+        return Optional.ofNullable(WebUtils.getCookie(request, STAT_TRACKING_COOKIE)).map(Cookie::getValue).orElseGet(() -> UUID.randomUUID().toString());
+    }
+
     private void setCookie(String cookieValue) {
         response.addHeader(HttpHeaders.SET_COOKIE,
                 ResponseCookie.from(STAT_TRACKING_COOKIE, cookieValue)
@@ -73,18 +85,29 @@ public class StatService extends HangarComponent {
         );
     }
 
-    private void processStats(String individualTable, String dayTable, String statColumn, boolean includeVersionId) {
-        hangarStatsDAO.fillStatsUserIdsFromOthers(individualTable);
-        hangarStatsDAO.processStatsMain(individualTable, dayTable, statColumn, true, includeVersionId);
-        hangarStatsDAO.processStatsMain(individualTable, dayTable, statColumn, false, includeVersionId);
-        hangarStatsDAO.deleteOldIndividual(individualTable);
+    private void processStats(RollupTarget target) {
+        long start = System.nanoTime();
+        long rows = 0;
+        int chunks = 0;
+        int processed;
+        do {
+            processed = statRollupService.rollupChunk(target);
+            rows += processed;
+        } while (processed > 0 && ++chunks < config.stats.getRollupMaxChunks());
+        hangarStatsDAO.deleteOldIndividual(target.getIndividualTable());
+
+        long duration = System.nanoTime() - start;
+        rollupTimers.get(target).record(duration, TimeUnit.NANOSECONDS);
+        hangarStatsDAO.recordRun(target.getIndividualTable(), TimeUnit.NANOSECONDS.toMillis(duration), rows);
+        hangarStatsDAO.getWatermarkCreatedAt(target.getIndividualTable()).ifPresent(createdAt -> rollupWatermarks.get(target).set(createdAt.toInstant().toEpochMilli()));
+        logger.debug("Rolled up {} rows of {} in {}ms", rows, target.getIndividualTable(), TimeUnit.NANOSECONDS.toMillis(duration));
     }
 
     public void processVersionDownloads() {
-        processStats("project_versions_downloads_individual", "project_versions_downloads", "downloads", true);
+        processStats(RollupTarget.VERSION_DOWNLOADS);
     }
 
     public void processProjectViews() {
-        processStats("project_views_individual", "project_views", "views", false);
+        processStats(RollupTarget.PROJECT_VIEWS);
     }
 }
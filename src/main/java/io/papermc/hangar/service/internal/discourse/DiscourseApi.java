@@ -1,46 +1,98 @@
 package io.papermc.hangar.service.internal.discourse;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.jetbrains.annotations.Nullable;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import io.papermc.hangar.config.hangar.DiscourseConfig;
 import io.papermc.hangar.model.internal.discourse.DiscourseError;
 import io.papermc.hangar.model.internal.discourse.DiscoursePost;
 
+/**
+ * Talks to Discourse over its own pool of connections. Requests are rate limited for the api key on our side,
+ * requests which would have to wait longer than {@link DiscourseConfig#getMaxRateLimitWait()} fail with a
+ * {@link DiscourseError.RateLimitError} right away so their job is retried later.
+ */
 @Component
-public class DiscourseApi {
+public class DiscourseApi implements DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(DiscourseApi.class);
 
+    private final CloseableHttpClient httpClient;
     private final RestTemplate restTemplate;
     private final DiscourseConfig config;
+    private final DiscourseRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final Counter rateLimitWaits;
+    private final Counter rateLimitDeferrals;
+    private final Counter rateLimitResponses;
 
     @Autowired
-    public DiscourseApi(RestTemplate restTemplate, DiscourseConfig config) {
-        this.restTemplate = restTemplate;
+    public DiscourseApi(RestTemplate restTemplate, DiscourseConfig config, MeterRegistry meterRegistry) {
         this.config = config;
+        this.meterRegistry = meterRegistry;
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(config.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxConnections());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "discourse").bindTo(meterRegistry);
+        // requests are made as different users, cookies must not carry over
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .disableCookieManagement()
+                .build();
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setConnectTimeout((int) config.getConnectTimeout().toMillis());
+        requestFactory.setConnectionRequestTimeout((int) config.getConnectTimeout().toMillis());
+        requestFactory.setReadTimeout((int) config.getReadTimeout().toMillis());
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.restTemplate.setMessageConverters(restTemplate.getMessageConverters());
+        if (!restTemplate.getInterceptors().isEmpty()) {
+            // interceptors may read the body, keep it readable like the shared template does
+            this.restTemplate.setRequestFactory(new BufferingClientHttpRequestFactory(requestFactory));
+            this.restTemplate.setInterceptors(restTemplate.getInterceptors());
+        }
+        this.rateLimiter = new DiscourseRateLimiter(config.getRequestsPerMinute(), config.getRequestBurst(), System::nanoTime);
+        this.rateLimitWaits = Counter.builder("hangar.discourse.ratelimit").tag("result", "waited").description("Discourse requests delayed by the client side rate limit").register(meterRegistry);
+        this.rateLimitDeferrals = Counter.builder("hangar.discourse.ratelimit").tag("result", "deferred").description("Discourse requests not sent because of the client side rate limit").register(meterRegistry);
+        this.rateLimitResponses = Counter.builder("hangar.discourse.ratelimit").tag("result", "rejected").description("Discourse requests rate limited by Discourse").register(meterRegistry);
+    }
+
+    private String username(String poster) {
+        return poster == null ? config.getAdminUser() : poster;
     }
 
-    private HttpHeaders header(String poster) {
+    private HttpHeaders header(String username) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Api-Key", config.getApiKey());
-        headers.set("Api-Username", poster == null ? config.getAdminUser() : poster);
+        headers.set("Api-Username", username);
         return headers;
     }
 
@@ -48,7 +100,7 @@ public class DiscourseApi {
         Map<String, Object> args = new HashMap<>();
         args.put("topic_id", topicId);
         args.put("raw", content);
-        return execute(args, config.getUrl() + "/posts.json", header(poster), HttpMethod.POST, DiscoursePost.class);
+        return execute("createPost", args, config.getUrl() + "/posts.json", poster, HttpMethod.POST, DiscoursePost.class);
     }
 
     public DiscoursePost createTopic(String poster, String title, String content, @Nullable Integer categoryId) {
@@ -56,7 +108,7 @@ public class DiscourseApi {
         args.put("title", title);
         args.put("raw", content);
         args.put("category", categoryId);
-        return execute(args, config.getUrl() + "/posts.json", header(poster), HttpMethod.POST, DiscoursePost.class);
+        return execute("createTopic", args, config.getUrl() + "/posts.json", poster, HttpMethod.POST, DiscoursePost.class);
     }
 
     public void updateTopic(String poster, long topicId, @Nullable String title, @Nullable Integer categoryId) {
@@ -64,27 +116,32 @@ public class DiscourseApi {
         args.put("topic_id", topicId);
         args.put("title", title);
         args.put("category", categoryId);
-        execute(args, config.getUrl() + "/t/-/" + topicId + ".json", header(poster), HttpMethod.PUT);
+        execute("updateTopic", args, config.getUrl() + "/t/-/" + topicId + ".json", poster, HttpMethod.PUT);
     }
 
     public void updatePost(String poster, long postId, String content) {
         Map<String, String> args = new HashMap<>();
         args.put("raw", content);
-        execute(args, config.getUrl() + "/posts/" + postId + ".json", header(poster), HttpMethod.PUT);
+        execute("updatePost", args, config.getUrl() + "/posts/" + postId + ".json", poster, HttpMethod.PUT);
     }
 
     public void deleteTopic(String poster, long topicId) {
-        execute(null, config.getUrl() + "/t/" + topicId + ".json", header(poster), HttpMethod.DELETE);
+        execute("deleteTopic", null, config.getUrl() + "/t/" + topicId + ".json", poster, HttpMethod.DELETE);
     }
 
-    private void execute(Object args, String url, HttpHeaders headers, HttpMethod method) {
-        execute(args, url, headers, method, Object.class);
+    private void execute(String endpoint, Object args, String url, String poster, HttpMethod method) {
+        execute(endpoint, args, url, poster, method, Object.class);
     }
 
-    private <T> T execute(Object args, String url, HttpHeaders headers, HttpMethod method, Class<T> responseType) {
+    private <T> T execute(String endpoint, Object args, String url, String poster, HttpMethod method, Class<T> responseType) {
+        String username = username(poster);
+        waitForRateLimit();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "IO_ERROR";
         try {
-            HttpEntity<Object> entity = new HttpEntity<>(args, headers);
+            HttpEntity<Object> entity = new HttpEntity<>(args, header(username));
             ResponseEntity<T> response = restTemplate.exchange(url, method, entity, responseType);
+            status = String.valueOf(response.getStatusCodeValue());
             if (response.getStatusCode().is2xxSuccessful()) {
                 return response.getBody();
             } else {
@@ -92,31 +149,67 @@ public class DiscourseApi {
                 throw createFromStatus(response.getStatusCode(), body != null ? body.toString() : null);
             }
         } catch (HttpStatusCodeException ex) {
+            status = String.valueOf(ex.getRawStatusCode());
             throw createFromStatus(ex.getStatusCode(), ex.getResponseBodyAsString());
+        } catch (DiscourseError ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new DiscourseError.UnknownError("Unknown discourse error, " + ex.getMessage(), "unknown", Map.of());
+        } finally {
+            sample.stop(Timer.builder("hangar.discourse.requests").tag("endpoint", endpoint).tag("status", status).description("Requests sent to Discourse").register(meterRegistry));
+        }
+    }
+
+    private void waitForRateLimit() {
+        Duration wait;
+        try {
+            wait = rateLimiter.acquire(config.getMaxRateLimitWait());
+        } catch (DiscourseError.RateLimitError ex) {
+            rateLimitDeferrals.increment();
+            throw ex;
+        }
+        if (!wait.isZero()) {
+            rateLimitWaits.increment();
+            try {
+                Thread.sleep(wait.toMillis(), wait.toNanosPart() % 1_000_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DiscourseError.UnknownError("Interrupted while waiting for the discourse rate limit", "unknown", Map.of());
+            }
         }
     }
 
     private DiscourseError createFromStatus(HttpStatus status, String message) {
         if (status.equals(HttpStatus.TOO_MANY_REQUESTS)) {
-            if (message != null) {
-                try {
-                    JSONObject json = new JSONObject(message);
-                    JSONObject extras = json.getJSONObject("extras");
-                    return new DiscourseError.RateLimitError(Duration.ofSeconds(extras.getInt("wait_seconds")));
-                } catch (JSONException e) {
-                    logger.warn("Failed to parse JSON in 429 from Discourse. Error: {} To parse: {}", e.getMessage(), message, e);
-                    return new DiscourseError.RateLimitError(Duration.ofHours(12));
-                }
-            } else {
-                logger.warn("Received 429 from Discourse with no body. Assuming wait time of 12 hours");
-                return new DiscourseError.RateLimitError(Duration.ofHours(12));
-            }
+            DiscourseError.RateLimitError error = createRateLimitError(message);
+            rateLimitResponses.increment();
+            rateLimiter.pause(error.getDuration());
+            return error;
         } else if (status.equals(HttpStatus.UNPROCESSABLE_ENTITY)) {
             return new DiscourseError.NotProcessable(message);
         } else {
             return new DiscourseError.StatusError(status, message);
         }
     }
+
+    private DiscourseError.RateLimitError createRateLimitError(String message) {
+        if (message != null) {
+            try {
+                JSONObject json = new JSONObject(message);
+                JSONObject extras = json.getJSONObject("extras");
+                return new DiscourseError.RateLimitError(Duration.ofSeconds(extras.getInt("wait_seconds")));
+            } catch (JSONException e) {
+                logger.warn("Failed to parse JSON in 429 from Discourse. Error: {} To parse: {}", e.getMessage(), message, e);
+                return new DiscourseError.RateLimitError(Duration.ofHours(12));
+            }
+        } else {
+            logger.warn("Received 429 from Discourse with no body. Assuming wait time of 12 hours");
+            return new DiscourseError.RateLimitError(Duration.ofHours(12));
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        httpClient.close();
+    }
 }
@@ -0,0 +1,52 @@
+package io.papermc.hangar.service.internal.discourse;
+
+import io.papermc.hangar.model.internal.discourse.DiscourseError;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket for the api key, spreads requests out so they stay within Discourse's rate limit
+ * instead of running into 429s. Discourse counts admin api requests per key, whichever user they are made as.
+ * Only stores when the next token is due.
+ */
+class DiscourseRateLimiter {
+
+    private final long interval;
+    private final long tolerance;
+    private final LongSupplier clock;
+    private long due;
+
+    DiscourseRateLimiter(int requestsPerMinute, int burst, LongSupplier clock) {
+        this.interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+        this.tolerance = interval * (Math.max(1, burst) - 1);
+        this.clock = clock;
+        this.due = clock.getAsLong();
+    }
+
+    /**
+     * Takes a token
+     *
+     * @param maxWait the longest the caller is willing to wait for it
+     * @return how long to wait before sending the request
+     * @throws DiscourseError.RateLimitError if the token is further away than maxWait, nothing is taken then
+     */
+    synchronized Duration acquire(Duration maxWait) {
+        long now = clock.getAsLong();
+        long next = Math.max(due, now);
+        long wait = next - tolerance - now;
+        if (wait > maxWait.toNanos()) {
+            throw new DiscourseError.RateLimitError(Duration.ofNanos(wait));
+        }
+        due = next + interval;
+        return Duration.ofNanos(Math.max(0, wait));
+    }
+
+    /**
+     * Holds back all requests, used when Discourse rate limited the key anyways
+     */
+    synchronized void pause(Duration duration) {
+        due = Math.max(due, clock.getAsLong() + duration.toNanos() + tolerance);
+    }
+}
@@ -16,6 +16,7 @@ import io.papermc.hangar.model.internal.api.requests.EditMembersForm.Member;
 import io.papermc.hangar.model.internal.logs.LogAction;
 import io.papermc.hangar.model.internal.logs.contexts.LogContext;
 import io.papermc.hangar.model.loggable.Loggable;
+import io.papermc.hangar.service.PermissionService;
 import io.papermc.hangar.service.internal.perms.roles.RoleService;
 import io.papermc.hangar.service.internal.users.notifications.JoinableNotificationService;
 import org.jetbrains.annotations.Nullable;
@@ -41,6 +42,9 @@ public abstract class MemberService<
     @Autowired
     private HangarDao<UserDAO> userDAO;
 
+    @Autowired
+    private PermissionService permissionService;
+
     private final S roleService;
     private final MD membersDao;
     private final JNS joinableNotificationService;
@@ -73,6 +77,7 @@ public abstract class MemberService<
         }
         RT roleTable = roleService.addRole(newRoleTable);
         membersDao.insert(constructor.create(roleTable.getUserId(), roleTable.getPrincipalId()));
+        permissionService.invalidate(roleTable.getUserId());
         UserTable userTable = userDAO.get().getUserTable(roleTable.getUserId());
         roleTable.logAction(actionLogger, memberAddedAction, userTable.getName() + " joined due to creation", "");
         return roleTable;
@@ -80,11 +85,13 @@ public abstract class MemberService<
 
     public void addMember(RT roleTable) {
         membersDao.insert(constructor.create(roleTable.getUserId(), roleTable.getPrincipalId()));
+        permissionService.invalidate(roleTable.getUserId());
     }
 
     // TODO user's removing themselves from projects/organizations
     public void removeMember(RT roleTable, String userName, boolean removeRole) {
         membersDao.delete(roleTable.getPrincipalId(), roleTable.getUserId());
+        permissionService.invalidate(roleTable.getUserId());
         if (removeRole) {
             roleService.deleteRole(roleTable);
         }
@@ -104,6 +111,7 @@ public abstract class MemberService<
         });
         for (RT rt : toBeRemoved) {
             membersDao.delete(rt.getPrincipalId(), rt.getUserId());
+            permissionService.invalidate(rt.getUserId());
             roleService.deleteRole(rt);
         }
         if (!toBeRemoved.isEmpty()) {
@@ -22,5 +22,6 @@ public class GlobalRoleService extends RoleService<GlobalRoleTable, GlobalRole,
 
     public void removeAllGlobalRoles(long userId) {
         roleDao.deleteAll(userId);
+        permissionService.invalidate(userId);
     }
 }
@@ -4,19 +4,29 @@ import io.papermc.hangar.db.dao.HangarDao;
 import io.papermc.hangar.db.dao.internal.table.roles.ProjectRolesDAO;
 import io.papermc.hangar.model.common.roles.ProjectRole;
 import io.papermc.hangar.model.db.roles.ProjectRoleTable;
+import io.papermc.hangar.service.internal.EntityCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ProjectRoleService extends RoleService<ProjectRoleTable, ProjectRole, ProjectRolesDAO> {
 
+    private final EntityCacheService entityCacheService;
+
     @Autowired
-    public ProjectRoleService(HangarDao<ProjectRolesDAO> roleDao) {
+    public ProjectRoleService(HangarDao<ProjectRolesDAO> roleDao, EntityCacheService entityCacheService) {
         super(roleDao.get());
+        this.entityCacheService = entityCacheService;
     }
 
     @Override
     public ProjectRoleTable getRole(long projectId, long userId) {
         return super.getRole(projectId, userId);
     }
+
+    @Override
+    protected void invalidate(ProjectRoleTable roleTable) {
+        super.invalidate(roleTable);
+        entityCacheService.invalidate(roleTable.getProjectId());
+    }
 }
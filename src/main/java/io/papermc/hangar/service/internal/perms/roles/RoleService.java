@@ -4,13 +4,18 @@ import io.papermc.hangar.HangarComponent;
 import io.papermc.hangar.db.dao.internal.table.roles.IRolesDAO;
 import io.papermc.hangar.model.common.roles.Role;
 import io.papermc.hangar.model.db.roles.IRoleTable;
+import io.papermc.hangar.service.PermissionService;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
 public abstract class RoleService<RT extends IRoleTable<R>, R extends Role<RT>, D extends IRolesDAO<RT>> extends HangarComponent {
 
+    @Autowired
+    protected PermissionService permissionService;
+
     protected final D roleDao;
 
     protected RoleService(D roleDao) {
@@ -26,6 +31,7 @@ public abstract class RoleService<RT extends IRoleTable<R>, R extends Role<RT>,
     public RT addRole(RT newRoleTable, boolean ignoreIfDuplicate) {
         RT existingRoleTable = roleDao.getTable(newRoleTable);
         if (existingRoleTable == null) {
+            invalidate(newRoleTable);
             return roleDao.insert(newRoleTable);
         }
         if (!ignoreIfDuplicate) {
@@ -38,6 +44,7 @@ public abstract class RoleService<RT extends IRoleTable<R>, R extends Role<RT>,
         if (roleTable.isAccepted() != isAccepted) {
             roleTable.setAccepted(isAccepted);
             roleTable = roleDao.update(roleTable);
+            invalidate(roleTable);
         }
         return roleTable;
     }
@@ -45,11 +52,20 @@ public abstract class RoleService<RT extends IRoleTable<R>, R extends Role<RT>,
     public void updateRoles(List<RT> roleTables) {
         for (RT rt : roleTables) {
             roleDao.update(rt);
+            invalidate(rt);
         }
     }
 
     public void deleteRole(RT roleTable) {
         roleDao.delete(roleTable);
+        invalidate(roleTable);
+    }
+
+    /**
+     * Called whenever a role is added, changed or removed
+     */
+    protected void invalidate(RT roleTable) {
+        permissionService.invalidate(roleTable.getUserId());
     }
 
     public RT getRole(long id) {
@@ -10,6 +10,7 @@ import io.papermc.hangar.model.db.projects.ProjectChannelTable;
 import io.papermc.hangar.model.internal.logs.LogAction;
 import io.papermc.hangar.model.internal.logs.contexts.ProjectContext;
 import io.papermc.hangar.model.internal.projects.HangarChannel;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -116,8 +117,8 @@ public class ChannelService extends HangarComponent {
         return projectChannelsDAO.getProjectChannel(channelId);
     }
 
-    public ProjectChannelTable getProjectChannelForVersion(long versionId) {
-        return projectChannelsDAO.getProjectChannelForVersion(versionId);
+    public List<Pair<Long, ProjectChannelTable>> getProjectChannelsForVersions(List<Long> versionIds) {
+        return projectChannelsDAO.getProjectChannelsForVersions(versionIds);
     }
 
     public ProjectChannelTable getFirstChannel(long projectId) {
@@ -0,0 +1,134 @@
+package io.papermc.hangar.service.internal.projects;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.papermc.hangar.config.hangar.HomepageConfig;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.projects.HangarProjectsDAO;
+import io.papermc.hangar.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces home_projects updates. Callers only mark a project as dirty, all projects marked within
+ * {@link HomepageConfig#getRefreshDelay()} are refreshed together on a background thread once the marking
+ * transaction has committed. The full reconciliation is guarded by an advisory lock so only one node runs it at a time.
+ */
+@Service
+public class HomeProjectsRefreshService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HomeProjectsRefreshService.class);
+
+    private final HangarProjectsDAO hangarProjectsDAO;
+    private final HomepageConfig config;
+    private final Set<Long> dirtyProjects = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final AtomicLong oldestDirtyMark = new AtomicLong();
+    private final AtomicLong lastReconcileDuration = new AtomicLong();
+    private final AtomicLong lastReconcile = new AtomicLong();
+    private final Timer projectRefreshTimer;
+    private final Timer reconcileTimer;
+
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public HomeProjectsRefreshService(HangarDao<HangarProjectsDAO> hangarProjectsDAO, HomepageConfig config, MeterRegistry meterRegistry) {
+        this.hangarProjectsDAO = hangarProjectsDAO.get();
+        this.config = config;
+        this.projectRefreshTimer = Timer.builder("hangar.homeprojects.refresh").tag("type", "projects").description("Duration of a coalesced home_projects refresh").register(meterRegistry);
+        this.reconcileTimer = Timer.builder("hangar.homeprojects.refresh").tag("type", "reconcile").description("Duration of a home_projects reconciliation").register(meterRegistry);
+        Gauge.builder("hangar.homeprojects.pending", dirtyProjects, Set::size).description("Projects waiting for their home_projects row to be refreshed").register(meterRegistry);
+        Gauge.builder("hangar.homeprojects.staleness", this, s -> s.getStaleness().toMillis() / 1000.0).baseUnit("seconds").description("Age of the oldest pending home_projects change").register(meterRegistry);
+        Gauge.builder("hangar.homeprojects.reconcile.duration", lastReconcileDuration, d -> d.get() / 1000.0).baseUnit("seconds").description("Duration of the last home_projects reconciliation run by this node").register(meterRegistry);
+        Gauge.builder("hangar.homeprojects.reconcile.age", lastReconcile, l -> l.get() == 0 ? Double.NaN : (System.currentTimeMillis() - l.get()) / 1000.0).baseUnit("seconds").description("Seconds since this node last reconciled home_projects").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startExecutor() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hangar-home-projects");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Marks the home_projects row of a project as outdated, the refresh happens asynchronously once the current transaction completed
+     */
+    public void markDirty(long projectId) {
+        TransactionUtils.afterCompletion(() -> enqueue(projectId));
+    }
+
+    private void enqueue(long projectId) {
+        oldestDirtyMark.compareAndSet(0, System.currentTimeMillis());
+        dirtyProjects.add(projectId);
+        if (refreshScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::refreshDirtyProjects, config.getRefreshDelay().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refreshDirtyProjects() {
+        refreshScheduled.set(false);
+        oldestDirtyMark.set(0);
+        List<Long> projectIds = new ArrayList<>(dirtyProjects);
+        dirtyProjects.removeAll(projectIds);
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        projectRefreshTimer.record(() -> {
+            for (long projectId : projectIds) {
+                try {
+                    // the search index of every node is updated through the home_projects notification
+                    hangarProjectsDAO.refreshHomeProject(projectId);
+                } catch (RuntimeException ex) {
+                    logger.error("Failed to refresh home_projects row of project {}", projectId, ex);
+                }
+            }
+        });
+        logger.debug("Refreshed {} home_projects rows", projectIds.size());
+    }
+
+    /**
+     * Rewrites all outdated home_projects rows, unless another node is already doing so
+     */
+    public void reconcile() {
+        long start = System.nanoTime();
+        if (hangarProjectsDAO.reconcileHomeProjectsIfUnlocked()) {
+            long duration = System.nanoTime() - start;
+            reconcileTimer.record(duration, TimeUnit.NANOSECONDS);
+            lastReconcileDuration.set(TimeUnit.NANOSECONDS.toMillis(duration));
+            lastReconcile.set(System.currentTimeMillis());
+        } else {
+            logger.debug("Skipping home_projects reconciliation, another node holds the lock");
+        }
+    }
+
+    /**
+     * @return how long the oldest pending change has been waiting, zero if there is none
+     */
+    public Duration getStaleness() {
+        long mark = oldestDirtyMark.get();
+        return mark == 0 ? Duration.ZERO : Duration.ofMillis(System.currentTimeMillis() - mark);
+    }
+}
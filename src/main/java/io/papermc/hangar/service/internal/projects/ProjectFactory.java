@@ -78,7 +78,7 @@ public class ProjectFactory extends HangarComponent {
         }
 
         usersApiService.clearAuthorsCache();
-        projectService.refreshHomeProjects();
+        projectService.refreshHomeProject(projectTable.getId());
         return projectTable;
     }
 
@@ -93,7 +93,7 @@ public class ProjectFactory extends HangarComponent {
         projectsDAO.update(projectTable);
         actionLogger.project(LogAction.PROJECT_RENAMED.create(ProjectContext.of(projectTable.getId()), author + "/" + compactNewName, author + "/" + oldName));
         jobService.save(new UpdateDiscourseProjectTopicJob(projectTable.getId()));
-        projectService.refreshHomeProjects();
+        projectService.refreshHomeProject(projectTable.getId());
         return StringUtils.slugify(compactNewName);
     }
 
@@ -129,7 +129,6 @@ public class ProjectFactory extends HangarComponent {
         } else {
             jobService.save(new UpdateDiscourseProjectTopicJob(projectTable.getId()));
             projectVisibilityService.changeVisibility(projectTable, Visibility.SOFTDELETE, comment);
-            projectService.refreshHomeProjects();
         }
     }
 
@@ -138,6 +137,6 @@ public class ProjectFactory extends HangarComponent {
         FileUtils.deleteDirectory(projectFiles.getProjectDir(projectTable.getOwnerName(), projectTable.getName()));
         jobService.save(new DeleteDiscourseTopicJob(projectTable.getId()));
         projectsDAO.delete(projectTable);
-        projectService.refreshHomeProjects();
+        projectService.refreshHomeProject(projectTable.getId());
     }
 }
@@ -13,7 +13,10 @@ import io.papermc.hangar.model.internal.logs.LogAction;
 import io.papermc.hangar.model.internal.logs.contexts.PageContext;
 import io.papermc.hangar.model.internal.projects.ExtendedProjectPage;
 import io.papermc.hangar.model.internal.projects.HangarProjectPage;
+import io.papermc.hangar.service.internal.EntityCacheService;
 import io.papermc.hangar.service.internal.JobService;
+import io.papermc.hangar.service.internal.MarkdownService;
+import io.papermc.hangar.service.internal.SitemapService;
 import io.papermc.hangar.util.StringUtils;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.http.HttpStatus;
@@ -30,11 +33,17 @@ public class ProjectPageService extends HangarComponent {
     private final ProjectPagesDAO projectPagesDAO;
     private final HangarProjectPagesDAO hangarProjectPagesDAO;
     private final JobService jobService;
+    private final MarkdownService markdownService;
+    private final SitemapService sitemapService;
+    private final EntityCacheService entityCacheService;
 
-    public ProjectPageService(HangarDao<ProjectPagesDAO> projectPagesDAO, HangarDao<HangarProjectPagesDAO> hangarProjectPagesDAO, JobService jobService) {
+    public ProjectPageService(HangarDao<ProjectPagesDAO> projectPagesDAO, HangarDao<HangarProjectPagesDAO> hangarProjectPagesDAO, JobService jobService, MarkdownService markdownService, SitemapService sitemapService, EntityCacheService entityCacheService) {
         this.projectPagesDAO = projectPagesDAO.get();
         this.hangarProjectPagesDAO = hangarProjectPagesDAO.get();
         this.jobService = jobService;
+        this.markdownService = markdownService;
+        this.sitemapService = sitemapService;
+        this.entityCacheService = entityCacheService;
     }
 
     public void checkDuplicateName(long projectId, String slug, @Nullable Long parentId) {
@@ -68,10 +77,13 @@ public class ProjectPageService extends HangarComponent {
                 parentId
         );
         projectPageTable = projectPagesDAO.insert(projectPageTable);
+        markdownService.storeRendered(projectPageTable.getId(), contents);
         if (isHome) {
             projectPagesDAO.insertHomePage(new ProjectHomePageTable(projectPageTable.getProjectId(), projectPageTable.getId()));
             jobService.save(new UpdateDiscourseProjectTopicJob(projectId));
         }
+        sitemapService.invalidateProject(projectId);
+        entityCacheService.invalidate(projectId);
         actionLogger.projectPage(LogAction.PROJECT_PAGE_CREATED.create(PageContext.of(projectPageTable.getProjectId(), projectPageTable.getId()), contents, ""));
         return projectPageTable;
     }
@@ -143,6 +155,8 @@ public class ProjectPageService extends HangarComponent {
         String oldContent = pageTable.getContents();
         pageTable.setContents(newContents);
         projectPagesDAO.update(pageTable);
+        markdownService.storeRendered(pageId, newContents);
+        entityCacheService.invalidate(projectId);
         actionLogger.projectPage(LogAction.PROJECT_PAGE_EDITED.create(PageContext.of(projectId, pageId), newContents, oldContent));
     }
 
@@ -165,5 +179,7 @@ public class ProjectPageService extends HangarComponent {
         // Log must come first otherwise db error
         actionLogger.projectPage(LogAction.PROJECT_PAGE_DELETED.create(PageContext.of(projectId, pageId), "", pageTable.getContents()));
         projectPagesDAO.delete(pageTable);
+        sitemapService.invalidateProject(projectId);
+        entityCacheService.invalidate(projectId);
     }
 }
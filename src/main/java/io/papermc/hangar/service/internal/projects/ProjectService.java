@@ -27,6 +27,8 @@ import io.papermc.hangar.model.internal.projects.HangarProject;
 import io.papermc.hangar.model.internal.projects.HangarProject.HangarProjectInfo;
 import io.papermc.hangar.model.internal.projects.HangarProjectPage;
 import io.papermc.hangar.service.PermissionService;
+import io.papermc.hangar.service.internal.EntityCacheService;
+import io.papermc.hangar.service.internal.SitemapService;
 import io.papermc.hangar.service.internal.organizations.OrganizationService;
 import io.papermc.hangar.service.internal.perms.members.ProjectMemberService;
 import io.papermc.hangar.service.internal.perms.roles.ProjectRoleService;
@@ -74,9 +76,12 @@ public class ProjectService extends HangarComponent {
     private final ProjectRoleService projectRoleService;
     private final PermissionService permissionService;
     private final RecommendedVersionService recommendedVersionService;
+    private final HomeProjectsRefreshService homeProjectsRefreshService;
+    private final SitemapService sitemapService;
+    private final EntityCacheService entityCacheService;
 
     @Autowired
-    public ProjectService(HangarDao<ProjectsDAO> projectDAO, HangarDao<UserDAO> userDAO, HangarDao<HangarUsersDAO> hangarUsersDAO, HangarDao<HangarProjectsDAO> hangarProjectsDAO, ProjectVisibilityService projectVisibilityService, OrganizationService organizationService, ProjectPageService projectPageService, ProjectFiles projectFiles, NotificationService notificationService, ProjectInviteService projectInviteService, ProjectMemberService projectMemberService, ProjectRoleService projectRoleService, PermissionService permissionService, RecommendedVersionService recommendedVersionService) {
+    public ProjectService(HangarDao<ProjectsDAO> projectDAO, HangarDao<UserDAO> userDAO, HangarDao<HangarUsersDAO> hangarUsersDAO, HangarDao<HangarProjectsDAO> hangarProjectsDAO, ProjectVisibilityService projectVisibilityService, OrganizationService organizationService, ProjectPageService projectPageService, ProjectFiles projectFiles, NotificationService notificationService, ProjectInviteService projectInviteService, ProjectMemberService projectMemberService, ProjectRoleService projectRoleService, PermissionService permissionService, RecommendedVersionService recommendedVersionService, HomeProjectsRefreshService homeProjectsRefreshService, SitemapService sitemapService, EntityCacheService entityCacheService) {
         this.projectsDAO = projectDAO.get();
         this.userDAO = userDAO.get();
         this.hangarUsersDAO = hangarUsersDAO.get();
@@ -90,15 +95,18 @@ public class ProjectService extends HangarComponent {
         this.projectRoleService = projectRoleService;
         this.permissionService = permissionService;
         this.recommendedVersionService = recommendedVersionService;
+        this.homeProjectsRefreshService = homeProjectsRefreshService;
+        this.sitemapService = sitemapService;
+        this.entityCacheService = entityCacheService;
     }
 
     @Nullable
     public ProjectTable getProjectTable(@Nullable Long projectId) {
-        return getProjectTable(projectId, projectsDAO::getById);
+        return getProjectTable(projectId, entityCacheService::getProject);
     }
 
     public ProjectTable getProjectTable(@Nullable String author, @Nullable String slug) {
-        return getProjectTable(author, slug, projectsDAO::getBySlug);
+        return getProjectTable(author, slug, entityCacheService::getProject);
     }
 
     @Nullable
@@ -118,6 +126,13 @@ public class ProjectService extends HangarComponent {
     }
 
     public HangarProject getHangarProject(String author, String slug) {
+        if (getHangarUserId() == null) {
+            return entityCacheService.getAnonymousProject(author, slug, () -> loadHangarProject(author, slug));
+        }
+        return loadHangarProject(author, slug);
+    }
+
+    private HangarProject loadHangarProject(String author, String slug) {
         Pair<Long, Project> project = hangarProjectsDAO.getProject(author, slug, getHangarUserId());
         ProjectOwner projectOwner = getProjectOwner(author);
         var members = hangarProjectsDAO.getProjectMembers(project.getLeft(), getHangarUserId(), permissionService.getProjectPermissions(getHangarUserId(), project.getLeft()).has(Permission.EditProjectSettings));
@@ -158,7 +173,7 @@ public class ProjectService extends HangarComponent {
         projectTable.setDonationOnetimeAmounts(settingsForm.getSettings().getDonation().getOneTimeAmounts());
         projectTable.setDonationMonthlyAmounts(settingsForm.getSettings().getDonation().getMonthlyAmounts());
         projectsDAO.update(projectTable);
-        refreshHomeProjects();
+        refreshHomeProject(projectTable.getId());
         // TODO what settings changed
         actionLogger.project(LogAction.PROJECT_SETTINGS_CHANGED.create(ProjectContext.of(projectTable.getId()), "", ""));
     }
@@ -167,6 +182,7 @@ public class ProjectService extends HangarComponent {
         projectTable.setTopicId(topicId);
         projectTable.setPostId(postId);
         projectsDAO.update(projectTable);
+        entityCacheService.invalidate(projectTable.getId());
     }
 
     public void saveIcon(String author, String slug, MultipartFile icon) {
@@ -221,6 +237,7 @@ public class ProjectService extends HangarComponent {
         projectInviteService.sendInvites(errors, editMembersForm.getNewInvitees(), projectTable);
         projectMemberService.editMembers(errors, editMembersForm.getEditedMembers(), projectTable);
         projectMemberService.removeMembers(errors, editMembersForm.getDeletedMembers(), projectTable);
+        refreshHomeProject(projectTable.getId());
 
         if (!errors.isEmpty()) {
             throw new MultiHangarApiException(errors);
@@ -245,12 +262,20 @@ public class ProjectService extends HangarComponent {
         consumer.accept(member, projectRoleTable);
     }
 
-    public void refreshHomeProjects() {
-        hangarProjectsDAO.refreshHomeProjects();
+    /**
+     * Schedules a rebuild of the home_projects row and drops the cached rows and sitemaps of a single project, call this after anything shown in project listings changes
+     */
+    public void refreshHomeProject(long projectId) {
+        homeProjectsRefreshService.markDirty(projectId);
+        sitemapService.invalidateProject(projectId);
+        entityCacheService.invalidate(projectId);
     }
 
-    public List<UserTable> getProjectWatchers(long projectId) {
-        return projectsDAO.getProjectWatchers(projectId);
+    /**
+     * Rewrites every outdated home_projects row, this covers changes which aren't tracked per project, like stats
+     */
+    public void reconcileHomeProjects() {
+        homeProjectsRefreshService.reconcile();
     }
 
     @Nullable
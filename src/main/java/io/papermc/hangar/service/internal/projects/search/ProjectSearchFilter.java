@@ -0,0 +1,11 @@
+package io.papermc.hangar.service.internal.projects.search;
+
+import io.papermc.hangar.model.internal.projects.SearchableProject;
+
+/**
+ * A pagination filter that can also be applied to the search index. Searches using a filter without this are answered from the database.
+ */
+public interface ProjectSearchFilter {
+
+    boolean test(SearchableProject project);
+}
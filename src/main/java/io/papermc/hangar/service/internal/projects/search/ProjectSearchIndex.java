@@ -0,0 +1,341 @@
+package io.papermc.hangar.service.internal.projects.search;
+
+import io.papermc.hangar.model.api.project.ProjectSortingStrategy;
+import io.papermc.hangar.model.internal.projects.SearchableProject;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index over the name, description, keywords and owner of every project.
+ * Every query term has to match a word of the project, the last term also matches as a prefix while the user is still typing,
+ * and terms of 4 or more characters tolerate a typo (2 from 8 characters on).
+ */
+public class ProjectSearchIndex {
+
+    // the default ts_rank weights of the A to D labels used by home_projects.search_words
+    private static final float NAME_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 0.4f;
+    private static final float KEYWORD_WEIGHT = 0.2f;
+    private static final float OWNER_WEIGHT = 0.1f;
+
+    private static final float PREFIX_MATCH = 0.7f;
+    private static final float[] TYPO_MATCH = {1.0f, 0.5f, 0.25f};
+
+    private static final Instant HANGAR_EPOCH = Instant.ofEpochSecond(1609459200);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, SearchableProject> projects = new HashMap<>();
+    private Map<Long, Map<String, Float>> projectTerms = new HashMap<>();
+    private NavigableMap<String, Map<Long, Float>> terms = new TreeMap<>();
+
+    /**
+     * Replaces the whole index, the new index is built before searches are blocked
+     */
+    public void replaceAll(Collection<SearchableProject> newProjects) {
+        Map<Long, SearchableProject> projects = new HashMap<>();
+        Map<Long, Map<String, Float>> projectTerms = new HashMap<>();
+        NavigableMap<String, Map<Long, Float>> terms = new TreeMap<>();
+        for (SearchableProject project : newProjects) {
+            add(project, projects, projectTerms, terms);
+        }
+
+        lock.writeLock().lock();
+        try {
+            this.projects = projects;
+            this.projectTerms = projectTerms;
+            this.terms = terms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void update(SearchableProject project) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(project.getId());
+            add(project, projects, projectTerms, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long projectId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(projectId);
+            projects.remove(projectId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return projects.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param query the search query, all projects match if empty
+     * @param filter projects not matching are left out, they don't count towards the total either
+     * @param orderWithRelevance whether relevance to the query is multiplied with the sorting value
+     * @return the ids of the requested page and the number of all matching projects
+     */
+    public Result search(@Nullable String query, Predicate<SearchableProject> filter, ProjectSortingStrategy sort, boolean orderWithRelevance, long offset, long limit) {
+        List<String> queryTerms = query == null ? List.of() : tokenize(query, false);
+        boolean lastIsPrefix = query != null && !query.endsWith(" ");
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (int i = 0; i < queryTerms.size(); i++) {
+                Map<Long, Float> termScores = match(queryTerms.get(i), lastIsPrefix && i == queryTerms.size() - 1);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Float> termScoresFinal = termScores;
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScoresFinal.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            Collection<SearchableProject> candidates = scores == null ? projects.values() : scores.keySet().stream().map(projects::get).collect(Collectors.toList());
+            List<SearchableProject> matches = new ArrayList<>();
+            for (SearchableProject project : candidates) {
+                if (filter.test(project)) {
+                    matches.add(project);
+                }
+            }
+
+            Comparator<SearchableProject> comparator = comparator(sort);
+            if (orderWithRelevance && scores != null) {
+                Map<Long, Float> relevance = scores;
+                // unlike the sql ranking a project without stars or downloads isn't ranked at zero, ties are broken by relevance
+                comparator = Comparator.<SearchableProject>comparingDouble(project -> -(1 + popularity(sort, project)) * relevance.get(project.getId())).thenComparing(comparator);
+            }
+            matches.sort(comparator.thenComparingLong(SearchableProject::getId));
+
+            int from = (int) Math.min(offset, matches.size());
+            int to = (int) Math.min(from + limit, matches.size());
+            List<Long> page = matches.subList(from, to).stream().map(SearchableProject::getId).collect(Collectors.toList());
+            return new Result(page, matches.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> match(String term, boolean prefix) {
+        Map<Long, Float> scores = new HashMap<>();
+        Map<Long, Float> exact = terms.get(term);
+        if (exact != null) {
+            merge(scores, exact, 1);
+        }
+        if (prefix) {
+            for (Map<Long, Float> postings : terms.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+                merge(scores, postings, PREFIX_MATCH);
+            }
+        }
+        int maxTypos = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (maxTypos > 0) {
+            for (var entry : terms.entrySet()) {
+                String candidate = entry.getKey();
+                if (Math.abs(candidate.length() - term.length()) > maxTypos || candidate.equals(term)) {
+                    continue;
+                }
+                int distance = distance(term, candidate, maxTypos);
+                if (distance <= maxTypos) {
+                    merge(scores, entry.getValue(), TYPO_MATCH[distance]);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void merge(Map<Long, Float> scores, Map<Long, Float> postings, float quality) {
+        postings.forEach((id, weight) -> scores.merge(id, weight * quality, Math::max));
+    }
+
+    private void removeTerms(long projectId) {
+        Map<String, Float> oldTerms = projectTerms.remove(projectId);
+        if (oldTerms == null) {
+            return;
+        }
+        for (String term : oldTerms.keySet()) {
+            Map<Long, Float> postings = terms.get(term);
+            postings.remove(projectId);
+            if (postings.isEmpty()) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    private static void add(SearchableProject project, Map<Long, SearchableProject> projects, Map<Long, Map<String, Float>> projectTerms, NavigableMap<String, Map<Long, Float>> terms) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, project.getName(), NAME_WEIGHT);
+        addTerms(weights, project.getDescription(), DESCRIPTION_WEIGHT);
+        for (String keyword : project.getKeywords()) {
+            addTerms(weights, keyword, KEYWORD_WEIGHT);
+        }
+        addTerms(weights, project.getOwnerName(), OWNER_WEIGHT);
+
+        projects.put(project.getId(), project);
+        projectTerms.put(project.getId(), weights);
+        weights.forEach((term, weight) -> terms.computeIfAbsent(term, k -> new HashMap<>()).put(project.getId(), weight));
+    }
+
+    private static void addTerms(Map<String, Float> weights, @Nullable String text, float weight) {
+        for (String term : tokenize(text, true)) {
+            weights.merge(term, weight, Math::max);
+        }
+    }
+
+    /**
+     * Splits text into lower case words. Indexed text is also split on camel case, so "WorldEdit" can be found with "edit".
+     */
+    static List<String> tokenize(@Nullable String text, boolean splitCamelCase) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Set<String> seen = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                if (start == -1) {
+                    start = i;
+                }
+            } else if (start != -1) {
+                String word = text.substring(start, i);
+                addToken(tokens, seen, word);
+                if (splitCamelCase) {
+                    int partStart = 0;
+                    for (int j = 1; j < word.length(); j++) {
+                        if (Character.isLowerCase(word.charAt(j - 1)) && Character.isUpperCase(word.charAt(j))) {
+                            addToken(tokens, seen, word.substring(partStart, j));
+                            partStart = j;
+                        }
+                    }
+                    if (partStart > 0) {
+                        addToken(tokens, seen, word.substring(partStart));
+                    }
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, Set<String> seen, String token) {
+        String lowerCase = token.toLowerCase(Locale.ROOT);
+        if (seen.add(lowerCase)) {
+            tokens.add(lowerCase);
+        }
+    }
+
+    /**
+     * Edit distance counting a swap of neighbouring characters as one edit, stops early once it exceeds max
+     */
+    static int distance(String a, String b, int max) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static Comparator<SearchableProject> comparator(ProjectSortingStrategy sort) {
+        switch (sort) {
+            case STARS: return Comparator.comparingLong(SearchableProject::getStars).reversed().thenComparing(SearchableProject::getName);
+            case DOWNLOADS: return Comparator.comparingLong(SearchableProject::getDownloads).reversed();
+            case VIEWS: return Comparator.comparingLong(SearchableProject::getViews).reversed();
+            case NEWEST: return Comparator.comparing(SearchableProject::getCreatedAt).reversed();
+            case RECENT_DOWNLOADS: return Comparator.comparingLong(SearchableProject::getRecentViews).reversed();
+            case RECENT_VIEWS: return Comparator.comparingLong(SearchableProject::getRecentDownloads).reversed();
+            default: return Comparator.comparing(SearchableProject::getLastUpdated).reversed();
+        }
+    }
+
+    /**
+     * Same factors the sql search multiplies the rank with
+     */
+    private static double popularity(ProjectSortingStrategy sort, SearchableProject project) {
+        switch (sort) {
+            case STARS: return project.getStars();
+            case DOWNLOADS: return project.getDownloads() / 100.0;
+            case VIEWS: return project.getViews() / 200.0;
+            case NEWEST: return Math.max(0, sinceHangarEpoch(project.getCreatedAt()).toDays());
+            case UPDATED: return Math.max(0, sinceHangarEpoch(project.getLastUpdated()).toDays() / 7.0);
+            case RECENT_DOWNLOADS: return project.getRecentViews();
+            case RECENT_VIEWS: return project.getRecentDownloads();
+            default: return 0;
+        }
+    }
+
+    private static Duration sinceHangarEpoch(OffsetDateTime dateTime) {
+        return Duration.between(HANGAR_EPOCH, dateTime.toInstant());
+    }
+
+    public static class Result {
+
+        private final List<Long> projectIds;
+        private final long count;
+
+        public Result(List<Long> projectIds, long count) {
+            this.projectIds = projectIds;
+            this.count = count;
+        }
+
+        public List<Long> getProjectIds() {
+            return projectIds;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.papermc.hangar.service.internal.projects.search;
+
+import io.papermc.hangar.config.hangar.HomepageConfig;
+import io.papermc.hangar.controller.extras.pagination.Filter.FilterInstance;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.projects.ProjectSearchDAO;
+import io.papermc.hangar.model.api.project.ProjectSortingStrategy;
+import io.papermc.hangar.model.api.requests.RequestPagination;
+import io.papermc.hangar.model.common.projects.Visibility;
+import io.papermc.hangar.model.internal.projects.SearchableProject;
+import io.papermc.hangar.service.internal.projects.search.ProjectSearchIndex.Result;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Predicate;
+
+/**
+ * Answers project searches from the in memory {@link ProjectSearchIndex}. The index is rebuilt with every home_projects
+ * reconciliation and single projects are updated when their home_projects row changes on any node, as told by the
+ * {@link io.papermc.hangar.tasks.ProjectSearchListener}.
+ */
+@Service
+public class ProjectSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectSearchService.class);
+
+    private final ProjectSearchDAO projectSearchDAO;
+    private final HomepageConfig config;
+    private final ProjectSearchIndex index = new ProjectSearchIndex();
+
+    private volatile boolean ready;
+    private volatile boolean updatesReceived;
+
+    @Autowired
+    public ProjectSearchService(HangarDao<ProjectSearchDAO> projectSearchDAO, HomepageConfig config) {
+        this.projectSearchDAO = projectSearchDAO.get();
+        this.config = config;
+    }
+
+    public void rebuild() {
+        if (!config.isSearchIndex()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        index.replaceAll(projectSearchDAO.getSearchableProjects());
+        ready = true;
+        logger.debug("Rebuilt the project search index with {} projects in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Set by the {@link io.papermc.hangar.tasks.ProjectSearchListener}, changes on any node can be missed while false,
+     * so searches go to the database then. Once connected again the index is rebuilt to catch up
+     */
+    public void setUpdatesReceived(boolean updatesReceived) {
+        this.updatesReceived = updatesReceived;
+        if (updatesReceived) {
+            rebuild();
+        }
+    }
+
+    public void update(long projectId) {
+        if (!ready) {
+            return;
+        }
+        SearchableProject project = projectSearchDAO.getSearchableProject(projectId);
+        if (project == null) {
+            index.remove(projectId);
+        } else {
+            index.update(project);
+        }
+    }
+
+    /**
+     * @return false if the search has to go to the database, because the index isn't built or kept up to date yet or a filter or sorter isn't supported
+     */
+    public boolean canSearch(RequestPagination pagination) {
+        if (!ready || !updatesReceived || !config.isSearchIndex() || !pagination.getSorters().isEmpty()) {
+            return false;
+        }
+        for (FilterInstance filter : pagination.getFilters()) {
+            if (!(filter instanceof ProjectSearchFilter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Result search(@Nullable String query, ProjectSortingStrategy sort, boolean orderWithRelevance, RequestPagination pagination, boolean seeHidden, @Nullable Long requesterId) {
+        Predicate<SearchableProject> filter = project -> seeHidden || project.getVisibility() == Visibility.PUBLIC || (requesterId != null && project.getVisibility() != Visibility.SOFTDELETE && project.getProjectMembers().contains(requesterId));
+        for (FilterInstance filterInstance : pagination.getFilters()) {
+            filter = filter.and(((ProjectSearchFilter) filterInstance)::test);
+        }
+        return index.search(query, filter, sort, orderWithRelevance, pagination.getOffset(), pagination.getLimit());
+    }
+}
@@ -0,0 +1,81 @@
+package io.papermc.hangar.service.internal.uploads;
+
+import io.papermc.hangar.util.CryptoUtils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the MD5 and SHA-256 digests and the size of everything read through it, optionally copying the bytes to another stream
+ */
+public class DigestingInputStream extends FilterInputStream {
+
+    private final OutputStream copy;
+    private final MessageDigest md5;
+    private final MessageDigest sha256;
+    private long size;
+
+    public DigestingInputStream(InputStream in, OutputStream copy) {
+        super(in);
+        this.copy = copy;
+        try {
+            this.md5 = MessageDigest.getInstance("MD5");
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            md5.update((byte) b);
+            sha256.update((byte) b);
+            copy.write(b);
+            size++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (read > 0) {
+            md5.update(b, off, read);
+            sha256.update(b, off, read);
+            copy.write(b, off, read);
+            size += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // skipped bytes still have to be digested and copied
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        int read = read(buffer, 0, buffer.length);
+        return Math.max(read, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Reads the rest of the stream so the digests cover all of it
+     */
+    public FileDigests finish() throws IOException {
+        byte[] buffer = new byte[8192];
+        while (read(buffer, 0, buffer.length) != -1) {
+            // digesting
+        }
+        copy.flush();
+        return new FileDigests(CryptoUtils.bytesToHex(md5.digest()), CryptoUtils.bytesToHex(sha256.digest()), size);
+    }
+}
@@ -0,0 +1,166 @@
+package io.papermc.hangar.service.internal.uploads;
+
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.table.versions.blobs.FileBlobsDAO;
+import io.papermc.hangar.util.CryptoUtils;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content addressed storage for version files. Every file is stored once under its SHA-256 hash,
+ * versions point to their file through {@code project_version_blobs}.
+ */
+@Service
+public class FileBlobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileBlobService.class);
+
+    private final ProjectFiles projectFiles;
+    private final FileBlobsDAO fileBlobsDAO;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public FileBlobService(ProjectFiles projectFiles, HangarDao<FileBlobsDAO> fileBlobsDAO, TransactionTemplate transactionTemplate) {
+        this.projectFiles = projectFiles;
+        this.fileBlobsDAO = fileBlobsDAO.get();
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Copies a file into the store, unless a file with the same content is already stored
+     *
+     * @param source the file to store, left untouched
+     * @return the hash and size of the stored file
+     */
+    public StoredBlob store(Path source) throws IOException {
+        return store(source, hash(source));
+    }
+
+    /**
+     * Copies a file into the store, using a SHA-256 hash computed earlier
+     *
+     * @see #store(Path)
+     */
+    public StoredBlob store(Path source, String hash) throws IOException {
+        long size = Files.size(source);
+        fileBlobsDAO.upsert(hash, size);
+        Path blobPath = projectFiles.getBlobPath(hash);
+        boolean created = Files.notExists(blobPath);
+        if (created) {
+            Files.createDirectories(blobPath.getParent());
+            Path tmpPath = Files.createTempFile(blobPath.getParent(), hash, ".tmp");
+            try {
+                Files.copy(source, tmpPath, StandardCopyOption.REPLACE_EXISTING);
+                try {
+                    Files.move(tmpPath, blobPath, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmpPath, blobPath, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmpPath);
+            }
+        }
+        return new StoredBlob(hash, size, created);
+    }
+
+    public void link(long versionId, String hash) {
+        fileBlobsDAO.link(versionId, hash);
+    }
+
+    /**
+     * @return the stored file of the version, null if the version hasn't been moved to the store yet
+     */
+    @Nullable
+    public Path getVersionFile(long versionId) {
+        String hash = fileBlobsDAO.getBlobHash(versionId);
+        return hash == null ? null : projectFiles.getBlobPath(hash);
+    }
+
+    /**
+     * Removes files that no version has pointed to for a day. The grace period keeps a file alive
+     * while a version that is being published links to it.
+     * Every file is deleted before the deletion of its row commits. {@link #store} upserts the row first, so it either
+     * refreshes the row before and the file is kept, or waits for the row lock and finds the file gone.
+     */
+    public void deleteOrphans() {
+        int deleted = 0;
+        for (String hash : fileBlobsDAO.getOrphans()) {
+            Boolean orphanDeleted = transactionTemplate.execute(status -> {
+                if (!fileBlobsDAO.deleteOrphan(hash)) {
+                    // linked again since
+                    return false;
+                }
+                try {
+                    Files.deleteIfExists(projectFiles.getBlobPath(hash));
+                    return true;
+                } catch (IOException e) {
+                    logger.warn("Could not delete blob {}", hash, e);
+                    status.setRollbackOnly();
+                    return false;
+                }
+            });
+            if (Boolean.TRUE.equals(orphanDeleted)) {
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Deleted {} orphaned blobs", deleted);
+        }
+    }
+
+    public static String hash(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(path), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return CryptoUtils.bytesToHex(digest.digest());
+    }
+
+    public static class StoredBlob {
+
+        private final String hash;
+        private final long size;
+        private final boolean created;
+
+        public StoredBlob(String hash, long size, boolean created) {
+            this.hash = hash;
+            this.size = size;
+            this.created = created;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return false if a file with the same content was already stored
+         */
+        public boolean isCreated() {
+            return created;
+        }
+    }
+}
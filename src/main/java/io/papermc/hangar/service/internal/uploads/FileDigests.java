@@ -0,0 +1,79 @@
+package io.papermc.hangar.service.internal.uploads;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Digests and size of an uploaded file, computed while it was received. They are kept next to the temporary
+ * file so publishing can verify the file without reading it again.
+ */
+public class FileDigests {
+
+    private final String md5;
+    private final String sha256;
+    private final long size;
+
+    public FileDigests(String md5, String sha256, long size) {
+        this.md5 = md5;
+        this.sha256 = sha256;
+        this.size = size;
+    }
+
+    public String getMd5() {
+        return md5;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void write(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("md5", md5);
+        properties.setProperty("sha256", sha256);
+        properties.setProperty("size", String.valueOf(size));
+        try (OutputStream outputStream = Files.newOutputStream(getPath(file))) {
+            properties.store(outputStream, null);
+        }
+    }
+
+    @Nullable
+    public static FileDigests read(Path file) throws IOException {
+        Path path = getPath(file);
+        if (Files.notExists(path)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            properties.load(inputStream);
+        }
+        return new FileDigests(properties.getProperty("md5"), properties.getProperty("sha256"), Long.parseLong(properties.getProperty("size")));
+    }
+
+    public static void delete(Path file) throws IOException {
+        Files.deleteIfExists(getPath(file));
+    }
+
+    private static Path getPath(Path file) {
+        return file.resolveSibling(file.getFileName() + ".digests");
+    }
+
+    @Override
+    public String toString() {
+        return "FileDigests{" +
+                "md5='" + md5 + '\'' +
+                ", sha256='" + sha256 + '\'' +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,104 @@
+package io.papermc.hangar.service.internal.uploads;
+
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.table.versions.blobs.FileBlobsDAO;
+import io.papermc.hangar.model.internal.api.responses.BlobMigrationReport;
+import io.papermc.hangar.model.internal.versions.LegacyVersionFile;
+import io.papermc.hangar.service.internal.uploads.FileBlobService.StoredBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves version files from the old {@code plugins/<owner>/<project>/versions/<version>/<platform>} layout into the blob store
+ */
+@Service
+public class LegacyFileMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyFileMigrationService.class);
+
+    private final FileBlobsDAO fileBlobsDAO;
+    private final FileBlobService fileBlobService;
+    private final ProjectFiles projectFiles;
+
+    @Autowired
+    public LegacyFileMigrationService(HangarDao<FileBlobsDAO> fileBlobsDAO, FileBlobService fileBlobService, ProjectFiles projectFiles) {
+        this.fileBlobsDAO = fileBlobsDAO.get();
+        this.fileBlobService = fileBlobService;
+        this.projectFiles = projectFiles;
+    }
+
+    public BlobMigrationReport migrate() {
+        Map<Long, List<LegacyVersionFile>> versions = new LinkedHashMap<>();
+        for (LegacyVersionFile file : fileBlobsDAO.getLegacyVersionFiles()) {
+            versions.computeIfAbsent(file.getVersionId(), k -> new ArrayList<>()).add(file);
+        }
+
+        BlobMigrationReport report = new BlobMigrationReport();
+        for (var entry : versions.entrySet()) {
+            try {
+                migrateVersion(entry.getKey(), entry.getValue(), report);
+            } catch (IOException e) {
+                logger.error("Could not move the files of version {} to the blob store", entry.getKey(), e);
+                report.addFailed();
+            }
+        }
+        logger.info("Finished moving version files to the blob store: {}", report);
+        return report;
+    }
+
+    private void migrateVersion(long versionId, List<LegacyVersionFile> platformFiles, BlobMigrationReport report) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        for (LegacyVersionFile file : platformFiles) {
+            Path path = projectFiles.getVersionDir(file.getOwnerName(), file.getProjectName(), file.getVersionString(), file.getPlatform()).resolve(file.getFileName());
+            if (Files.exists(path)) {
+                paths.add(path);
+            }
+        }
+        if (paths.isEmpty()) {
+            report.addMissing();
+            return;
+        }
+
+        String hash = FileBlobService.hash(paths.get(0));
+        for (Path path : paths.subList(1, paths.size())) {
+            if (!hash.equals(FileBlobService.hash(path))) {
+                // the platforms were always uploaded from the same jar. A version can only link one blob, so one
+                // platform would get the other's file, leave the version on the legacy layout for an admin to sort out
+                logger.error("Version {} has different files per platform, not moving {}", versionId, paths);
+                report.addConflicting(versionId);
+                return;
+            }
+        }
+
+        StoredBlob blob = fileBlobService.store(paths.get(0), hash);
+        fileBlobService.link(versionId, blob.getHash());
+
+        long bytesBefore = 0;
+        for (Path path : paths) {
+            bytesBefore += Files.size(path);
+            Files.delete(path);
+            deleteIfEmpty(path.getParent());
+            deleteIfEmpty(path.getParent().getParent());
+        }
+        report.addMigrated(paths.size(), bytesBefore, blob.isCreated() ? blob.getSize() : 0);
+    }
+
+    private static void deleteIfEmpty(Path dir) throws IOException {
+        try {
+            Files.deleteIfExists(dir);
+        } catch (DirectoryNotEmptyException ignored) {
+            // other platforms or files are still in there
+        }
+    }
+}
@@ -20,12 +20,14 @@ public class ProjectFiles {
 
     private final Path pluginsDir;
     private final Path tmpDir;
+    private final Path blobsDir;
 
     @Autowired
     public ProjectFiles(HangarConfig hangarConfig) {
         Path uploadsDir = Path.of(hangarConfig.getPluginUploadDir());
         pluginsDir = uploadsDir.resolve("plugins");
         tmpDir = uploadsDir.resolve("tmp");
+        blobsDir = uploadsDir.resolve("blobs");
         logger.info("Init work dir {} ", uploadsDir);
     }
 
@@ -83,6 +85,14 @@ public class ProjectFiles {
         return tmpDir.resolve(owner);
     }
 
+    public Path getBlobsDir() {
+        return blobsDir;
+    }
+
+    public Path getBlobPath(String hash) {
+        return blobsDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
     private Path findFirstFile(Path dir) {
         if (Files.exists(dir)) {
             try (Stream<Path> pathStream = Files.list(dir)) {
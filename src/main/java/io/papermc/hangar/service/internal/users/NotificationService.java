@@ -5,11 +5,13 @@ import io.papermc.hangar.db.dao.HangarDao;
 import io.papermc.hangar.db.dao.internal.HangarNotificationsDAO;
 import io.papermc.hangar.db.dao.internal.table.NotificationsDAO;
 import io.papermc.hangar.db.dao.internal.table.projects.ProjectsDAO;
+import io.papermc.hangar.db.dao.internal.table.versions.ProjectVersionsDAO;
 import io.papermc.hangar.model.common.Permission;
 import io.papermc.hangar.model.db.NotificationTable;
-import io.papermc.hangar.model.db.UserTable;
 import io.papermc.hangar.model.db.projects.ProjectTable;
 import io.papermc.hangar.model.db.versions.ProjectVersionTable;
+import io.papermc.hangar.model.internal.job.JobException;
+import io.papermc.hangar.model.internal.job.NotifyProjectWatchersJob;
 import io.papermc.hangar.model.internal.user.notifications.HangarNotification;
 import io.papermc.hangar.model.internal.user.notifications.NotificationType;
 import io.papermc.hangar.service.PermissionService;
@@ -21,15 +23,19 @@ import java.util.List;
 @Service
 public class NotificationService extends HangarComponent {
 
+    private static final int WATCHER_CHUNK_SIZE = 1000;
+
     private final NotificationsDAO notificationsDAO;
     private final HangarNotificationsDAO hangarNotificationsDAO;
     private final ProjectsDAO projectsDAO;
+    private final ProjectVersionsDAO projectVersionsDAO;
     private final PermissionService permissionService;
 
-    public NotificationService(HangarDao<NotificationsDAO> notificationsDAO, HangarDao<HangarNotificationsDAO> hangarNotificationsDAO, HangarDao<ProjectsDAO> projectsDAO, PermissionService permissionService) {
+    public NotificationService(HangarDao<NotificationsDAO> notificationsDAO, HangarDao<HangarNotificationsDAO> hangarNotificationsDAO, HangarDao<ProjectsDAO> projectsDAO, HangarDao<ProjectVersionsDAO> projectVersionsDAO, PermissionService permissionService) {
         this.notificationsDAO = notificationsDAO.get();
         this.hangarNotificationsDAO = hangarNotificationsDAO.get();
         this.projectsDAO = projectsDAO.get();
+        this.projectVersionsDAO = projectVersionsDAO.get();
         this.permissionService = permissionService;
     }
 
@@ -41,17 +47,25 @@ public class NotificationService extends HangarComponent {
         return notificationsDAO.markAsRead(notificationId, getHangarPrincipal().getId());
     }
 
-    public void notifyUsersNewVersion(ProjectTable projectTable, ProjectVersionTable projectVersionTable, List<UserTable> projectWatchers) {
-        List<NotificationTable> notificationTables = new ArrayList<>();
-        for (UserTable projectWatcher : projectWatchers) {
-            notificationTables.add(new NotificationTable(
-                    projectWatcher.getId(),
-                    projectTable.getOwnerName() + "/" + projectTable.getSlug(),
-                    projectTable.getId(),
-                    new String[]{"notifications.project.newVersion", projectTable.getName(), projectVersionTable.getVersionString()}, NotificationType.NEUTRAL)
-            );
+    /**
+     * Notifies all watchers of the project of a new version, in chunks of {@value #WATCHER_CHUNK_SIZE} watchers.
+     * Each chunk is committed on its own together with the progress of the job.
+     */
+    public void notifyProjectWatchers(long jobId, NotifyProjectWatchersJob job) {
+        ProjectVersionTable projectVersionTable = projectVersionsDAO.getProjectVersionTable(job.getVersionId());
+        if (projectVersionTable == null) {
+            throw new JobException("No such version '" + job.getVersionId() + "'?", "version_not_found");
+        }
+        ProjectTable projectTable = projectsDAO.getById(projectVersionTable.getProjectId());
+        if (projectTable == null) {
+            throw new JobException("No such project '" + projectVersionTable.getProjectId() + "'?", "project_not_found");
+        }
+        String[] messageArgs = {"notifications.project.newVersion", projectTable.getName(), projectVersionTable.getVersionString()};
+        String action = projectTable.getOwnerName() + "/" + projectTable.getSlug();
+        Long lastUserId = job.getLastUserId();
+        while ((lastUserId = notificationsDAO.insertWatcherNotifications(jobId, projectTable.getId(), lastUserId, WATCHER_CHUNK_SIZE, NotificationType.NEUTRAL, action, projectTable.getOwnerId(), messageArgs)) != null) {
+            logger.debug("Notified watchers of {} about {} up to user {}", action, projectVersionTable.getVersionString(), lastUserId);
         }
-        notificationsDAO.insert(notificationTables);
     }
 
     public void notifyUsersVersionReviewed(ProjectVersionTable projectVersionTable, boolean partial) {
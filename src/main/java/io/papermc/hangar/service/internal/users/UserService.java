@@ -13,6 +13,7 @@ import io.papermc.hangar.model.internal.logs.contexts.UserContext;
 import io.papermc.hangar.model.internal.sso.AuthUser;
 import io.papermc.hangar.model.internal.sso.SsoSyncData;
 import io.papermc.hangar.service.internal.perms.roles.GlobalRoleService;
+import io.papermc.hangar.service.internal.projects.HomeProjectsRefreshService;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,12 +28,14 @@ public class UserService extends HangarComponent {
 
     private final UserDAO userDAO;
     private final HangarUsersDAO hangarUsersDAO;
+    private final HomeProjectsRefreshService homeProjectsRefreshService;
     private final GlobalRoleService globalRoleService;
 
     @Autowired
-    public UserService(HangarDao<UserDAO> userDAO, HangarDao<HangarUsersDAO> hangarUsersDAO, GlobalRoleService globalRoleService) {
+    public UserService(HangarDao<UserDAO> userDAO, HangarDao<HangarUsersDAO> hangarUsersDAO, GlobalRoleService globalRoleService, HomeProjectsRefreshService homeProjectsRefreshService) {
         this.userDAO = userDAO.get();
         this.hangarUsersDAO = hangarUsersDAO.get();
+        this.homeProjectsRefreshService = homeProjectsRefreshService;
         this.globalRoleService = globalRoleService;
     }
 
@@ -56,6 +59,7 @@ public class UserService extends HangarComponent {
         } else {
             hangarUsersDAO.setNotWatching(projectId, getHangarPrincipal().getUserId());
         }
+        homeProjectsRefreshService.markDirty(projectId);
     }
 
     public void toggleStarred(long projectId, boolean state) {
@@ -64,6 +68,7 @@ public class UserService extends HangarComponent {
         } else {
             hangarUsersDAO.setNotStarred(projectId, getHangarPrincipal().getUserId());
         }
+        homeProjectsRefreshService.markDirty(projectId);
     }
 
     public void markPromptRead(Prompt prompt) {
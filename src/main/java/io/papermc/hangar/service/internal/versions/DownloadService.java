@@ -2,8 +2,6 @@ package io.papermc.hangar.service.internal.versions;
 
 import io.papermc.hangar.HangarComponent;
 import io.papermc.hangar.db.dao.HangarDao;
-import io.papermc.hangar.db.dao.internal.table.projects.ProjectsDAO;
-import io.papermc.hangar.db.dao.internal.table.versions.ProjectVersionsDAO;
 import io.papermc.hangar.db.dao.internal.table.versions.downloads.ProjectVersionDownloadWarningsDAO;
 import io.papermc.hangar.db.dao.internal.table.versions.downloads.ProjectVersionUnsafeDownloadsDAO;
 import io.papermc.hangar.exceptions.HangarApiException;
@@ -13,19 +11,18 @@ import io.papermc.hangar.model.db.projects.ProjectTable;
 import io.papermc.hangar.model.db.versions.ProjectVersionTable;
 import io.papermc.hangar.model.db.versions.downloads.ProjectVersionDownloadWarningTable;
 import io.papermc.hangar.model.db.versions.downloads.ProjectVersionUnsafeDownloadTable;
+import io.papermc.hangar.service.internal.EntityCacheService;
 import io.papermc.hangar.service.internal.admin.StatService;
+import io.papermc.hangar.service.internal.uploads.FileBlobService;
 import io.papermc.hangar.service.internal.uploads.ProjectFiles;
 import io.papermc.hangar.util.RequestUtil;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.WebUtils;
 
 import java.net.InetAddress;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
@@ -37,24 +34,26 @@ import javax.servlet.http.Cookie;
 public class DownloadService extends HangarComponent {
 
     private final StatService statService;
+    private final FileServingService fileServingService;
     private final ProjectFiles projectFiles;
-    private final ProjectsDAO projectsDAO;
-    private final ProjectVersionsDAO projectVersionsDAO;
+    private final FileBlobService fileBlobService;
+    private final EntityCacheService entityCacheService;
     private final ProjectVersionUnsafeDownloadsDAO projectVersionUnsafeDownloadsDAO;
     private final ProjectVersionDownloadWarningsDAO projectVersionDownloadWarningsDAO;
 
     @Autowired
-    public DownloadService(StatService statService, ProjectFiles projectFiles, HangarDao<ProjectsDAO> projectsDAO, HangarDao<ProjectVersionsDAO> projectVersionsDAO, HangarDao<ProjectVersionUnsafeDownloadsDAO> projectVersionUnsafeDownloadsDAO, HangarDao<ProjectVersionDownloadWarningsDAO> projectVersionDownloadWarningsDAO) {
+    public DownloadService(StatService statService, FileServingService fileServingService, ProjectFiles projectFiles, FileBlobService fileBlobService, EntityCacheService entityCacheService, HangarDao<ProjectVersionUnsafeDownloadsDAO> projectVersionUnsafeDownloadsDAO, HangarDao<ProjectVersionDownloadWarningsDAO> projectVersionDownloadWarningsDAO) {
         this.statService = statService;
+        this.fileServingService = fileServingService;
         this.projectFiles = projectFiles;
-        this.projectsDAO = projectsDAO.get();
-        this.projectVersionsDAO = projectVersionsDAO.get();
+        this.fileBlobService = fileBlobService;
+        this.entityCacheService = entityCacheService;
         this.projectVersionUnsafeDownloadsDAO = projectVersionUnsafeDownloadsDAO.get();
         this.projectVersionDownloadWarningsDAO = projectVersionDownloadWarningsDAO.get();
     }
 
     public String createConfirmationToken(String author, String slug, String versionString, Platform platform) {
-        ProjectVersionTable pvt = projectVersionsDAO.getProjectVersionTable(author, slug, versionString, platform);
+        ProjectVersionTable pvt = entityCacheService.getVersion(author, slug, versionString, platform);
         InetAddress remoteInetAddress = RequestUtil.getRemoteInetAddress(request);
         // check for exisiting token
         ProjectVersionDownloadWarningTable warning = projectVersionDownloadWarningsDAO.findWarning(remoteInetAddress, pvt.getId());
@@ -77,8 +76,12 @@ public class DownloadService extends HangarComponent {
         return token.toString();
     }
 
-    public FileSystemResource getVersionFile(String author, String slug, String versionString, Platform platform, boolean checkConfirmation, @Nullable String token) {
-        ProjectVersionTable pvt = projectVersionsDAO.getProjectVersionTable(author, slug, versionString, platform);
+    /**
+     * Writes the version file to the response, supports conditional and range requests.
+     * Only responses starting at the first byte count as a download.
+     */
+    public void sendVersionFile(String author, String slug, String versionString, Platform platform, boolean checkConfirmation, @Nullable String token) {
+        ProjectVersionTable pvt = entityCacheService.getVersion(author, slug, versionString, platform);
         if (pvt == null) {
             throw new HangarApiException(HttpStatus.NOT_FOUND);
         }
@@ -86,12 +89,6 @@ public class DownloadService extends HangarComponent {
             throw new HangarApiException("Couldn't find a file for that version");
         }
 
-        ProjectTable project = projectsDAO.getById(pvt.getProjectId());
-        Path path = projectFiles.getVersionDir(project.getOwnerName(), project.getName(), versionString, platform).resolve(pvt.getFileName());
-        if (Files.notExists(path)) {
-            throw new HangarApiException("Couldn't find a file for that version");
-        }
-
         if (requiresConfirmation(pvt)) {
             if (checkConfirmation) {
                 // find cookie
@@ -105,13 +102,23 @@ public class DownloadService extends HangarComponent {
             }
         }
 
-        statService.addVersionDownload(pvt);
-        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + pvt.getFileName() + "\"");
-        return new FileSystemResource(path);
+        if (fileServingService.checkNotModified(pvt.getHash(), pvt.getCreatedAt())) {
+            return;
+        }
+
+        Path path = fileBlobService.getVersionFile(pvt.getId());
+        if (path == null) {
+            // not moved to the blob store yet
+            ProjectTable project = entityCacheService.getProject(pvt.getProjectId());
+            path = projectFiles.getVersionDir(project.getOwnerName(), project.getName(), versionString, platform).resolve(pvt.getFileName());
+        }
+        if (fileServingService.sendFile(path, pvt.getFileName(), pvt.getHash())) {
+            statService.addVersionDownload(pvt);
+        }
     }
 
     public boolean requiresConfirmation(String author, String slug, String versionString, Platform platform) {
-        ProjectVersionTable pvt = projectVersionsDAO.getProjectVersionTable(author, slug, versionString, platform);
+        ProjectVersionTable pvt = entityCacheService.getVersion(author, slug, versionString, platform);
         if (pvt == null) {
             throw new HangarApiException(HttpStatus.NOT_FOUND);
         }
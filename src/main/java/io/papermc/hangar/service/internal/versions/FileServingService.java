@@ -0,0 +1,166 @@
+package io.papermc.hangar.service.internal.versions;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.papermc.hangar.HangarComponent;
+import io.papermc.hangar.exceptions.HangarApiException;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.ServletOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes files straight to the response. Bodies are sent with {@link FileChannel#transferTo} (sendfile when running on undertow),
+ * single byte ranges are answered with 206 and conditional requests are answered from the given metadata without opening the file.
+ */
+@Service
+public class FileServingService extends HangarComponent {
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public FileServingService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Checks If-None-Match and If-Modified-Since, and sets the 304 response if the client has the current file
+     *
+     * @param hash the hash of the file, used as the ETag
+     * @param lastModified when the file was created
+     * @return true if the request was answered with 304
+     */
+    public boolean checkNotModified(@Nullable String hash, OffsetDateTime lastModified) {
+        boolean notModified = new ServletWebRequest(request, response).checkNotModified(hash == null ? null : quote(hash), lastModified.toInstant().toEpochMilli());
+        if (notModified) {
+            record(HttpStatus.NOT_MODIFIED, "none", 0, 0);
+        }
+        return notModified;
+    }
+
+    /**
+     * Sends the whole file or the requested byte range
+     *
+     * @return true if the response starts at the beginning of the file
+     */
+    public boolean sendFile(Path path, String fileName, @Nullable String hash) {
+        long start = System.nanoTime();
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long position = 0;
+            long count = length;
+            HttpStatus status = HttpStatus.OK;
+
+            HttpRange range = getRange(hash);
+            if (range != null) {
+                try {
+                    position = range.getRangeStart(length);
+                    count = range.getRangeEnd(length) - position + 1;
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    throw new HangarApiException(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+                }
+                status = HttpStatus.PARTIAL_CONTENT;
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + position + "-" + (position + count - 1) + "/" + length);
+            }
+
+            response.setStatus(status.value());
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(count);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+            String transfer = "none";
+            if (!HttpMethod.HEAD.matches(request.getMethod())) {
+                transfer = transfer(channel, position, count);
+            }
+            record(status, transfer, count, System.nanoTime() - start);
+            return position == 0;
+        } catch (NoSuchFileException e) {
+            throw new HangarApiException("Couldn't find a file for that version");
+        } catch (IOException e) {
+            // most likely the client went away
+            logger.debug("Failed to send {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    @Nullable
+    private HttpRange getRange(@Nullable String hash) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && (hash == null || !ifRange.equals(quote(hash)))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            // multiple ranges are rare for downloads, answering with the full file is allowed
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return how the file was sent, sendfile or a copy through the response stream
+     */
+    private String transfer(FileChannel channel, long position, long count) throws IOException {
+        OutputStream outputStream = response.getOutputStream();
+        ServletRequestContext context = ServletRequestContext.current();
+        if (context != null && position + count == channel.size()) {
+            // the response is wrapped by filters, e.g. spring security's header writer, which only add their headers
+            // once something passes through them. Flushing commits those, then the body goes around the wrappers
+            outputStream.flush();
+            ServletOutputStream undertowStream = context.getOriginalResponse().getOutputStream();
+            if (undertowStream instanceof ServletOutputStreamImpl) {
+                // undertow sends from the channel position to the end of the file using sendfile
+                channel.position(position);
+                ((ServletOutputStreamImpl) undertowStream).transferFrom(channel);
+                return "sendfile";
+            }
+        }
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long sent = 0;
+        while (sent < count) {
+            sent += channel.transferTo(position + sent, count - sent, target);
+        }
+        return "copy";
+    }
+
+    private void record(HttpStatus status, String transfer, long bytes, long nanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : "unknown";
+        Timer.builder("hangar.downloads").tag("endpoint", endpoint).tag("status", String.valueOf(status.value())).tag("transfer", transfer).description("Time spent sending files").register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("hangar.downloads.bytes").tag("endpoint", endpoint).baseUnit("bytes").description("Bytes sent per download").register(meterRegistry).record(bytes);
+    }
+
+    private static String quote(String hash) {
+        return "\"" + hash + "\"";
+    }
+}
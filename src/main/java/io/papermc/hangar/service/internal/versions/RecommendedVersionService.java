@@ -6,6 +6,7 @@ import io.papermc.hangar.db.dao.internal.table.versions.RecommendedProjectVersio
 import io.papermc.hangar.exceptions.HangarApiException;
 import io.papermc.hangar.model.common.Platform;
 import io.papermc.hangar.model.db.versions.RecommendedProjectVersionTable;
+import io.papermc.hangar.service.internal.EntityCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -16,15 +17,18 @@ import java.util.Map;
 public class RecommendedVersionService extends HangarComponent {
 
     private final RecommendedProjectVersionsDAO recommendedProjectVersionsDAO;
+    private final EntityCacheService entityCacheService;
 
     @Autowired
-    public RecommendedVersionService(HangarDao<RecommendedProjectVersionsDAO> recommendedProjectVersionsDAO) {
+    public RecommendedVersionService(HangarDao<RecommendedProjectVersionsDAO> recommendedProjectVersionsDAO, EntityCacheService entityCacheService) {
         this.recommendedProjectVersionsDAO = recommendedProjectVersionsDAO.get();
+        this.entityCacheService = entityCacheService;
     }
 
     public void setRecommendedVersion(long projectId, long versionId, Platform platform) {
         recommendedProjectVersionsDAO.delete(projectId, platform);
         recommendedProjectVersionsDAO.insert(new RecommendedProjectVersionTable(versionId, projectId, platform));
+        entityCacheService.invalidate(projectId);
     }
 
     public Map<Platform, String> getRecommendedVersions(long projectId) {
@@ -32,7 +36,7 @@ public class RecommendedVersionService extends HangarComponent {
     }
 
     public Map<Platform, String> getRecommendedVersions(String owner, String slug) {
-        return recommendedProjectVersionsDAO.getRecommendedVersions(owner, slug);
+        return entityCacheService.getRecommendedVersions(owner, slug);
     }
 
     public String fixVersionString(String author, String slug, String versionString, Platform platform) {
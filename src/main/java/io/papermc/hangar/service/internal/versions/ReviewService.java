@@ -18,6 +18,7 @@ import io.papermc.hangar.model.internal.logs.LogAction;
 import io.papermc.hangar.model.internal.logs.contexts.VersionContext;
 import io.papermc.hangar.model.internal.versions.HangarReview;
 import io.papermc.hangar.model.internal.versions.HangarReviewQueueEntry;
+import io.papermc.hangar.service.internal.EntityCacheService;
 import io.papermc.hangar.service.internal.users.NotificationService;
 import io.papermc.hangar.service.internal.visibility.ProjectVersionVisibilityService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,14 +40,16 @@ public class ReviewService extends HangarComponent {
     private final ProjectVersionsDAO projectVersionsDAO;
     private final ProjectVersionVisibilityService projectVersionVisibilityService;
     private final NotificationService notificationService;
+    private final EntityCacheService entityCacheService;
 
     @Autowired
-    public ReviewService(HangarDao<ProjectVersionReviewsDAO> projectVersionReviewsDAO, HangarDao<HangarReviewsDAO> hangarReviewsDAO, HangarDao<ProjectVersionsDAO> projectVersionsDAO, ProjectVersionVisibilityService projectVersionVisibilityService, NotificationService notificationService) {
+    public ReviewService(HangarDao<ProjectVersionReviewsDAO> projectVersionReviewsDAO, HangarDao<HangarReviewsDAO> hangarReviewsDAO, HangarDao<ProjectVersionsDAO> projectVersionsDAO, ProjectVersionVisibilityService projectVersionVisibilityService, NotificationService notificationService, EntityCacheService entityCacheService) {
         this.projectVersionReviewsDAO = projectVersionReviewsDAO.get();
         this.hangarReviewsDAO = hangarReviewsDAO.get();
         this.projectVersionsDAO = projectVersionsDAO.get();
         this.projectVersionVisibilityService = projectVersionVisibilityService;
         this.notificationService = notificationService;
+        this.entityCacheService = entityCacheService;
     }
 
     public List<HangarReview> getHangarReviews(long versionId) {
@@ -125,10 +128,12 @@ public class ReviewService extends HangarComponent {
                 projectVersionTable.setReviewerId(getHangarPrincipal().getUserId());
                 projectVersionTable.setApprovedAt(OffsetDateTime.now());
                 projectVersionTable = projectVersionsDAO.update(projectVersionTable);
+                entityCacheService.invalidate(projectVersionTable.getProjectId());
                 projectVersionVisibilityService.changeVisibility(projectVersionTable, Visibility.PUBLIC, "visibility.changes.version.reviewed");
             }
             else {
                 projectVersionsDAO.update(projectVersionTable);
+                entityCacheService.invalidate(projectVersionTable.getProjectId());
             }
         }
     }
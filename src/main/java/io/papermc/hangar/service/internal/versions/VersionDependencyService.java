@@ -13,7 +13,6 @@ import io.papermc.hangar.model.api.color.TagColor;
 import io.papermc.hangar.model.api.project.version.PluginDependency;
 import io.papermc.hangar.model.api.project.version.Tag;
 import io.papermc.hangar.model.api.project.version.Version;
-import io.papermc.hangar.model.common.Platform;
 import io.papermc.hangar.model.db.PlatformVersionTable;
 import io.papermc.hangar.model.db.projects.ProjectChannelTable;
 import io.papermc.hangar.model.db.projects.ProjectTable;
@@ -24,11 +23,15 @@ import io.papermc.hangar.model.internal.api.requests.versions.UpdatePlatformVers
 import io.papermc.hangar.model.internal.api.requests.versions.UpdatePluginDependencies;
 import io.papermc.hangar.model.internal.logs.LogAction;
 import io.papermc.hangar.model.internal.logs.contexts.VersionContext;
+import io.papermc.hangar.model.internal.versions.VersionPlatformDependency;
+import io.papermc.hangar.model.internal.versions.VersionPluginDependency;
 import io.papermc.hangar.service.internal.projects.ChannelService;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -68,19 +71,34 @@ public class VersionDependencyService extends HangarComponent {
     }
 
     public <T extends Version> T addDependenciesAndTags(Long versionId, T version) {
-        version.getPlatformDependencies().putAll(versionsApiDAO.getPlatformDependencies(versionId));
-        for (Platform platform : Platform.getValues()) {
-            Set<PluginDependency> pluginDependencySet = versionsApiDAO.getPluginDependencies(versionId, platform);
-            if (!pluginDependencySet.isEmpty()) {
-                version.getPluginDependencies().put(platform, pluginDependencySet);
-            }
-        }
-        version.getTags().addAll(versionsApiDAO.getVersionTags(versionId));
-        ProjectChannelTable projectChannelTable = channelService.getProjectChannelForVersion(versionId);
-        version.getTags().add(new Tag("Channel", projectChannelTable.getName(), new TagColor(null, projectChannelTable.getColor().getHex())));
+        addDependenciesAndTags(Map.of(versionId, version));
         return version;
     }
 
+    /**
+     * Loads the dependencies, tags and channels of all versions with a fixed number of queries, independent of the number of versions
+     *
+     * @param versions the versions to fill, by version id
+     */
+    public void addDependenciesAndTags(Map<Long, ? extends Version> versions) {
+        if (versions.isEmpty()) {
+            return;
+        }
+        List<Long> versionIds = new ArrayList<>(versions.keySet());
+        for (VersionPlatformDependency platformDependency : versionsApiDAO.getPlatformDependencies(versionIds)) {
+            versions.get(platformDependency.getVersionId()).getPlatformDependencies().put(platformDependency.getPlatform(), platformDependency.getVersions());
+        }
+        for (VersionPluginDependency pluginDependency : versionsApiDAO.getPluginDependencies(versionIds)) {
+            versions.get(pluginDependency.getVersionId()).getPluginDependencies().computeIfAbsent(pluginDependency.getPlatform(), platform -> new HashSet<>()).add(pluginDependency.getDependency());
+        }
+        for (Pair<Long, Tag> tag : versionsApiDAO.getVersionTags(versionIds)) {
+            versions.get(tag.getLeft()).getTags().add(tag.getRight());
+        }
+        for (Pair<Long, ProjectChannelTable> channel : channelService.getProjectChannelsForVersions(versionIds)) {
+            versions.get(channel.getLeft()).getTags().add(new Tag("Channel", channel.getRight().getName(), new TagColor(null, channel.getRight().getColor().getHex())));
+        }
+    }
+
     @Transactional
     public void updateVersionPlatformVersions(long projectId, long versionId, UpdatePlatformVersions form) {
         Map<String, ProjectVersionPlatformDependencyTable> platformDependencyTables = projectVersionPlatformDependenciesDAO.getPlatformVersions(versionId, form.getPlatform());
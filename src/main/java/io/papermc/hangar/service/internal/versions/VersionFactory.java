@@ -19,6 +19,7 @@ import io.papermc.hangar.model.db.versions.ProjectVersionTable;
 import io.papermc.hangar.model.db.versions.ProjectVersionTagTable;
 import io.papermc.hangar.model.db.versions.dependencies.ProjectVersionDependencyTable;
 import io.papermc.hangar.model.db.versions.dependencies.ProjectVersionPlatformDependencyTable;
+import io.papermc.hangar.model.internal.job.NotifyProjectWatchersJob;
 import io.papermc.hangar.model.internal.job.UpdateDiscourseProjectTopicJob;
 import io.papermc.hangar.model.internal.job.UpdateDiscourseVersionPostJob;
 import io.papermc.hangar.model.internal.logs.LogAction;
@@ -29,12 +30,13 @@ import io.papermc.hangar.service.internal.JobService;
 import io.papermc.hangar.service.internal.PlatformService;
 import io.papermc.hangar.service.internal.projects.ChannelService;
 import io.papermc.hangar.service.internal.projects.ProjectService;
+import io.papermc.hangar.service.internal.uploads.FileBlobService;
+import io.papermc.hangar.service.internal.uploads.FileDigests;
+import io.papermc.hangar.service.internal.uploads.FileBlobService.StoredBlob;
 import io.papermc.hangar.service.internal.uploads.ProjectFiles;
-import io.papermc.hangar.service.internal.users.NotificationService;
 import io.papermc.hangar.service.internal.versions.plugindata.PluginDataService;
 import io.papermc.hangar.service.internal.versions.plugindata.PluginFileWithData;
 import io.papermc.hangar.service.internal.visibility.ProjectVisibilityService;
-import io.papermc.hangar.util.CryptoUtils;
 import io.papermc.hangar.util.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -42,9 +44,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
@@ -64,31 +66,31 @@ public class VersionFactory extends HangarComponent {
     private final ProjectVersionsDAO projectVersionsDAO;
     private final VersionsApiDAO versionsApiDAO;
     private final ProjectFiles projectFiles;
+    private final FileBlobService fileBlobService;
     private final PluginDataService pluginDataService;
     private final ChannelService channelService;
     private final ProjectVisibilityService projectVisibilityService;
     private final RecommendedVersionService recommendedVersionService;
     private final ProjectService projectService;
-    private final NotificationService notificationService;
     private final VersionTagService versionTagService;
     private final PlatformService platformService;
     private final UsersApiService usersApiService;
     private final JobService jobService;
 
     @Autowired
-    public VersionFactory(HangarDao<ProjectVersionPlatformDependenciesDAO> projectVersionPlatformDependencyDAO, HangarDao<ProjectVersionDependenciesDAO> projectVersionDependencyDAO, HangarDao<PlatformVersionDAO> platformVersionDAO, HangarDao<ProjectVersionsDAO> projectVersionDAO, HangarDao<VersionsApiDAO> versionsApiDAO, ProjectFiles projectFiles, PluginDataService pluginDataService, ChannelService channelService, ProjectVisibilityService projectVisibilityService, RecommendedVersionService recommendedVersionService, ProjectService projectService, NotificationService notificationService, VersionTagService versionTagService, PlatformService platformService, UsersApiService usersApiService, JobService jobService) {
+    public VersionFactory(HangarDao<ProjectVersionPlatformDependenciesDAO> projectVersionPlatformDependencyDAO, HangarDao<ProjectVersionDependenciesDAO> projectVersionDependencyDAO, HangarDao<PlatformVersionDAO> platformVersionDAO, HangarDao<ProjectVersionsDAO> projectVersionDAO, HangarDao<VersionsApiDAO> versionsApiDAO, ProjectFiles projectFiles, FileBlobService fileBlobService, PluginDataService pluginDataService, ChannelService channelService, ProjectVisibilityService projectVisibilityService, RecommendedVersionService recommendedVersionService, ProjectService projectService, VersionTagService versionTagService, PlatformService platformService, UsersApiService usersApiService, JobService jobService) {
         this.projectVersionPlatformDependenciesDAO = projectVersionPlatformDependencyDAO.get();
         this.projectVersionDependenciesDAO = projectVersionDependencyDAO.get();
         this.platformVersionDAO = platformVersionDAO.get();
         this.projectVersionsDAO = projectVersionDAO.get();
         this.versionsApiDAO = versionsApiDAO.get();
         this.projectFiles = projectFiles;
+        this.fileBlobService = fileBlobService;
         this.pluginDataService = pluginDataService;
         this.channelService = channelService;
         this.projectVisibilityService = projectVisibilityService;
         this.recommendedVersionService = recommendedVersionService;
         this.projectService = projectService;
-        this.notificationService = notificationService;
         this.versionTagService = versionTagService;
         this.platformService = platformService;
         this.usersApiService = usersApiService;
@@ -111,8 +113,10 @@ public class VersionFactory extends HangarComponent {
             }
 
             Path tmpPluginFile = tmpDir.resolve(pluginFileName);
-            file.transferTo(tmpPluginFile);
-            pluginDataFile = pluginDataService.loadMeta(tmpPluginFile, getHangarPrincipal().getUserId());
+            try (InputStream inputStream = file.getInputStream()) {
+                pluginDataFile = pluginDataService.loadMeta(tmpPluginFile, inputStream, getHangarPrincipal().getUserId());
+            }
+            pluginDataFile.getDigests().write(tmpPluginFile);
         } catch (IOException e) {
             logger.error("Error while uploading {} for {}", pluginFileName, getHangarPrincipal().getName(), e);
             throw new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.unexpected");
@@ -133,7 +137,7 @@ public class VersionFactory extends HangarComponent {
                 pluginDataFile.getData().getDependencies(),
                 pluginDataFile.getData().getPlatformDependencies(),
                 pluginDataFile.getData().getDescription(),
-                new FileInfo(pluginDataFile.getPath().getFileName().toString(), pluginDataFile.getPath().toFile().length(), pluginDataFile.getMd5()),
+                new FileInfo(pluginDataFile.getPath().getFileName().toString(), pluginDataFile.getDigests().getSize(), pluginDataFile.getMd5()),
                 projectChannelTable,
                 projectTable.isForumSync()
         );
@@ -166,18 +170,21 @@ public class VersionFactory extends HangarComponent {
         final ProjectTable projectTable = projectService.getProjectTable(projectId);
         assert projectTable != null;
         Path tmpVersionJar = null;
-        if (pendingVersion.isFile()) { // verify file
+        FileDigests tmpVersionJarDigests = null;
+        if (pendingVersion.isFile()) { // verify file against the digests computed during the upload
             tmpVersionJar = projectFiles.getTempDir(getHangarPrincipal().getName()).resolve(pendingVersion.getFileInfo().getName());
             try {
-                if (Files.notExists(tmpVersionJar)) {
+                tmpVersionJarDigests = FileDigests.read(tmpVersionJar);
+                if (Files.notExists(tmpVersionJar) || tmpVersionJarDigests == null) {
                     throw new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.noFile");
-                } else if (tmpVersionJar.toFile().length() != pendingVersion.getFileInfo().getSizeBytes()) {
+                } else if (Files.size(tmpVersionJar) != pendingVersion.getFileInfo().getSizeBytes() || tmpVersionJarDigests.getSize() != pendingVersion.getFileInfo().getSizeBytes()) {
                     throw new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.mismatchedFileSize");
-                } else if (!Objects.equals(CryptoUtils.md5ToHex(Files.readAllBytes(tmpVersionJar)), pendingVersion.getFileInfo().getMd5Hash())) {
+                } else if (!Objects.equals(tmpVersionJarDigests.getMd5(), pendingVersion.getFileInfo().getMd5Hash())) {
                     throw new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.hashMismatch");
                 }
             } catch (IOException e) {
                 logger.error("Could not publish version for {}", getHangarPrincipal().getName(), e);
+                throw new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.unexpected");
             }
         } else if (exists(projectId, pendingVersion.getVersionString(), pendingVersion.getPlatformDependencies().keySet())) {
             throw new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.duplicateNameAndPlatform");
@@ -248,22 +255,14 @@ public class VersionFactory extends HangarComponent {
                 versionTagService.addUnstableTag(projectVersionTable.getId());
             }
 
-            notificationService.notifyUsersNewVersion(projectTable, projectVersionTable, projectService.getProjectWatchers(projectTable.getId()));
+            jobService.save(new NotifyProjectWatchersJob(projectVersionTable.getId()));
 
             if (tmpVersionJar != null) {
-                for (Platform platform : pendingVersion.getPlatformDependencies().keySet()) {
-                    if (pendingVersion.getPlatformDependencies().get(platform).isEmpty()) continue;
-                    Path newVersionJarPath = projectFiles.getVersionDir(projectTable.getOwnerName(), projectTable.getName(), pendingVersion.getVersionString(), platform).resolve(tmpVersionJar.getFileName());
-                    if (Files.notExists(newVersionJarPath)) {
-                        Files.createDirectories(newVersionJarPath.getParent());
-                    }
-
-                    Files.copy(tmpVersionJar, newVersionJarPath, StandardCopyOption.REPLACE_EXISTING);
-                    if (Files.notExists(newVersionJarPath)) {
-                        throw new IOException("Didn't successfully move the jar");
-                    }
-                }
+                // stored once for all platforms, identical jars share the same file
+                StoredBlob blob = fileBlobService.store(tmpVersionJar, tmpVersionJarDigests.getSha256());
+                fileBlobService.link(projectVersionTable.getId(), blob.getHash());
                 Files.deleteIfExists(tmpVersionJar);
+                FileDigests.delete(tmpVersionJar);
             }
 
             if (projectTable.getVisibility() == Visibility.NEW) {
@@ -283,7 +282,7 @@ public class VersionFactory extends HangarComponent {
                 jobService.save(new UpdateDiscourseVersionPostJob(projectVersionTable.getId()));
             }
 
-            projectService.refreshHomeProjects();
+            projectService.refreshHomeProject(projectId);
             usersApiService.clearAuthorsCache();
         } catch (IOException e) {
             logger.error("Unable to create version {} for {}", pendingVersion.getVersionString(), getHangarPrincipal().getName(), e);
@@ -13,6 +13,9 @@ import io.papermc.hangar.model.db.versions.ProjectVersionTable;
 import io.papermc.hangar.model.internal.logs.LogAction;
 import io.papermc.hangar.model.internal.logs.contexts.VersionContext;
 import io.papermc.hangar.model.internal.versions.HangarVersion;
+import io.papermc.hangar.service.internal.EntityCacheService;
+import io.papermc.hangar.service.internal.SitemapService;
+import io.papermc.hangar.service.internal.projects.HomeProjectsRefreshService;
 import io.papermc.hangar.service.internal.uploads.ProjectFiles;
 import io.papermc.hangar.service.internal.visibility.ProjectVersionVisibilityService;
 import io.papermc.hangar.service.internal.visibility.ProjectVisibilityService;
@@ -24,6 +27,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,15 +35,21 @@ public class VersionService extends HangarComponent {
 
     private final ProjectVersionsDAO projectVersionsDAO;
     private final HangarVersionsDAO hangarVersionsDAO;
+    private final HomeProjectsRefreshService homeProjectsRefreshService;
+    private final SitemapService sitemapService;
+    private final EntityCacheService entityCacheService;
     private final ProjectVisibilityService projectVisibilityService;
     private final ProjectVersionVisibilityService projectVersionVisibilityService;
     private final VersionDependencyService versionDependencyService;
     private final ProjectFiles projectFiles;
 
     @Autowired
-    public VersionService(HangarDao<ProjectVersionsDAO> projectVersionDAO, HangarDao<HangarVersionsDAO> hangarProjectsDAO, ProjectVisibilityService projectVisibilityService, ProjectVersionVisibilityService projectVersionVisibilityService, VersionDependencyService versionDependencyService, ProjectFiles projectFiles) {
+    public VersionService(HangarDao<ProjectVersionsDAO> projectVersionDAO, HangarDao<HangarVersionsDAO> hangarVersionsDAO, ProjectVisibilityService projectVisibilityService, ProjectVersionVisibilityService projectVersionVisibilityService, VersionDependencyService versionDependencyService, ProjectFiles projectFiles, HomeProjectsRefreshService homeProjectsRefreshService, SitemapService sitemapService, EntityCacheService entityCacheService) {
         this.projectVersionsDAO = projectVersionDAO.get();
-        this.hangarVersionsDAO = hangarProjectsDAO.get();
+        this.hangarVersionsDAO = hangarVersionsDAO.get();
+        this.homeProjectsRefreshService = homeProjectsRefreshService;
+        this.sitemapService = sitemapService;
+        this.entityCacheService = entityCacheService;
         this.projectVisibilityService = projectVisibilityService;
         this.projectVersionVisibilityService = projectVersionVisibilityService;
         this.versionDependencyService = versionDependencyService;
@@ -51,16 +61,17 @@ public class VersionService extends HangarComponent {
         if (versionId == null) {
             return null;
         }
-        return projectVersionVisibilityService.checkVisibility(projectVersionsDAO.getProjectVersionTable(versionId));
+        return projectVersionVisibilityService.checkVisibility(entityCacheService.getVersion(versionId));
     }
 
     @Nullable
     public ProjectVersionTable getProjectVersionTable(String author, String slug, String versionString, Platform platform) {
-        return projectVersionVisibilityService.checkVisibility(projectVersionsDAO.getProjectVersionTable(author, slug, versionString, platform));
+        return projectVersionVisibilityService.checkVisibility(entityCacheService.getVersion(author, slug, versionString, platform));
     }
 
     public void updateProjectVersionTable(ProjectVersionTable projectVersionTable) {
         projectVersionsDAO.update(projectVersionTable);
+        entityCacheService.invalidate(projectVersionTable.getProjectId());
     }
 
     public HangarVersion getHangarVersion(String author, String slug, String versionString, Platform platform) {
@@ -77,7 +88,8 @@ public class VersionService extends HangarComponent {
         if (versions.isEmpty()) {
             throw new HangarApiException(HttpStatus.NOT_FOUND);
         }
-        return versions.stream().map(v -> versionDependencyService.addDependenciesAndTags(v.getId(), v)).collect(Collectors.toList());
+        versionDependencyService.addDependenciesAndTags(versions.stream().collect(Collectors.toMap(HangarVersion::getId, Function.identity())));
+        return versions;
     }
 
     @Transactional
@@ -109,6 +121,9 @@ public class VersionService extends HangarComponent {
             FileUtils.deleteDirectory(projectFiles.getVersionDir(pt.getOwnerName(), pt.getName(), pvt.getVersionString(), platform));
         }
         projectVersionsDAO.delete(pvt);
+        homeProjectsRefreshService.markDirty(pt.getId());
+        sitemapService.invalidateProject(pt.getId());
+        entityCacheService.invalidate(pt.getId());
     }
 
     @Transactional
@@ -122,5 +137,6 @@ public class VersionService extends HangarComponent {
     public void saveDiscourseData(ProjectVersionTable version, long postId) {
         version.setPostId(postId);
         projectVersionsDAO.update(version);
+        entityCacheService.invalidate(version.getProjectId());
     }
 }
@@ -2,30 +2,47 @@ package io.papermc.hangar.service.internal.versions.plugindata;
 
 import io.papermc.hangar.exceptions.HangarApiException;
 import io.papermc.hangar.model.common.Platform;
+import io.papermc.hangar.service.internal.uploads.DigestingInputStream;
+import io.papermc.hangar.service.internal.uploads.FileDigests;
 import io.papermc.hangar.service.internal.versions.plugindata.handler.FileTypeHandler;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.EnumMap;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 
 @Service
 public class PluginDataService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PluginDataService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final Map<String, FileTypeHandler> fileTypeHandlers = new HashMap<>();
 
     @Autowired
@@ -37,47 +54,135 @@ public class PluginDataService {
 
     @NotNull
     public PluginFileWithData loadMeta(Path file, long userId) throws IOException {
-        try (JarInputStream jarInputStream = openJar(file)) {
+        FileDigests digests;
+        try (DigestingInputStream digestingInputStream = new DigestingInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE), OutputStream.nullOutputStream())) {
+            digests = digestingInputStream.finish();
+        }
+        return loadMeta(file, digests, userId);
+    }
 
-            Map<Platform, List<DataValue>> dataValueMap = new EnumMap<>(Platform.class);
+    /**
+     * Writes an upload to disk while computing its digests, then reads the plugin metadata from the written file
+     *
+     * @param target where to store the file, the extension decides whether it is read as a jar or a zip
+     * @param upload the uploaded file
+     */
+    @NotNull
+    public PluginFileWithData loadMeta(Path target, InputStream upload, long userId) throws IOException {
+        FileDigests digests;
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+            digests = new DigestingInputStream(new BufferedInputStream(upload, BUFFER_SIZE), outputStream).finish();
+        }
+        return loadMeta(target, digests, userId);
+    }
 
-            JarEntry jarEntry;
-            while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
-                FileTypeHandler fileTypeHandler = fileTypeHandlers.get(jarEntry.getName());
-                if (fileTypeHandler != null) {
-                    BufferedReader reader = new BufferedReader(new InputStreamReader(jarInputStream));
-                    dataValueMap.put(fileTypeHandler.getPlatform(), fileTypeHandler.getData(reader));
+    private PluginFileWithData loadMeta(Path file, FileDigests digests, long userId) throws IOException {
+        Map<Platform, List<DataValue>> dataValueMap;
+        try {
+            dataValueMap = readMeta(file);
+        } catch (ZipException e) {
+            logger.debug("Falling back to scanning {}: {}", file, e.getMessage());
+            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+                dataValueMap = readMeta(file, inputStream);
+            }
+        }
+
+        if (dataValueMap.isEmpty() ) {
+            throw new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.metaNotFound");
+        }
+        else {
+            dataValueMap.forEach((platform, dataValues) -> {
+                if (dataValues.size() == 1) { // 1 = only dep was found = useless
+                    throw new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.metaNotFound");
                 }
+            });
+            PluginFileWithData fileData = new PluginFileWithData(file, new PluginFileData(dataValueMap), userId, digests);
+            fileData.getData().validate();
+            return fileData;
+        }
+    }
+
+    /**
+     * Looks the descriptor files up in the central directory, only the descriptors are inflated
+     *
+     * @throws ZipException if the archive can't be read this way
+     */
+    private Map<Platform, List<DataValue>> readMeta(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ZipCentralDirectory directory = new ZipCentralDirectory(channel);
+            if (file.toString().endsWith(".jar")) {
+                return readDescriptors(directory);
             }
 
-            if (dataValueMap.isEmpty() ) {
-                throw new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.metaNotFound");
+            ZipCentralDirectory.Entry jarEntry = directory.getEntries().stream()
+                    .filter(entry -> !entry.isDirectory() && entry.getName().split("/").length == 1 && entry.getName().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.jarNotFound"));
+            if (jarEntry.getMethod() == ZipCentralDirectory.STORED) {
+                return readDescriptors(directory.openStored(jarEntry));
             }
-            else {
-                dataValueMap.forEach((platform, dataValues) -> {
-                    if (dataValues.size() == 1) { // 1 = only dep was found = useless
-                        throw new HangarApiException(HttpStatus.BAD_REQUEST, "version.new.error.metaNotFound");
-                    }
-                });
-                PluginFileWithData fileData = new PluginFileWithData(file, new PluginFileData(dataValueMap), userId);
-                fileData.getData().validate();
-                return fileData;
+            return readCompressedJar(file, jarEntry.getName());
+        }
+    }
+
+    private Map<Platform, List<DataValue>> readDescriptors(ZipCentralDirectory directory) throws IOException {
+        Map<Platform, List<DataValue>> dataValueMap = new EnumMap<>(Platform.class);
+        for (ZipCentralDirectory.Entry entry : directory.getEntries()) {
+            FileTypeHandler fileTypeHandler = fileTypeHandlers.get(entry.getName());
+            if (fileTypeHandler != null) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(directory.read(entry))));
+                dataValueMap.put(fileTypeHandler.getPlatform(), fileTypeHandler.getData(reader));
+            }
+        }
+        return dataValueMap;
+    }
+
+    /**
+     * A compressed jar inside a zip has to be inflated once to reach its central directory
+     */
+    private Map<Platform, List<DataValue>> readCompressedJar(Path file, String jarName) throws IOException {
+        Path tmpJar = Files.createTempFile(file.getParent(), "nested", ".jar");
+        try {
+            try (ZipFile zipFile = new ZipFile(file.toFile()); InputStream inputStream = zipFile.getInputStream(zipFile.getEntry(jarName))) {
+                Files.copy(inputStream, tmpJar, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (FileChannel channel = FileChannel.open(tmpJar, StandardOpenOption.READ)) {
+                return readDescriptors(new ZipCentralDirectory(channel));
             }
+        } finally {
+            Files.deleteIfExists(tmpJar);
         }
     }
 
-    public JarInputStream openJar(Path file) throws IOException {
+    /**
+     * Scans every entry of the archive, used for archives the central directory reader doesn't support
+     */
+    private Map<Platform, List<DataValue>> readMeta(Path file, InputStream inputStream) throws IOException {
+        JarInputStream jarInputStream = openJar(file, inputStream);
+
+        Map<Platform, List<DataValue>> dataValueMap = new EnumMap<>(Platform.class);
+
+        JarEntry jarEntry;
+        while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
+            FileTypeHandler fileTypeHandler = fileTypeHandlers.get(jarEntry.getName());
+            if (fileTypeHandler != null) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(jarInputStream));
+                dataValueMap.put(fileTypeHandler.getPlatform(), fileTypeHandler.getData(reader));
+            }
+        }
+        return dataValueMap;
+    }
+
+    private JarInputStream openJar(Path file, InputStream inputStream) throws IOException {
         if (file.toString().endsWith(".jar")) {
-            return new JarInputStream(Files.newInputStream(file));
+            return new JarInputStream(inputStream);
         } else {
-            ZipFile zipFile = new ZipFile(file.toFile()); // gets closed by closing the input stream?
-            Enumeration<? extends ZipEntry> entries = zipFile.entries();
-
-            while (entries.hasMoreElements()) {
-                ZipEntry zipEntry = entries.nextElement();
+            ZipInputStream zipInputStream = new ZipInputStream(inputStream);
+            ZipEntry zipEntry;
+            while ((zipEntry = zipInputStream.getNextEntry()) != null) {
                 String name = zipEntry.getName();
                 if (!zipEntry.isDirectory() && name.split("/").length == 1 && name.endsWith(".jar")) {
-                    return new JarInputStream(zipFile.getInputStream(zipEntry));
+                    return new JarInputStream(zipInputStream);
                 }
             }
 
@@ -1,20 +1,20 @@
 package io.papermc.hangar.service.internal.versions.plugindata;
 
-import io.papermc.hangar.util.CryptoUtils;
+import io.papermc.hangar.service.internal.uploads.FileDigests;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 public class PluginFileWithData {
     private final Path path;
     private final PluginFileData data;
     private final long userId;
+    private final FileDigests digests;
 
-    public PluginFileWithData(Path path, PluginFileData data, long userId) {
+    public PluginFileWithData(Path path, PluginFileData data, long userId, FileDigests digests) {
         this.path = path;
         this.data = data;
         this.userId = userId;
+        this.digests = digests;
     }
 
     public Path getPath() {
@@ -29,12 +29,11 @@ public class PluginFileWithData {
         return userId;
     }
 
+    public FileDigests getDigests() {
+        return digests;
+    }
+
     public String getMd5() {
-        try {
-            return CryptoUtils.md5ToHex(Files.readAllBytes(this.path));
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
+        return digests.getMd5();
     }
 }
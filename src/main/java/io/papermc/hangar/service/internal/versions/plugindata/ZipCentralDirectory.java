@@ -0,0 +1,216 @@
+package io.papermc.hangar.service.internal.versions.plugindata;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Reads single entries of a zip archive by looking them up in the central directory, without touching the other entries.
+ * The archive can be a region of a file, which is how a jar stored uncompressed inside a zip is read.
+ * Zip64 and encrypted archives aren't supported, a {@link ZipException} is thrown for them.
+ */
+class ZipCentralDirectory {
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int EOCD_LENGTH = 22;
+    private static final int CEN_SIGNATURE = 0x02014b50;
+    private static final int CEN_LENGTH = 46;
+    private static final int LOC_SIGNATURE = 0x04034b50;
+    private static final int LOC_LENGTH = 30;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int MAX_ENTRY_SIZE = 8 * 1024 * 1024;
+
+    static final int STORED = 0;
+    static final int DEFLATED = 8;
+
+    private final FileChannel channel;
+    private final long start;
+    private final long length;
+    private final List<Entry> entries;
+
+    ZipCentralDirectory(FileChannel channel) throws IOException {
+        this(channel, 0, channel.size());
+    }
+
+    private ZipCentralDirectory(FileChannel channel, long start, long length) throws IOException {
+        this.channel = channel;
+        this.start = start;
+        this.length = length;
+        this.entries = readEntries();
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Opens a zip stored uncompressed inside this one
+     */
+    ZipCentralDirectory openStored(Entry entry) throws IOException {
+        if (entry.method != STORED) {
+            throw new ZipException("Entry " + entry.name + " is compressed");
+        }
+        return new ZipCentralDirectory(channel, start + getDataOffset(entry), entry.compressedSize);
+    }
+
+    byte[] read(Entry entry) throws IOException {
+        if ((entry.flags & 1) != 0) {
+            throw new ZipException("Entry " + entry.name + " is encrypted");
+        }
+        if (entry.size > MAX_ENTRY_SIZE || entry.compressedSize > MAX_ENTRY_SIZE) {
+            throw new ZipException("Entry " + entry.name + " is too large");
+        }
+
+        long dataOffset = getDataOffset(entry);
+        if (entry.method == STORED) {
+            return read(dataOffset, (int) entry.compressedSize).array();
+        } else if (entry.method == DEFLATED) {
+            // the inflater needs an extra dummy byte when reading raw deflate data
+            byte[] compressed = new byte[(int) entry.compressedSize + 1];
+            read(dataOffset, (int) entry.compressedSize).get(compressed, 0, (int) entry.compressedSize);
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(compressed);
+                byte[] data = new byte[(int) entry.size];
+                int read = 0;
+                while (read < data.length && !inflater.finished()) {
+                    int inflated = inflater.inflate(data, read, data.length - read);
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    read += inflated;
+                }
+                if (read != data.length) {
+                    throw new ZipException("Entry " + entry.name + " is truncated");
+                }
+                return data;
+            } catch (DataFormatException e) {
+                throw new ZipException("Entry " + entry.name + " is corrupt: " + e.getMessage());
+            } finally {
+                inflater.end();
+            }
+        } else {
+            throw new ZipException("Entry " + entry.name + " uses unsupported compression method " + entry.method);
+        }
+    }
+
+    private List<Entry> readEntries() throws IOException {
+        int tailLength = (int) Math.min(length, EOCD_LENGTH + MAX_COMMENT_LENGTH);
+        if (tailLength < EOCD_LENGTH) {
+            throw new ZipException("Not a zip archive");
+        }
+        ByteBuffer tail = read(length - tailLength, tailLength);
+        int eocd = -1;
+        for (int i = tailLength - EOCD_LENGTH; i >= 0; i--) {
+            if (tail.getInt(i) == EOCD_SIGNATURE) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd == -1) {
+            throw new ZipException("End of central directory not found");
+        }
+
+        int count = Short.toUnsignedInt(tail.getShort(eocd + 10));
+        long directorySize = Integer.toUnsignedLong(tail.getInt(eocd + 12));
+        long directoryOffset = Integer.toUnsignedLong(tail.getInt(eocd + 16));
+        if (count == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+            throw new ZipException("Zip64 archives aren't supported");
+        }
+        if (directoryOffset + directorySize > length) {
+            throw new ZipException("Central directory is out of bounds");
+        }
+
+        ByteBuffer directory = read(directoryOffset, (int) directorySize);
+        List<Entry> entries = new ArrayList<>(count);
+        int position = 0;
+        for (int i = 0; i < count; i++) {
+            if (position + CEN_LENGTH > directorySize || directory.getInt(position) != CEN_SIGNATURE) {
+                throw new ZipException("Invalid central directory header");
+            }
+            int flags = Short.toUnsignedInt(directory.getShort(position + 8));
+            int method = Short.toUnsignedInt(directory.getShort(position + 10));
+            long compressedSize = Integer.toUnsignedLong(directory.getInt(position + 20));
+            long size = Integer.toUnsignedLong(directory.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(directory.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(directory.getShort(position + 32));
+            long localHeaderOffset = Integer.toUnsignedLong(directory.getInt(position + 42));
+            if (position + CEN_LENGTH + nameLength > directorySize) {
+                throw new ZipException("Invalid central directory header");
+            }
+
+            byte[] name = new byte[nameLength];
+            directory.position(position + CEN_LENGTH);
+            directory.get(name);
+            entries.add(new Entry(new String(name, StandardCharsets.UTF_8), flags, method, compressedSize, size, localHeaderOffset));
+            position += CEN_LENGTH + nameLength + extraLength + commentLength;
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    private long getDataOffset(Entry entry) throws IOException {
+        ByteBuffer header = read(entry.localHeaderOffset, LOC_LENGTH);
+        if (header.getInt(0) != LOC_SIGNATURE) {
+            throw new ZipException("Invalid local header for " + entry.name);
+        }
+        long dataOffset = entry.localHeaderOffset + LOC_LENGTH + Short.toUnsignedInt(header.getShort(26)) + Short.toUnsignedInt(header.getShort(28));
+        if (dataOffset + entry.compressedSize > length) {
+            throw new ZipException("Entry " + entry.name + " is out of bounds");
+        }
+        return dataOffset;
+    }
+
+    private ByteBuffer read(long offset, int count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(count).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + offset + buffer.position()) == -1) {
+                throw new ZipException("Unexpected end of archive");
+            }
+        }
+        return buffer.flip();
+    }
+
+    static class Entry {
+
+        private final String name;
+        private final int flags;
+        private final int method;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+
+        private Entry(String name, int flags, int method, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.flags = flags;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getMethod() {
+            return method;
+        }
+
+        long getCompressedSize() {
+            return compressedSize;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+}
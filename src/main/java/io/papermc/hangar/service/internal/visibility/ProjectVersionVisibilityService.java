@@ -8,8 +8,11 @@ import io.papermc.hangar.model.db.visibility.ProjectVersionVisibilityChangeTable
 import io.papermc.hangar.model.internal.job.UpdateDiscourseProjectTopicJob;
 import io.papermc.hangar.model.internal.logs.LogAction;
 import io.papermc.hangar.model.internal.logs.contexts.VersionContext;
+import io.papermc.hangar.service.internal.EntityCacheService;
 import io.papermc.hangar.service.internal.JobService;
+import io.papermc.hangar.service.internal.SitemapService;
 import io.papermc.hangar.service.internal.UserActionLogService;
+import io.papermc.hangar.service.internal.projects.HomeProjectsRefreshService;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -21,13 +24,19 @@ public class ProjectVersionVisibilityService extends VisibilityService<VersionCo
 
     private final ProjectVersionsDAO projectVersionsDAO;
     private final VisibilityDAO visibilityDAO;
+    private final HomeProjectsRefreshService homeProjectsRefreshService;
+    private final SitemapService sitemapService;
+    private final EntityCacheService entityCacheService;
     private final JobService jobService;
 
     @Autowired
-    public ProjectVersionVisibilityService(HangarDao<VisibilityDAO> visibilityDAO, HangarDao<ProjectVersionsDAO> projectVersionDAO, JobService jobService, UserActionLogService userActionLogService) {
+    public ProjectVersionVisibilityService(HangarDao<VisibilityDAO> visibilityDAO, HangarDao<ProjectVersionsDAO> projectVersionDAO, JobService jobService, UserActionLogService userActionLogService, HomeProjectsRefreshService homeProjectsRefreshService, SitemapService sitemapService, EntityCacheService entityCacheService) {
         super(ProjectVersionVisibilityChangeTable::new, LogAction.VERSION_VISIBILITY_CHANGED);
         this.visibilityDAO = visibilityDAO.get();
         this.projectVersionsDAO = projectVersionDAO.get();
+        this.homeProjectsRefreshService = homeProjectsRefreshService;
+        this.sitemapService = sitemapService;
+        this.entityCacheService = entityCacheService;
         this.jobService = jobService;
     }
 
@@ -55,6 +64,9 @@ public class ProjectVersionVisibilityService extends VisibilityService<VersionCo
     protected void postUpdate(@Nullable ProjectVersionTable model) {
         if (model != null) {
             jobService.save(new UpdateDiscourseProjectTopicJob(model.getProjectId()));
+            homeProjectsRefreshService.markDirty(model.getProjectId());
+            sitemapService.invalidateProject(model.getProjectId());
+            entityCacheService.invalidate(model.getProjectId());
         }
     }
 
@@ -1,7 +1,6 @@
 package io.papermc.hangar.service.internal.visibility;
 
 import io.papermc.hangar.db.dao.HangarDao;
-import io.papermc.hangar.db.dao.internal.projects.HangarProjectsDAO;
 import io.papermc.hangar.db.dao.internal.table.VisibilityDAO;
 import io.papermc.hangar.db.dao.internal.table.projects.ProjectsDAO;
 import io.papermc.hangar.model.db.projects.ProjectTable;
@@ -9,8 +8,11 @@ import io.papermc.hangar.model.db.visibility.ProjectVisibilityChangeTable;
 import io.papermc.hangar.model.internal.job.UpdateDiscourseProjectTopicJob;
 import io.papermc.hangar.model.internal.logs.LogAction;
 import io.papermc.hangar.model.internal.logs.contexts.ProjectContext;
+import io.papermc.hangar.service.internal.EntityCacheService;
 import io.papermc.hangar.service.internal.JobService;
+import io.papermc.hangar.service.internal.SitemapService;
 import io.papermc.hangar.service.internal.UserActionLogService;
+import io.papermc.hangar.service.internal.projects.HomeProjectsRefreshService;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -22,15 +24,19 @@ public class ProjectVisibilityService extends VisibilityService<ProjectContext,
 
     private final ProjectsDAO projectsDAO;
     private final VisibilityDAO visibilityDAO;
-    private final HangarProjectsDAO hangarProjectsDAO;
+    private final HomeProjectsRefreshService homeProjectsRefreshService;
+    private final SitemapService sitemapService;
+    private final EntityCacheService entityCacheService;
     private final JobService jobService;
 
     @Autowired
-    public ProjectVisibilityService(HangarDao<VisibilityDAO> visibilityDAO, HangarDao<ProjectsDAO> projectsDAO, HangarDao<HangarProjectsDAO> hangarProjectsDAO, JobService jobService, UserActionLogService userActionLogService) {
+    public ProjectVisibilityService(HangarDao<VisibilityDAO> visibilityDAO, HangarDao<ProjectsDAO> projectsDAO, JobService jobService, UserActionLogService userActionLogService, HomeProjectsRefreshService homeProjectsRefreshService, SitemapService sitemapService, EntityCacheService entityCacheService) {
         super(ProjectVisibilityChangeTable::new, LogAction.PROJECT_VISIBILITY_CHANGED);
         this.projectsDAO = projectsDAO.get();
         this.visibilityDAO = visibilityDAO.get();
-        this.hangarProjectsDAO = hangarProjectsDAO.get();
+        this.homeProjectsRefreshService = homeProjectsRefreshService;
+        this.sitemapService = sitemapService;
+        this.entityCacheService = entityCacheService;
         this.jobService = jobService;
     }
 
@@ -58,8 +64,10 @@ public class ProjectVisibilityService extends VisibilityService<ProjectContext,
     protected void postUpdate(@Nullable ProjectTable model) {
         if (model != null) {
             jobService.save(new UpdateDiscourseProjectTopicJob(model.getId()));
+            homeProjectsRefreshService.markDirty(model.getId());
+            sitemapService.invalidateProject(model.getId());
+            entityCacheService.invalidate(model.getId());
         }
-        hangarProjectsDAO.refreshHomeProjects();
     }
 
     @Override
@@ -0,0 +1,56 @@
+package io.papermc.hangar.tasks;
+
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.papermc.hangar.service.APIKeyService;
+
+/**
+ * Evicts api keys deleted on any node, the {@code api_keys_notify_delete} trigger sends the token identifier on {@value #CHANNEL}.
+ * Cached api key sessions are only trusted while this is connected.
+ */
+@Component
+public class ApiKeyRevocationListener extends PostgresNotificationListener {
+
+    private static final String CHANNEL = "hangar_api_keys";
+
+    private final APIKeyService apiKeyService;
+
+    @Autowired
+    public ApiKeyRevocationListener(APIKeyService apiKeyService, DataSourceProperties dataSourceProperties) {
+        super(CHANNEL, dataSourceProperties);
+        this.apiKeyService = apiKeyService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        startListening();
+    }
+
+    @Override
+    protected void connected() {
+        apiKeyService.setRevocationsReceived(true);
+    }
+
+    @Override
+    protected void disconnected() {
+        apiKeyService.setRevocationsReceived(false);
+    }
+
+    @Override
+    protected void received(PGNotification[] notifications) {
+        for (PGNotification notification : notifications) {
+            apiKeyService.evictApiKey(notification.getParameter());
+        }
+    }
+
+    @Override
+    protected long pollTimeout() {
+        // also how long a dead connection goes unnoticed
+        return 10_000;
+    }
+}
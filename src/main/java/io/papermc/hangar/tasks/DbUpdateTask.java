@@ -1,7 +1,10 @@
 package io.papermc.hangar.tasks;
 
+import io.papermc.hangar.service.PermissionService;
 import io.papermc.hangar.service.internal.admin.StatService;
 import io.papermc.hangar.service.internal.projects.ProjectService;
+import io.papermc.hangar.service.internal.projects.search.ProjectSearchService;
+import io.papermc.hangar.service.internal.uploads.FileBlobService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -11,16 +14,23 @@ public class DbUpdateTask {
 
     private final ProjectService projectService;
     private final StatService statService;
+    private final FileBlobService fileBlobService;
+    private final ProjectSearchService projectSearchService;
+    private final PermissionService permissionService;
 
     @Autowired
-    public DbUpdateTask(ProjectService projectService, StatService statService) {
+    public DbUpdateTask(ProjectService projectService, StatService statService, FileBlobService fileBlobService, ProjectSearchService projectSearchService, PermissionService permissionService) {
         this.projectService = projectService;
         this.statService = statService;
+        this.fileBlobService = fileBlobService;
+        this.projectSearchService = projectSearchService;
+        this.permissionService = permissionService;
     }
 
     @Scheduled(fixedRateString = "#{@hangarConfig.homepage.updateInterval.toMillis()}")
     public void refreshHomePage() {
-        projectService.refreshHomeProjects();
+        projectService.reconcileHomeProjects();
+        projectSearchService.rebuild();
     }
 
     @Scheduled(fixedRateString = "#{@hangarConfig.homepage.updateInterval.toMillis()}", initialDelay = 1000)
@@ -28,4 +38,14 @@ public class DbUpdateTask {
         statService.processProjectViews();
         statService.processVersionDownloads();
     }
+
+    @Scheduled(fixedRate = 1000 * 60 * 60, initialDelay = 1000 * 60)
+    public void deleteOrphanedBlobs() {
+        fileBlobService.deleteOrphans();
+    }
+
+    @Scheduled(fixedRate = 1000 * 60 * 60, initialDelay = 1000 * 60 * 5)
+    public void reconcileTrust() {
+        permissionService.reconcileTrust();
+    }
 }
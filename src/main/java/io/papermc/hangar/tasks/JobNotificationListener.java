@@ -0,0 +1,78 @@
+package io.papermc.hangar.tasks;
+
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import io.papermc.hangar.config.hangar.HangarConfig;
+import io.papermc.hangar.model.internal.job.JobType;
+import io.papermc.hangar.service.internal.JobService;
+
+/**
+ * Listens for new jobs on a dedicated connection, the {@code jobs_notify_insert} trigger sends the job type on {@value #CHANNEL}.
+ * Every check interval all job types are swept for jobs whose notification was missed or whose retry time has passed.
+ */
+@Component
+public class JobNotificationListener extends PostgresNotificationListener {
+
+    private static final String CHANNEL = "hangar_jobs";
+
+    private final JobService jobService;
+    private final HangarConfig config;
+
+    private long lastSweep;
+
+    @Autowired
+    public JobNotificationListener(JobService jobService, DataSourceProperties dataSourceProperties, HangarConfig config) {
+        super(CHANNEL, dataSourceProperties);
+        this.jobService = jobService;
+        this.config = config;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        startListening();
+    }
+
+    @Override
+    protected void connected() {
+        // catch up on jobs added while nobody was listening
+        sweep();
+    }
+
+    @Override
+    protected void received(PGNotification[] notifications) {
+        Set<JobType> jobTypes = EnumSet.noneOf(JobType.class);
+        for (PGNotification notification : notifications) {
+            try {
+                jobTypes.add(JobType.valueOf(notification.getParameter()));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Unknown job type in notification: {}", notification.getParameter());
+            }
+        }
+        jobTypes.forEach(jobService::onJobAvailable);
+    }
+
+    @Override
+    protected long pollTimeout() {
+        return config.jobs.getCheckInterval().toMillis() - (System.currentTimeMillis() - lastSweep);
+    }
+
+    @Override
+    protected void idle() {
+        if (System.currentTimeMillis() - lastSweep >= config.jobs.getCheckInterval().toMillis()) {
+            sweep();
+        }
+    }
+
+    private void sweep() {
+        jobService.checkAndProcess();
+        lastSweep = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,120 @@
+package io.papermc.hangar.tasks;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.annotation.PreDestroy;
+
+/**
+ * Listens on a postgres notification channel with a dedicated connection, reconnecting with a backoff when it fails.
+ * Notifications sent while disconnected are lost, so {@link #connected()} has to catch up on anything missed.
+ * The connection is validated whenever a wait ends without notifications, so a dead connection is noticed after at most
+ * {@link #pollTimeout()} and the validation timeout.
+ */
+public abstract class PostgresNotificationListener {
+
+    private static final long MAX_RECONNECT_DELAY = 60_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 10;
+
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final String channel;
+    private final DataSourceProperties dataSourceProperties;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    protected PostgresNotificationListener(String channel, DataSourceProperties dataSourceProperties) {
+        this.channel = channel;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    protected void startListening() {
+        running = true;
+        thread = new Thread(this::run, "hangar-listener-" + channel);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Called once the channel is listened on, before any notification is received
+     */
+    protected abstract void connected();
+
+    /**
+     * Called when the connection was lost, no notifications are received until {@link #connected()} is called again
+     */
+    protected void disconnected() {
+    }
+
+    /**
+     * @param notifications all notifications received since the last call, never empty
+     */
+    protected abstract void received(PGNotification[] notifications);
+
+    /**
+     * @return the longest time to wait for notifications before {@link #idle()} is called
+     */
+    protected abstract long pollTimeout();
+
+    /**
+     * Called after every wait for notifications
+     */
+    protected void idle() {
+    }
+
+    private void run() {
+        long reconnectDelay = 1000;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                reconnectDelay = 1000;
+                listen(connection);
+            } catch (SQLException | RuntimeException e) {
+                disconnected();
+                if (!running) {
+                    return;
+                }
+                logger.warn("Listener on {} failed, reconnecting in {} ms", channel, reconnectDelay, e);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interruptedException) {
+                    return;
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY);
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        connected();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications((int) Math.max(1, pollTimeout()));
+            if (notifications != null && notifications.length > 0) {
+                received(notifications);
+            } else if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                // a half open connection never fails while waiting, it just doesn't receive anything
+                throw new SQLException("Connection stopped responding");
+            }
+            idle();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.papermc.hangar.tasks;
+
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import io.papermc.hangar.config.hangar.HomepageConfig;
+import io.papermc.hangar.service.internal.projects.search.ProjectSearchService;
+
+/**
+ * Updates the search index with home_projects rows changed on any node, the {@code home_projects_notify_change} trigger
+ * sends the project id on {@value #CHANNEL}. The index is only searched while this is connected.
+ */
+@Component
+public class ProjectSearchListener extends PostgresNotificationListener {
+
+    private static final String CHANNEL = "hangar_home_projects";
+
+    private final ProjectSearchService projectSearchService;
+    private final HomepageConfig config;
+
+    @Autowired
+    public ProjectSearchListener(ProjectSearchService projectSearchService, DataSourceProperties dataSourceProperties, HomepageConfig config) {
+        super(CHANNEL, dataSourceProperties);
+        this.projectSearchService = projectSearchService;
+        this.config = config;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (config.isSearchIndex()) {
+            startListening();
+        }
+    }
+
+    @Override
+    protected void connected() {
+        projectSearchService.setUpdatesReceived(true);
+    }
+
+    @Override
+    protected void disconnected() {
+        projectSearchService.setUpdatesReceived(false);
+    }
+
+    @Override
+    protected void received(PGNotification[] notifications) {
+        // a reconciliation sends a notification per changed row, each project is only read once
+        Set<Long> projectIds = new LinkedHashSet<>();
+        for (PGNotification notification : notifications) {
+            try {
+                projectIds.add(Long.parseLong(notification.getParameter()));
+            } catch (NumberFormatException e) {
+                logger.warn("Unknown project id in notification: {}", notification.getParameter());
+            }
+        }
+        projectIds.forEach(projectSearchService::update);
+    }
+
+    @Override
+    protected long pollTimeout() {
+        // also how long a dead connection goes unnoticed
+        return 10_000;
+    }
+}
@@ -0,0 +1,36 @@
+package io.papermc.hangar.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtils {
+
+    private TransactionUtils() { }
+
+    /**
+     * Runs an action once the current transaction completed, committed or rolled back, or right away outside of one
+     */
+    public static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Evicts now and again once the current transaction completed, so that a request racing the change
+     * can't cache the old state in between. Also runs after rollbacks, the transaction may have cached its own changes
+     */
+    public static void evict(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCompletion(eviction);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- keyset pagination walks these in (created_at, id) order instead of sorting the whole table per page
+CREATE INDEX logged_actions_project_created_at_id_idx
+    ON logged_actions_project (created_at, id);
+
+CREATE INDEX logged_actions_version_created_at_id_idx
+    ON logged_actions_version (created_at, id);
+
+CREATE INDEX logged_actions_page_created_at_id_idx
+    ON logged_actions_page (created_at, id);
+
+CREATE INDEX logged_actions_user_created_at_id_idx
+    ON logged_actions_user (created_at, id);
+
+CREATE INDEX logged_actions_organization_created_at_id_idx
+    ON logged_actions_organization (created_at, id);
+
+CREATE INDEX project_versions_project_id_created_at_id_idx
+    ON project_versions (project_id, created_at, id);
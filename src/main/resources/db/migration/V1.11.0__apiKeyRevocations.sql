@@ -0,0 +1,16 @@
+-- tells every node to forget a deleted api key, delivered on commit
+CREATE FUNCTION notify_api_key_revoked() RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    PERFORM pg_notify('hangar_api_keys', old.token_identifier);
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER api_keys_notify_delete
+    AFTER DELETE
+    ON api_keys
+    FOR EACH ROW
+EXECUTE PROCEDURE notify_api_key_revoked();
@@ -0,0 +1,7 @@
+-- rendered html of the page contents, looked up by the hash the markdown renderer keys its cache with
+ALTER TABLE project_pages
+    ADD COLUMN rendered_hash bytea,
+    ADD COLUMN rendered_contents text;
+
+CREATE INDEX project_pages_rendered_hash_idx
+    ON project_pages (rendered_hash);
@@ -0,0 +1,226 @@
+-- the trust views stay the definition of a user's permissions, their old names become tables kept in sync
+-- by triggers on the role and member tables, so a permission lookup is a primary key read
+ALTER VIEW global_trust RENAME TO global_trust_source;
+ALTER VIEW project_trust RENAME TO project_trust_source;
+ALTER VIEW organization_trust RENAME TO organization_trust_source;
+
+-- no foreign keys, rows are removed by the triggers when the cascading member and role rows go away
+CREATE TABLE global_trust
+(
+    user_id bigint NOT NULL
+        CONSTRAINT global_trust_pkey
+            PRIMARY KEY,
+    permission bit(64) NOT NULL
+);
+
+CREATE TABLE project_trust
+(
+    project_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    permission bit(64) NOT NULL,
+    CONSTRAINT project_trust_pkey
+        PRIMARY KEY (project_id, user_id)
+);
+
+CREATE INDEX project_trust_user_id_idx
+    ON project_trust (user_id);
+
+CREATE TABLE organization_trust
+(
+    organization_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    permission bit(64) NOT NULL,
+    CONSTRAINT organization_trust_pkey
+        PRIMARY KEY (organization_id, user_id)
+);
+
+CREATE INDEX organization_trust_user_id_idx
+    ON organization_trust (user_id);
+
+INSERT INTO global_trust SELECT * FROM global_trust_source;
+INSERT INTO project_trust SELECT * FROM project_trust_source;
+INSERT INTO organization_trust SELECT * FROM organization_trust_source;
+
+CREATE FUNCTION refresh_global_trust(_user_id bigint) RETURNS void
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO global_trust
+        SELECT * FROM global_trust_source
+            WHERE user_id = _user_id
+    ON CONFLICT (user_id) DO UPDATE SET
+        permission = excluded.permission
+        WHERE global_trust.permission IS DISTINCT FROM excluded.permission;
+    DELETE FROM global_trust gt
+        WHERE gt.user_id = _user_id
+          AND NOT exists(SELECT 1 FROM global_trust_source s WHERE s.user_id = _user_id);
+END;
+$$;
+
+CREATE FUNCTION refresh_project_trust(_project_id bigint, _user_id bigint) RETURNS void
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO project_trust
+        SELECT * FROM project_trust_source
+            WHERE project_id = _project_id AND user_id = _user_id
+    ON CONFLICT (project_id, user_id) DO UPDATE SET
+        permission = excluded.permission
+        WHERE project_trust.permission IS DISTINCT FROM excluded.permission;
+    DELETE FROM project_trust pt
+        WHERE pt.project_id = _project_id AND pt.user_id = _user_id
+          AND NOT exists(SELECT 1 FROM project_trust_source s WHERE s.project_id = _project_id AND s.user_id = _user_id);
+END;
+$$;
+
+CREATE FUNCTION refresh_organization_trust(_organization_id bigint, _user_id bigint) RETURNS void
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO organization_trust
+        SELECT * FROM organization_trust_source
+            WHERE organization_id = _organization_id AND user_id = _user_id
+    ON CONFLICT (organization_id, user_id) DO UPDATE SET
+        permission = excluded.permission
+        WHERE organization_trust.permission IS DISTINCT FROM excluded.permission;
+    DELETE FROM organization_trust ot
+        WHERE ot.organization_id = _organization_id AND ot.user_id = _user_id
+          AND NOT exists(SELECT 1 FROM organization_trust_source s WHERE s.organization_id = _organization_id AND s.user_id = _user_id);
+END;
+$$;
+
+CREATE FUNCTION global_trust_trigger() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF tg_op IN ('UPDATE', 'DELETE') THEN
+        PERFORM refresh_global_trust(old.user_id);
+    END IF;
+    IF tg_op IN ('INSERT', 'UPDATE') THEN
+        PERFORM refresh_global_trust(new.user_id);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION project_trust_trigger() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF tg_op IN ('UPDATE', 'DELETE') THEN
+        PERFORM refresh_project_trust(old.project_id, old.user_id);
+    END IF;
+    IF tg_op IN ('INSERT', 'UPDATE') THEN
+        PERFORM refresh_project_trust(new.project_id, new.user_id);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION organization_trust_trigger() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF tg_op IN ('UPDATE', 'DELETE') THEN
+        PERFORM refresh_organization_trust(old.organization_id, old.user_id);
+    END IF;
+    IF tg_op IN ('INSERT', 'UPDATE') THEN
+        PERFORM refresh_organization_trust(new.organization_id, new.user_id);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER global_trust_roles
+    AFTER INSERT OR UPDATE OR DELETE
+    ON user_global_roles
+    FOR EACH ROW
+EXECUTE PROCEDURE global_trust_trigger();
+
+CREATE TRIGGER project_trust_roles
+    AFTER INSERT OR UPDATE OR DELETE
+    ON user_project_roles
+    FOR EACH ROW
+EXECUTE PROCEDURE project_trust_trigger();
+
+CREATE TRIGGER project_trust_members
+    AFTER INSERT OR UPDATE OR DELETE
+    ON project_members
+    FOR EACH ROW
+EXECUTE PROCEDURE project_trust_trigger();
+
+CREATE TRIGGER organization_trust_roles
+    AFTER INSERT OR UPDATE OR DELETE
+    ON user_organization_roles
+    FOR EACH ROW
+EXECUTE PROCEDURE organization_trust_trigger();
+
+CREATE TRIGGER organization_trust_members
+    AFTER INSERT OR UPDATE OR DELETE
+    ON organization_members
+    FOR EACH ROW
+EXECUTE PROCEDURE organization_trust_trigger();
+
+-- rewrites every stored row that differs from the views and returns how many were wrong
+CREATE FUNCTION reconcile_trust() RETURNS bigint
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    _fixed bigint := 0;
+    _rows bigint;
+BEGIN
+    INSERT INTO global_trust
+        SELECT * FROM global_trust_source
+    ON CONFLICT (user_id) DO UPDATE SET
+        permission = excluded.permission
+        WHERE global_trust.permission IS DISTINCT FROM excluded.permission;
+    GET DIAGNOSTICS _rows = ROW_COUNT;
+    _fixed := _fixed + _rows;
+    DELETE FROM global_trust gt
+        WHERE NOT exists(SELECT 1 FROM global_trust_source s WHERE s.user_id = gt.user_id);
+    GET DIAGNOSTICS _rows = ROW_COUNT;
+    _fixed := _fixed + _rows;
+
+    INSERT INTO project_trust
+        SELECT * FROM project_trust_source
+    ON CONFLICT (project_id, user_id) DO UPDATE SET
+        permission = excluded.permission
+        WHERE project_trust.permission IS DISTINCT FROM excluded.permission;
+    GET DIAGNOSTICS _rows = ROW_COUNT;
+    _fixed := _fixed + _rows;
+    DELETE FROM project_trust pt
+        WHERE NOT exists(SELECT 1 FROM project_trust_source s WHERE s.project_id = pt.project_id AND s.user_id = pt.user_id);
+    GET DIAGNOSTICS _rows = ROW_COUNT;
+    _fixed := _fixed + _rows;
+
+    INSERT INTO organization_trust
+        SELECT * FROM organization_trust_source
+    ON CONFLICT (organization_id, user_id) DO UPDATE SET
+        permission = excluded.permission
+        WHERE organization_trust.permission IS DISTINCT FROM excluded.permission;
+    GET DIAGNOSTICS _rows = ROW_COUNT;
+    _fixed := _fixed + _rows;
+    DELETE FROM organization_trust ot
+        WHERE NOT exists(SELECT 1 FROM organization_trust_source s WHERE s.organization_id = ot.organization_id AND s.user_id = ot.user_id);
+    GET DIAGNOSTICS _rows = ROW_COUNT;
+    _fixed := _fixed + _rows;
+
+    RETURN _fixed;
+END;
+$$;
+
+CREATE FUNCTION reconcile_trust_trigger() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    PERFORM reconcile_trust();
+    RETURN NULL;
+END;
+$$;
+
+-- a role's permissions changing affects everyone holding it
+CREATE TRIGGER trust_role_permissions
+    AFTER UPDATE OF permission
+    ON roles
+    FOR EACH STATEMENT
+EXECUTE PROCEDURE reconcile_trust_trigger();
@@ -0,0 +1,295 @@
+-- states above 1kb are stored once in logged_action_states and referenced by their sha256, many actions log
+-- the same large state (page contents, descriptions) before and after a change
+CREATE TABLE logged_action_states
+(
+    hash bytea NOT NULL
+        CONSTRAINT logged_action_states_pkey
+            PRIMARY KEY,
+    state text NOT NULL
+);
+
+CREATE FUNCTION compact_logged_action_states() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF octet_length(new.new_state) > 1024 THEN
+        new.new_state_hash := sha256(convert_to(new.new_state, 'UTF8'));
+        INSERT INTO logged_action_states VALUES (new.new_state_hash, new.new_state) ON CONFLICT DO NOTHING;
+        new.new_state := NULL;
+    END IF;
+    IF octet_length(new.old_state) > 1024 THEN
+        new.old_state_hash := sha256(convert_to(new.old_state, 'UTF8'));
+        INSERT INTO logged_action_states VALUES (new.old_state_hash, new.old_state) ON CONFLICT DO NOTHING;
+        new.old_state := NULL;
+    END IF;
+    RETURN new;
+END;
+$$;
+
+ALTER TABLE logged_actions_project
+    ALTER COLUMN new_state DROP NOT NULL,
+    ALTER COLUMN old_state DROP NOT NULL,
+    ADD COLUMN new_state_hash bytea
+        CONSTRAINT logged_actions_project_new_state_hash_fkey
+            REFERENCES logged_action_states,
+    ADD COLUMN old_state_hash bytea
+        CONSTRAINT logged_actions_project_old_state_hash_fkey
+            REFERENCES logged_action_states,
+    ADD CONSTRAINT logged_actions_project_new_state_check
+        CHECK ((new_state IS NULL) <> (new_state_hash IS NULL)),
+    ADD CONSTRAINT logged_actions_project_old_state_check
+        CHECK ((old_state IS NULL) <> (old_state_hash IS NULL));
+
+CREATE TRIGGER logged_actions_project_compact_states
+    BEFORE INSERT OR UPDATE OF new_state, old_state
+    ON logged_actions_project
+    FOR EACH ROW
+EXECUTE PROCEDURE compact_logged_action_states();
+
+ALTER TABLE logged_actions_version
+    ALTER COLUMN new_state DROP NOT NULL,
+    ALTER COLUMN old_state DROP NOT NULL,
+    ADD COLUMN new_state_hash bytea
+        CONSTRAINT logged_actions_version_new_state_hash_fkey
+            REFERENCES logged_action_states,
+    ADD COLUMN old_state_hash bytea
+        CONSTRAINT logged_actions_version_old_state_hash_fkey
+            REFERENCES logged_action_states,
+    ADD CONSTRAINT logged_actions_version_new_state_check
+        CHECK ((new_state IS NULL) <> (new_state_hash IS NULL)),
+    ADD CONSTRAINT logged_actions_version_old_state_check
+        CHECK ((old_state IS NULL) <> (old_state_hash IS NULL));
+
+CREATE TRIGGER logged_actions_version_compact_states
+    BEFORE INSERT OR UPDATE OF new_state, old_state
+    ON logged_actions_version
+    FOR EACH ROW
+EXECUTE PROCEDURE compact_logged_action_states();
+
+ALTER TABLE logged_actions_page
+    ALTER COLUMN new_state DROP NOT NULL,
+    ALTER COLUMN old_state DROP NOT NULL,
+    ADD COLUMN new_state_hash bytea
+        CONSTRAINT logged_actions_page_new_state_hash_fkey
+            REFERENCES logged_action_states,
+    ADD COLUMN old_state_hash bytea
+        CONSTRAINT logged_actions_page_old_state_hash_fkey
+            REFERENCES logged_action_states,
+    ADD CONSTRAINT logged_actions_page_new_state_check
+        CHECK ((new_state IS NULL) <> (new_state_hash IS NULL)),
+    ADD CONSTRAINT logged_actions_page_old_state_check
+        CHECK ((old_state IS NULL) <> (old_state_hash IS NULL));
+
+CREATE TRIGGER logged_actions_page_compact_states
+    BEFORE INSERT OR UPDATE OF new_state, old_state
+    ON logged_actions_page
+    FOR EACH ROW
+EXECUTE PROCEDURE compact_logged_action_states();
+
+ALTER TABLE logged_actions_user
+    ALTER COLUMN new_state DROP NOT NULL,
+    ALTER COLUMN old_state DROP NOT NULL,
+    ADD COLUMN new_state_hash bytea
+        CONSTRAINT logged_actions_user_new_state_hash_fkey
+            REFERENCES logged_action_states,
+    ADD COLUMN old_state_hash bytea
+        CONSTRAINT logged_actions_user_old_state_hash_fkey
+            REFERENCES logged_action_states,
+    ADD CONSTRAINT logged_actions_user_new_state_check
+        CHECK ((new_state IS NULL) <> (new_state_hash IS NULL)),
+    ADD CONSTRAINT logged_actions_user_old_state_check
+        CHECK ((old_state IS NULL) <> (old_state_hash IS NULL));
+
+CREATE TRIGGER logged_actions_user_compact_states
+    BEFORE INSERT OR UPDATE OF new_state, old_state
+    ON logged_actions_user
+    FOR EACH ROW
+EXECUTE PROCEDURE compact_logged_action_states();
+
+ALTER TABLE logged_actions_organization
+    ALTER COLUMN new_state DROP NOT NULL,
+    ALTER COLUMN old_state DROP NOT NULL,
+    ADD COLUMN new_state_hash bytea
+        CONSTRAINT logged_actions_organization_new_state_hash_fkey
+            REFERENCES logged_action_states,
+    ADD COLUMN old_state_hash bytea
+        CONSTRAINT logged_actions_organization_old_state_hash_fkey
+            REFERENCES logged_action_states,
+    ADD CONSTRAINT logged_actions_organization_new_state_check
+        CHECK ((new_state IS NULL) <> (new_state_hash IS NULL)),
+    ADD CONSTRAINT logged_actions_organization_old_state_check
+        CHECK ((old_state IS NULL) <> (old_state_hash IS NULL));
+
+CREATE TRIGGER logged_actions_organization_compact_states
+    BEFORE INSERT OR UPDATE OF new_state, old_state
+    ON logged_actions_organization
+    FOR EACH ROW
+EXECUTE PROCEDURE compact_logged_action_states();
+
+-- compact the existing log, the freed space is only given back to the os by a VACUUM FULL of the tables
+DO
+$$
+    DECLARE
+        _table text;
+        _before bigint := 0;
+        _after bigint;
+        _size bigint;
+    BEGIN
+        FOREACH _table IN ARRAY ARRAY ['logged_actions_project', 'logged_actions_version', 'logged_actions_page', 'logged_actions_user', 'logged_actions_organization']
+            LOOP
+                EXECUTE format('SELECT coalesce(sum(octet_length(new_state) + octet_length(old_state)), 0) FROM %I', _table) INTO _size;
+                _before := _before + _size;
+                EXECUTE format('UPDATE %I SET new_state = new_state WHERE octet_length(new_state) > 1024 OR octet_length(old_state) > 1024', _table);
+            END LOOP;
+        SELECT coalesce(sum(octet_length(state)), 0) INTO _after FROM logged_action_states;
+        FOREACH _table IN ARRAY ARRAY ['logged_actions_project', 'logged_actions_version', 'logged_actions_page', 'logged_actions_user', 'logged_actions_organization']
+            LOOP
+                EXECUTE format('SELECT coalesce(sum(coalesce(octet_length(new_state), 0) + coalesce(octet_length(old_state), 0)), 0) FROM %I', _table) INTO _size;
+                _after := _after + _size;
+            END LOOP;
+        RAISE NOTICE 'Compacted logged action states from % to % bytes, run VACUUM FULL on the logged_actions tables to reclaim the space', _before, _after;
+    END;
+$$;
+
+DROP VIEW v_logged_actions;
+CREATE VIEW v_logged_actions(id, created_at, user_id, user_name, address, action, context_type, new_state, old_state, p_id, p_slug, p_owner_name, pv_id, pv_version_string, pv_platforms, pp_id, pp_name, pp_slug, s_id, s_name) AS
+SELECT a.id,
+       a.created_at,
+       a.user_id,
+       u.name                       AS user_name,
+       a.address,
+       a.action,
+       0                            AS context_type,
+       coalesce(a.new_state, ns.state) AS new_state,
+       coalesce(a.old_state, os.state) AS old_state,
+       p.id                         AS p_id,
+       p.slug                       AS p_slug,
+       ou.name                      AS p_owner_name,
+       NULL::bigint                 AS pv_id,
+       NULL::character varying(255) AS pv_version_string,
+       NULL::bigint[]               AS pv_platforms,
+       NULL::bigint                 AS pp_id,
+       NULL::character varying(255) AS pp_name,
+       NULL::character varying(255) AS pp_slug,
+       NULL::bigint                 AS s_id,
+       NULL::character varying(255) AS s_name
+FROM logged_actions_project a
+         LEFT JOIN logged_action_states ns ON a.new_state_hash = ns.hash
+         LEFT JOIN logged_action_states os ON a.old_state_hash = os.hash
+         LEFT JOIN users u ON a.user_id = u.id
+         LEFT JOIN projects p ON a.project_id = p.id
+         LEFT JOIN users ou ON p.owner_id = ou.id
+UNION ALL
+SELECT a.id,
+       a.created_at,
+       a.user_id,
+       u.name                                                 AS user_name,
+       a.address,
+       a.action,
+       1                                                      AS context_type,
+       coalesce(a.new_state, ns.state) AS new_state,
+       coalesce(a.old_state, os.state) AS old_state,
+       p.id                                                   AS p_id,
+       p.slug                                                 AS p_slug,
+       ou.name                                                AS p_owner_name,
+       pv.id                                                  AS pv_id,
+       pv.version_string                                      AS pv_version_string,
+       array(SELECT DISTINCT plv.platform
+            FROM project_version_platform_dependencies pvpd
+                JOIN platform_versions plv ON pvpd.platform_version_id = plv.id
+            WHERE pv.id = pvpd.version_id
+            ORDER BY plv.platform
+           )                                                  AS pv_platforms,
+       NULL::bigint                                           AS pp_id,
+       NULL::character varying                                AS pp_name,
+       NULL::character varying                                AS pp_slug,
+       NULL::bigint                                           AS s_id,
+       NULL::character varying                                AS s_name
+FROM logged_actions_version a
+         LEFT JOIN logged_action_states ns ON a.new_state_hash = ns.hash
+         LEFT JOIN logged_action_states os ON a.old_state_hash = os.hash
+         LEFT JOIN users u ON a.user_id = u.id
+         LEFT JOIN project_versions pv ON a.version_id = pv.id
+         LEFT JOIN projects p ON a.project_id = p.id
+         LEFT JOIN users ou ON p.owner_id = ou.id
+UNION ALL
+SELECT a.id,
+       a.created_at,
+       a.user_id,
+       u.name                  AS user_name,
+       a.address,
+       a.action,
+       2                       AS context_type,
+       coalesce(a.new_state, ns.state) AS new_state,
+       coalesce(a.old_state, os.state) AS old_state,
+       p.id                    AS p_id,
+       p.slug                  AS p_slug,
+       ou.name                 AS p_owner_name,
+       NULL::bigint            AS pv_id,
+       NULL::character varying AS pv_version_string,
+       NULL::bigint[]          AS pv_platforms,
+       pp.id                   AS pp_id,
+       pp.name                 AS pp_name,
+       pp.slug                 AS pp_slug,
+       NULL::bigint            AS s_id,
+       NULL::character varying AS s_name
+FROM logged_actions_page a
+         LEFT JOIN logged_action_states ns ON a.new_state_hash = ns.hash
+         LEFT JOIN logged_action_states os ON a.old_state_hash = os.hash
+         LEFT JOIN users u ON a.user_id = u.id
+         LEFT JOIN project_pages pp ON a.page_id = pp.id
+         LEFT JOIN projects p ON a.project_id = p.id
+         LEFT JOIN users ou ON p.owner_id = ou.id
+UNION ALL
+SELECT a.id,
+       a.created_at,
+       a.user_id,
+       u.name                  AS user_name,
+       a.address,
+       a.action,
+       3                       AS context_type,
+       coalesce(a.new_state, ns.state) AS new_state,
+       coalesce(a.old_state, os.state) AS old_state,
+       NULL::bigint            AS p_id,
+       NULL::character varying AS p_slug,
+       NULL::character varying AS p_owner_name,
+       NULL::bigint            AS pv_id,
+       NULL::character varying AS pv_version_string,
+       NULL::bigint[]          AS pv_platforms,
+       NULL::bigint            AS pp_id,
+       NULL::character varying AS pp_name,
+       NULL::character varying AS pp_slug,
+       s.id                    AS s_id,
+       s.name                  AS s_name
+FROM logged_actions_user a
+         LEFT JOIN logged_action_states ns ON a.new_state_hash = ns.hash
+         LEFT JOIN logged_action_states os ON a.old_state_hash = os.hash
+         LEFT JOIN users u ON a.user_id = u.id
+         LEFT JOIN users s ON a.subject_id = s.id
+UNION ALL
+SELECT a.id,
+       a.created_at,
+       a.user_id,
+       u.name                  AS user_name,
+       a.address,
+       a.action,
+       4                       AS context_type,
+       coalesce(a.new_state, ns.state) AS new_state,
+       coalesce(a.old_state, os.state) AS old_state,
+       NULL::bigint            AS p_id,
+       NULL::character varying AS p_slug,
+       NULL::character varying AS p_owner_name,
+       NULL::bigint            AS pv_id,
+       NULL::character varying AS pv_version_string,
+       NULL::bigint[]          AS pv_platforms,
+       NULL::bigint            AS pp_id,
+       NULL::character varying AS pp_name,
+       NULL::character varying AS pp_slug,
+       s.id                    AS s_id,
+       s.name                  AS s_name
+FROM logged_actions_organization a
+         LEFT JOIN logged_action_states ns ON a.new_state_hash = ns.hash
+         LEFT JOIN logged_action_states os ON a.old_state_hash = os.hash
+         LEFT JOIN organizations o ON a.organization_id = o.id
+         LEFT JOIN users u ON a.user_id = u.id
+         LEFT JOIN users s ON o.user_id = s.id;
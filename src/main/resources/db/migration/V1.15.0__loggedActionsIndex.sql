@@ -0,0 +1,125 @@
+-- one narrow row per logged action across all five log tables, kept in sync by triggers. The admin log is filtered,
+-- counted and paged on this table and only the rows of the requested page are read from v_logged_actions
+CREATE TABLE logged_actions_index
+(
+    context_type int NOT NULL,
+    id bigint NOT NULL,
+    created_at timestamp with time zone NOT NULL,
+    action logged_action_type NOT NULL,
+    user_id bigint,
+    project_id bigint,
+    version_id bigint,
+    page_id bigint,
+    subject_id bigint,
+    CONSTRAINT logged_actions_index_pkey
+        PRIMARY KEY (context_type, id)
+);
+
+-- context_type matches v_logged_actions, the subject of an organization action is the organization's user
+CREATE FUNCTION index_logged_action() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    _context_type int := tg_argv[0]::int;
+    _row jsonb;
+BEGIN
+    IF tg_op = 'DELETE' THEN
+        DELETE FROM logged_actions_index WHERE context_type = _context_type AND id = old.id;
+        RETURN NULL;
+    END IF;
+    _row := to_jsonb(new) - 'new_state' - 'old_state';
+    INSERT INTO logged_actions_index
+        VALUES (_context_type,
+                new.id,
+                new.created_at,
+                new.action,
+                new.user_id,
+                (_row ->> 'project_id')::bigint,
+                (_row ->> 'version_id')::bigint,
+                (_row ->> 'page_id')::bigint,
+                CASE _context_type
+                    WHEN 3 THEN (_row ->> 'subject_id')::bigint
+                    WHEN 4 THEN (SELECT o.user_id FROM organizations o WHERE o.id = (_row ->> 'organization_id')::bigint)
+                    END)
+    ON CONFLICT (context_type, id) DO UPDATE SET
+        created_at = excluded.created_at,
+        action = excluded.action,
+        user_id = excluded.user_id,
+        project_id = excluded.project_id,
+        version_id = excluded.version_id,
+        page_id = excluded.page_id,
+        subject_id = excluded.subject_id;
+    RETURN NULL;
+END;
+$$;
+
+-- updates only happen when a referenced row is deleted and the foreign key nulls it
+CREATE TRIGGER logged_actions_project_index
+    AFTER INSERT OR DELETE OR UPDATE OF created_at, action, user_id, project_id
+    ON logged_actions_project
+    FOR EACH ROW
+EXECUTE PROCEDURE index_logged_action(0);
+
+CREATE TRIGGER logged_actions_version_index
+    AFTER INSERT OR DELETE OR UPDATE OF created_at, action, user_id, project_id, version_id
+    ON logged_actions_version
+    FOR EACH ROW
+EXECUTE PROCEDURE index_logged_action(1);
+
+CREATE TRIGGER logged_actions_page_index
+    AFTER INSERT OR DELETE OR UPDATE OF created_at, action, user_id, project_id, page_id
+    ON logged_actions_page
+    FOR EACH ROW
+EXECUTE PROCEDURE index_logged_action(2);
+
+CREATE TRIGGER logged_actions_user_index
+    AFTER INSERT OR DELETE OR UPDATE OF created_at, action, user_id, subject_id
+    ON logged_actions_user
+    FOR EACH ROW
+EXECUTE PROCEDURE index_logged_action(3);
+
+CREATE TRIGGER logged_actions_organization_index
+    AFTER INSERT OR DELETE OR UPDATE OF created_at, action, user_id, organization_id
+    ON logged_actions_organization
+    FOR EACH ROW
+EXECUTE PROCEDURE index_logged_action(4);
+
+INSERT INTO logged_actions_index
+SELECT 0, id, created_at, action, user_id, project_id, NULL::bigint, NULL::bigint, NULL::bigint FROM logged_actions_project
+UNION ALL
+SELECT 1, id, created_at, action, user_id, project_id, version_id, NULL, NULL FROM logged_actions_version
+UNION ALL
+SELECT 2, id, created_at, action, user_id, project_id, NULL, page_id, NULL FROM logged_actions_page
+UNION ALL
+SELECT 3, id, created_at, action, user_id, NULL, NULL, NULL, subject_id FROM logged_actions_user
+UNION ALL
+SELECT 4, a.id, a.created_at, a.action, a.user_id, NULL, NULL, NULL, o.user_id FROM logged_actions_organization a LEFT JOIN organizations o ON a.organization_id = o.id;
+
+-- one index per log filter, each in the keyset order of the log
+CREATE INDEX logged_actions_index_created_at_idx
+    ON logged_actions_index (created_at, context_type, id);
+
+CREATE INDEX logged_actions_index_user_id_idx
+    ON logged_actions_index (user_id, created_at, context_type, id);
+
+CREATE INDEX logged_actions_index_project_id_idx
+    ON logged_actions_index (project_id, created_at, context_type, id);
+
+CREATE INDEX logged_actions_index_version_id_idx
+    ON logged_actions_index (version_id, created_at, context_type, id);
+
+CREATE INDEX logged_actions_index_page_id_idx
+    ON logged_actions_index (page_id, created_at, context_type, id);
+
+CREATE INDEX logged_actions_index_subject_id_idx
+    ON logged_actions_index (subject_id, created_at, context_type, id);
+
+CREATE INDEX logged_actions_index_action_idx
+    ON logged_actions_index (action, created_at, context_type, id);
+
+-- replaced by logged_actions_index_created_at_idx
+DROP INDEX logged_actions_project_created_at_id_idx;
+DROP INDEX logged_actions_version_created_at_id_idx;
+DROP INDEX logged_actions_page_created_at_id_idx;
+DROP INDEX logged_actions_user_created_at_id_idx;
+DROP INDEX logged_actions_organization_created_at_id_idx;
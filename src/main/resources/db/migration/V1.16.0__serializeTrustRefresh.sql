@@ -0,0 +1,53 @@
+-- the refresh functions read the source views and then write the stored row. Two transactions changing roles of
+-- the same user could both read before either committed, and whichever wrote last left stale permissions behind.
+-- A transaction scoped advisory lock per stored row makes the second one wait and read the first one's changes
+CREATE OR REPLACE FUNCTION refresh_global_trust(_user_id bigint) RETURNS void
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtextextended('global_trust/' || _user_id, 0));
+    INSERT INTO global_trust
+        SELECT * FROM global_trust_source
+            WHERE user_id = _user_id
+    ON CONFLICT (user_id) DO UPDATE SET
+        permission = excluded.permission
+        WHERE global_trust.permission IS DISTINCT FROM excluded.permission;
+    DELETE FROM global_trust gt
+        WHERE gt.user_id = _user_id
+          AND NOT exists(SELECT 1 FROM global_trust_source s WHERE s.user_id = _user_id);
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION refresh_project_trust(_project_id bigint, _user_id bigint) RETURNS void
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtextextended('project_trust/' || _project_id || '/' || _user_id, 0));
+    INSERT INTO project_trust
+        SELECT * FROM project_trust_source
+            WHERE project_id = _project_id AND user_id = _user_id
+    ON CONFLICT (project_id, user_id) DO UPDATE SET
+        permission = excluded.permission
+        WHERE project_trust.permission IS DISTINCT FROM excluded.permission;
+    DELETE FROM project_trust pt
+        WHERE pt.project_id = _project_id AND pt.user_id = _user_id
+          AND NOT exists(SELECT 1 FROM project_trust_source s WHERE s.project_id = _project_id AND s.user_id = _user_id);
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION refresh_organization_trust(_organization_id bigint, _user_id bigint) RETURNS void
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtextextended('organization_trust/' || _organization_id || '/' || _user_id, 0));
+    INSERT INTO organization_trust
+        SELECT * FROM organization_trust_source
+            WHERE organization_id = _organization_id AND user_id = _user_id
+    ON CONFLICT (organization_id, user_id) DO UPDATE SET
+        permission = excluded.permission
+        WHERE organization_trust.permission IS DISTINCT FROM excluded.permission;
+    DELETE FROM organization_trust ot
+        WHERE ot.organization_id = _organization_id AND ot.user_id = _user_id
+          AND NOT exists(SELECT 1 FROM organization_trust_source s WHERE s.organization_id = _organization_id AND s.user_id = _user_id);
+END;
+$$;
@@ -0,0 +1,21 @@
+-- tells every node which home_projects rows changed so they can update their search index, delivered on commit.
+-- refresh_home_project only writes rows whose values changed, so unchanged projects aren't sent
+CREATE FUNCTION notify_home_project_changed() RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF tg_op = 'DELETE' THEN
+        PERFORM pg_notify('hangar_home_projects', old.id::text);
+    ELSE
+        PERFORM pg_notify('hangar_home_projects', new.id::text);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER home_projects_notify_change
+    AFTER INSERT OR UPDATE OR DELETE
+    ON home_projects
+    FOR EACH ROW
+EXECUTE PROCEDURE notify_home_project_changed();
@@ -0,0 +1,50 @@
+-- reconcile_trust wrote the whole source views with the snapshot of its statement start, so a role change committed
+-- while it ran could be overwritten with the old permission. It now only looks for the keys whose stored row differs,
+-- with a single snapshot, and recomputes each through the locked refresh functions. The keys are locked in order so
+-- two reconciliations can't deadlock each other
+CREATE OR REPLACE FUNCTION reconcile_trust() RETURNS bigint
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    _fixed bigint := 0;
+    _key record;
+BEGIN
+    FOR _key IN
+        SELECT user_id
+            FROM ((SELECT * FROM global_trust_source EXCEPT SELECT * FROM global_trust)
+                  UNION ALL
+                  (SELECT * FROM global_trust EXCEPT SELECT * FROM global_trust_source)) d
+            GROUP BY user_id
+            ORDER BY user_id
+        LOOP
+            PERFORM refresh_global_trust(_key.user_id);
+            _fixed := _fixed + 1;
+        END LOOP;
+
+    FOR _key IN
+        SELECT project_id, user_id
+            FROM ((SELECT * FROM project_trust_source EXCEPT SELECT * FROM project_trust)
+                  UNION ALL
+                  (SELECT * FROM project_trust EXCEPT SELECT * FROM project_trust_source)) d
+            GROUP BY project_id, user_id
+            ORDER BY project_id, user_id
+        LOOP
+            PERFORM refresh_project_trust(_key.project_id, _key.user_id);
+            _fixed := _fixed + 1;
+        END LOOP;
+
+    FOR _key IN
+        SELECT organization_id, user_id
+            FROM ((SELECT * FROM organization_trust_source EXCEPT SELECT * FROM organization_trust)
+                  UNION ALL
+                  (SELECT * FROM organization_trust EXCEPT SELECT * FROM organization_trust_source)) d
+            GROUP BY organization_id, user_id
+            ORDER BY organization_id, user_id
+        LOOP
+            PERFORM refresh_organization_trust(_key.organization_id, _key.user_id);
+            _fixed := _fixed + 1;
+        END LOOP;
+
+    RETURN _fixed;
+END;
+$$;
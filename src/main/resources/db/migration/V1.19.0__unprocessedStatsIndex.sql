@@ -0,0 +1,6 @@
+-- the rollup picks chunks by processed = 0 so rows committed after higher ids were rolled up are still counted
+CREATE INDEX project_views_individual_unprocessed_idx
+    ON project_views_individual (id) WHERE processed = 0;
+
+CREATE INDEX project_versions_downloads_individual_unprocessed_idx
+    ON project_versions_downloads_individual (id) WHERE processed = 0;
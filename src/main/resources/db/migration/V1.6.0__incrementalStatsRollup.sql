@@ -0,0 +1,40 @@
+CREATE TABLE stats_rollup_checkpoints
+(
+    individual_table varchar(255) NOT NULL
+        CONSTRAINT stats_rollup_checkpoints_pkey
+            PRIMARY KEY,
+    last_id bigint NOT NULL DEFAULT 0,
+    last_created_at timestamp with time zone,
+    last_run_at timestamp with time zone,
+    last_run_duration bigint,
+    last_run_rows bigint
+);
+
+-- rows processed by the old full-table sweep are already counted
+INSERT INTO stats_rollup_checkpoints (individual_table, last_id, last_created_at)
+SELECT 'project_views_individual', coalesce(max(id), 0), max(created_at)
+FROM project_views_individual
+WHERE processed != 0;
+
+INSERT INTO stats_rollup_checkpoints (individual_table, last_id, last_created_at)
+SELECT 'project_versions_downloads_individual', coalesce(max(id), 0), max(created_at)
+FROM project_versions_downloads_individual
+WHERE processed != 0;
+
+CREATE INDEX project_views_individual_project_id_created_at_idx
+    ON project_views_individual (project_id, created_at);
+
+CREATE INDEX project_views_individual_cookie_idx
+    ON project_views_individual (cookie) WHERE user_id IS NOT NULL;
+
+CREATE INDEX project_views_individual_created_at_idx
+    ON project_views_individual (created_at);
+
+CREATE INDEX project_versions_downloads_individual_version_id_created_at_idx
+    ON project_versions_downloads_individual (version_id, created_at);
+
+CREATE INDEX project_versions_downloads_individual_cookie_idx
+    ON project_versions_downloads_individual (cookie) WHERE user_id IS NOT NULL;
+
+CREATE INDEX project_versions_downloads_individual_created_at_idx
+    ON project_versions_downloads_individual (created_at);
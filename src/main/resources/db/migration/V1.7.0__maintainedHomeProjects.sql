@@ -0,0 +1,134 @@
+DROP MATERIALIZED VIEW home_projects;
+
+-- same columns as the old materialized view, but every aggregate is correlated on the project,
+-- so selecting a single id only touches that project's rows
+CREATE VIEW home_projects_source AS
+SELECT p.id,
+       p.owner_name,
+       (SELECT array_agg(DISTINCT pm.user_id) FROM project_members_all pm WHERE pm.id = p.id) AS project_members,
+       p.slug,
+       p.visibility,
+       coalesce((SELECT sum(pv.views) FROM project_views pv WHERE pv.project_id = p.id), 0::bigint) AS views,
+       coalesce((SELECT sum(pd.downloads) FROM project_versions_downloads pd WHERE pd.project_id = p.id), 0::bigint) AS downloads,
+       coalesce((SELECT sum(pv.views)
+                 FROM project_views pv
+                 WHERE pv.project_id = p.id
+                   AND pv.day >= (CURRENT_DATE - '30 days'::interval)
+                   AND pv.day <= CURRENT_DATE), 0::bigint) AS recent_views,
+       coalesce((SELECT sum(pd.downloads)
+                 FROM project_versions_downloads pd
+                 WHERE pd.project_id = p.id
+                   AND pd.day >= (CURRENT_DATE - '30 days'::interval)
+                   AND pd.day <= CURRENT_DATE), 0::bigint) AS recent_downloads,
+       (SELECT count(*) FROM project_stars ps WHERE ps.project_id = p.id) AS stars,
+       (SELECT count(*) FROM project_watchers pw WHERE pw.project_id = p.id) AS watchers,
+       p.category,
+       p.description,
+       p.name,
+       p.created_at,
+       (SELECT max(lv.created_at) FROM project_versions lv WHERE lv.project_id = p.id) AS last_updated,
+       to_jsonb(ARRAY(SELECT jsonb_build_object('version_string', t.version_string, 'tag_name', t.tag_name,
+                                                'tag_version', t.tag_version, 'tag_color', t.tag_color)
+                      FROM (SELECT DISTINCT ON (array_to_string(pvt.data, ', ')) pv.version_string,
+                                   pvt.name                        AS tag_name,
+                                   pvt.data                        AS tag_version,
+                                   pvt.color                       AS tag_color,
+                                   array_to_string(pvt.data, ', ') AS platform_version
+                            FROM project_versions pv
+                                     JOIN project_version_tags pvt ON pv.id = pvt.version_id
+                            WHERE pv.project_id = p.id
+                              AND pv.visibility = 0
+                              AND pvt.name::text = ANY (ARRAY ['Paper', 'Waterfall', 'Velocity'])
+                              AND pvt.data IS NOT NULL
+                            ORDER BY array_to_string(pvt.data, ', '), pv.created_at DESC) t
+                      ORDER BY t.platform_version DESC
+                      LIMIT 5)) AS promoted_versions,
+       ((setweight((to_tsvector('english'::regconfig, p.name::text) ||
+                    to_tsvector('english'::regconfig, regexp_replace(p.name::text, '([a-z])([A-Z]+)'::text,
+                                                                     '\1_\2'::text, 'g'::text))), 'A'::"char") ||
+         setweight(to_tsvector('english'::regconfig, p.description::text), 'B'::"char")) ||
+        setweight(to_tsvector('english'::regconfig, array_to_string(p.keywords, ' '::text)), 'C'::"char")) || setweight(
+                   to_tsvector('english'::regconfig, p.owner_name::text) || to_tsvector('english'::regconfig,
+                                                                                        regexp_replace(
+                                                                                                p.owner_name::text,
+                                                                                                '([a-z])([A-Z]+)'::text,
+                                                                                                '\1_\2'::text,
+                                                                                                'g'::text)),
+                   'D'::"char") AS search_words
+FROM projects p;
+
+CREATE TABLE home_projects AS
+SELECT *
+FROM home_projects_source;
+
+ALTER TABLE home_projects
+    ADD CONSTRAINT home_projects_pkey PRIMARY KEY (id);
+
+CREATE INDEX home_projects_search_words_idx
+    ON home_projects USING gin (search_words);
+
+CREATE INDEX project_versions_project_id_idx
+    ON project_versions (project_id);
+
+CREATE PROCEDURE refresh_home_project(_project_id bigint)
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO home_projects
+        SELECT * FROM home_projects_source
+            WHERE id = _project_id
+    ON CONFLICT (id) DO UPDATE SET
+        owner_name = excluded.owner_name,
+        project_members = excluded.project_members,
+        slug = excluded.slug,
+        visibility = excluded.visibility,
+        views = excluded.views,
+        downloads = excluded.downloads,
+        recent_views = excluded.recent_views,
+        recent_downloads = excluded.recent_downloads,
+        stars = excluded.stars,
+        watchers = excluded.watchers,
+        category = excluded.category,
+        description = excluded.description,
+        name = excluded.name,
+        created_at = excluded.created_at,
+        last_updated = excluded.last_updated,
+        promoted_versions = excluded.promoted_versions,
+        search_words = excluded.search_words
+        WHERE home_projects IS DISTINCT FROM excluded;
+    IF NOT exists(SELECT 1 FROM projects WHERE id = _project_id) THEN
+        DELETE FROM home_projects WHERE id = _project_id;
+    END IF;
+END;
+$$;
+
+-- catches everything that isn't tied to a single project write (stats rollups, organization members, ...)
+-- and only rewrites rows whose values actually changed
+CREATE PROCEDURE reconcile_home_projects()
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO home_projects
+        SELECT * FROM home_projects_source
+    ON CONFLICT (id) DO UPDATE SET
+        owner_name = excluded.owner_name,
+        project_members = excluded.project_members,
+        slug = excluded.slug,
+        visibility = excluded.visibility,
+        views = excluded.views,
+        downloads = excluded.downloads,
+        recent_views = excluded.recent_views,
+        recent_downloads = excluded.recent_downloads,
+        stars = excluded.stars,
+        watchers = excluded.watchers,
+        category = excluded.category,
+        description = excluded.description,
+        name = excluded.name,
+        created_at = excluded.created_at,
+        last_updated = excluded.last_updated,
+        promoted_versions = excluded.promoted_versions,
+        search_words = excluded.search_words
+        WHERE home_projects IS DISTINCT FROM excluded;
+    DELETE FROM home_projects hp WHERE NOT exists(SELECT 1 FROM projects p WHERE p.id = hp.id);
+END;
+$$;
@@ -0,0 +1,25 @@
+CREATE TABLE file_blobs
+(
+    hash varchar(64) NOT NULL
+        CONSTRAINT file_blobs_pkey
+            PRIMARY KEY,
+    size bigint NOT NULL,
+    created_at timestamp with time zone NOT NULL DEFAULT now(),
+    last_linked_at timestamp with time zone NOT NULL DEFAULT now()
+);
+
+CREATE TABLE project_version_blobs
+(
+    version_id bigint NOT NULL
+        CONSTRAINT project_version_blobs_pkey
+            PRIMARY KEY
+        CONSTRAINT project_version_blobs_version_id_fkey
+            REFERENCES project_versions
+            ON DELETE CASCADE,
+    blob_hash varchar(64) NOT NULL
+        CONSTRAINT project_version_blobs_blob_hash_fkey
+            REFERENCES file_blobs
+);
+
+CREATE INDEX project_version_blobs_blob_hash_idx
+    ON project_version_blobs (blob_hash);
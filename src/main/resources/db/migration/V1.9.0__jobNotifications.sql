@@ -0,0 +1,20 @@
+CREATE INDEX jobs_awaiting_idx
+    ON jobs (job_type, id) WHERE state = 'not_started';
+
+-- wakes up the job listeners when a job is added, delivered on commit
+CREATE FUNCTION notify_job_available() RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    PERFORM pg_notify('hangar_jobs', new.job_type);
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER jobs_notify_insert
+    AFTER INSERT
+    ON jobs
+    FOR EACH ROW
+    WHEN (new.state = 'not_started')
+EXECUTE PROCEDURE notify_job_available();
@@ -0,0 +1,79 @@
+package io.papermc.hangar.model.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.papermc.hangar.exceptions.HangarApiException;
+import io.papermc.hangar.model.api.requests.PaginationCursor;
+import io.papermc.hangar.model.api.requests.RequestPagination;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaginatedResultTest {
+
+    @Test
+    void testCursorRoundTrip() {
+        PaginationCursor cursor = PaginationCursor.before(List.of("2021-05-01T10:00:00.123456Z", 3, 42L));
+        PaginationCursor decoded = PaginationCursor.decode(cursor.encode());
+        assertEquals(List.of("2021-05-01T10:00:00.123456Z", "3", "42"), decoded.getKeys());
+        assertTrue(decoded.isPrevious());
+        assertThrows(HangarApiException.class, () -> PaginationCursor.decode("not a cursor"));
+        assertThrows(HangarApiException.class, () -> PaginationCursor.decode("e30"));
+    }
+
+    @Test
+    void testFirstPage() {
+        RequestPagination pagination = new RequestPagination(3L, 0L);
+        PaginatedResult<Long> result = PaginatedResult.ofKeyset(List.of(9L, 8L, 7L, 6L), pagination, List::of, 10L);
+        assertEquals(List.of(9L, 8L, 7L), result.getResult());
+        assertEquals(10L, result.getPagination().getCount());
+        assertNull(result.getPagination().getPrev());
+        assertEquals(List.of("7"), PaginationCursor.decode(result.getPagination().getNext()).getKeys());
+    }
+
+    @Test
+    void testLastPage() {
+        RequestPagination pagination = new RequestPagination(3L, 0L, PaginationCursor.after(List.of(3L)), false);
+        PaginatedResult<Long> result = PaginatedResult.ofKeyset(List.of(2L, 1L), pagination, List::of, null);
+        assertEquals(List.of(2L, 1L), result.getResult());
+        assertNull(result.getPagination().getCount());
+        assertNull(result.getPagination().getNext());
+        PaginationCursor prev = PaginationCursor.decode(result.getPagination().getPrev());
+        assertEquals(List.of("2"), prev.getKeys());
+        assertTrue(prev.isPrevious());
+    }
+
+    @Test
+    void testAbsentFieldsAreNotSerialized() {
+        ObjectMapper mapper = new ObjectMapper();
+        RequestPagination pagination = new RequestPagination(3L, 0L, PaginationCursor.after(List.of(3L)), false);
+        JsonNode json = mapper.valueToTree(PaginatedResult.ofKeyset(List.of(2L, 1L), pagination, List::of, null).getPagination());
+        assertFalse(json.has("count"));
+        assertFalse(json.has("next"));
+        assertTrue(json.get("prev").isTextual());
+        assertEquals(3L, json.get("limit").asLong());
+
+        JsonNode counted = mapper.valueToTree(new Pagination(0L, new RequestPagination(3L, 0L)));
+        assertEquals(0L, counted.get("count").asLong());
+        assertFalse(counted.has("next"));
+        assertFalse(counted.has("prev"));
+    }
+
+    @Test
+    void testPreviousPage() {
+        // previous pages are read backwards and one row past the limit
+        RequestPagination pagination = new RequestPagination(2L, 0L, PaginationCursor.before(List.of(5L)), true);
+        PaginatedResult<Long> result = PaginatedResult.ofKeyset(List.of(6L, 7L, 8L), pagination, List::of, 8L);
+        assertEquals(List.of(7L, 6L), result.getResult());
+        PaginationCursor next = PaginationCursor.decode(result.getPagination().getNext());
+        assertEquals(List.of("6"), next.getKeys());
+        assertFalse(next.isPrevious());
+        assertEquals(List.of("7"), PaginationCursor.decode(result.getPagination().getPrev()).getKeys());
+    }
+}
@@ -0,0 +1,112 @@
+package io.papermc.hangar.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.papermc.hangar.config.hangar.HangarSecurityConfig;
+import io.papermc.hangar.config.hangar.HangarSecurityConfig.SecurityApiConfig;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.table.auth.ApiKeyDAO;
+import io.papermc.hangar.exceptions.HangarApiException;
+import io.papermc.hangar.model.common.Permission;
+import io.papermc.hangar.model.db.auth.ApiKeyTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class APIKeyServiceTest {
+
+    private static final String IDENTIFIER = "006ad884-3df9-43e8-af01-91590f92cfd7";
+    private static final String TOKEN = "fa31831d-097f-4d11-9031-b57b41c59fa1";
+
+    private ApiKeyDAO apiKeyDAO;
+    private MockHttpServletRequest request;
+    private APIKeyService apiKeyService;
+
+    @BeforeEach
+    void setup() {
+        apiKeyDAO = mock(ApiKeyDAO.class);
+        when(apiKeyDAO.findApiKey(IDENTIFIER, TOKEN)).thenReturn(new ApiKeyTable("ci", 7, IDENTIFIER, null, Permission.CreateVersion));
+        HangarSecurityConfig securityConfig = new HangarSecurityConfig(new SecurityApiConfig());
+        securityConfig.setApiKeyMaxFailedAttempts(3);
+        securityConfig.setTokenExpiry(Duration.ofMinutes(5));
+        apiKeyService = new APIKeyService(new HangarDao<>(apiKeyDAO), new HangarDao<>(null), securityConfig, new SimpleMeterRegistry());
+        apiKeyService.setRevocationsReceived(true);
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        ReflectionTestUtils.setField(apiKeyService, "request", request);
+    }
+
+    @Test
+    void testVerifiedKeyIsCached() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(7L, apiKeyService.verifyApiKey(IDENTIFIER, TOKEN));
+        }
+        verify(apiKeyDAO, times(1)).findApiKey(IDENTIFIER, TOKEN);
+
+        // a wrong secret for a cached identifier is rejected without asking the database
+        assertNull(apiKeyService.verifyApiKey(IDENTIFIER, "wrong"));
+        verify(apiKeyDAO, times(0)).findApiKey(IDENTIFIER, "wrong");
+
+        apiKeyService.evictApiKey(IDENTIFIER);
+        assertEquals(7L, apiKeyService.verifyApiKey(IDENTIFIER, TOKEN));
+        verify(apiKeyDAO, times(2)).findApiKey(IDENTIFIER, TOKEN);
+    }
+
+    @Test
+    void testFailedAttemptsAreThrottled() {
+        for (int i = 0; i < 3; i++) {
+            assertNull(apiKeyService.verifyApiKey(IDENTIFIER, "wrong"));
+        }
+        HangarApiException exception = assertThrows(HangarApiException.class, () -> apiKeyService.verifyApiKey(IDENTIFIER, TOKEN));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatus());
+        verify(apiKeyDAO, times(3)).findApiKey(anyString(), anyString());
+
+        // other clients can still use the key
+        request.setRemoteAddr("10.0.0.2");
+        assertEquals(7L, apiKeyService.verifyApiKey(IDENTIFIER, TOKEN));
+    }
+
+    @Test
+    void testVerifiedSecretIsAcceptedWhileThrottled() {
+        assertEquals(7L, apiKeyService.verifyApiKey(IDENTIFIER, TOKEN));
+        for (int i = 0; i < 3; i++) {
+            assertNull(apiKeyService.verifyApiKey(IDENTIFIER, "wrong"));
+        }
+        assertThrows(HangarApiException.class, () -> apiKeyService.verifyApiKey(IDENTIFIER, "wrong"));
+        assertEquals(7L, apiKeyService.verifyApiKey(IDENTIFIER, TOKEN));
+    }
+
+    @Test
+    void testSessionKeyIsCachedUntilRevoked() {
+        when(apiKeyDAO.findApiKey(7L, IDENTIFIER)).thenReturn(new ApiKeyTable("ci", 7, IDENTIFIER, null, Permission.CreateVersion));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Permission.CreateVersion, apiKeyService.getSessionApiKey(7L, IDENTIFIER).getPermissions());
+        }
+        assertNull(apiKeyService.getSessionApiKey(8L, IDENTIFIER));
+        verify(apiKeyDAO, times(1)).findApiKey(7L, IDENTIFIER);
+
+        when(apiKeyDAO.findApiKey(7L, IDENTIFIER)).thenReturn(null);
+        apiKeyService.evictApiKey(IDENTIFIER);
+        assertNull(apiKeyService.getSessionApiKey(7L, IDENTIFIER));
+    }
+
+    @Test
+    void testNothingIsCachedWithoutRevocations() {
+        apiKeyService.setRevocationsReceived(false);
+        apiKeyService.verifyApiKey(IDENTIFIER, TOKEN);
+        apiKeyService.verifyApiKey(IDENTIFIER, TOKEN);
+        verify(apiKeyDAO, times(2)).findApiKey(IDENTIFIER, TOKEN);
+    }
+}
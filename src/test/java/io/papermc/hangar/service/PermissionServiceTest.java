@@ -0,0 +1,105 @@
+package io.papermc.hangar.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.papermc.hangar.config.hangar.HangarSecurityConfig;
+import io.papermc.hangar.config.hangar.HangarSecurityConfig.SecurityApiConfig;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.PermissionsDAO;
+import io.papermc.hangar.model.common.Permission;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PermissionServiceTest {
+
+    private PermissionsDAO permissionsDAO;
+
+    @BeforeEach
+    void setup() {
+        permissionsDAO = mock(PermissionsDAO.class);
+        when(permissionsDAO.getProjectPermission(1L, 10L)).thenReturn(Permission.EditPage);
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private PermissionService createService(Duration ttl) {
+        HangarSecurityConfig securityConfig = new HangarSecurityConfig(new SecurityApiConfig());
+        securityConfig.setPermissionCacheTtl(ttl);
+        return new PermissionService(new HangarDao<>(permissionsDAO), securityConfig, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testRequestMemoization() {
+        PermissionService permissionService = createService(Duration.ZERO);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(permissionService.getProjectPermissions(1L, 10L).has(Permission.EditPage));
+        }
+        verify(permissionsDAO, times(1)).getProjectPermission(1L, 10L);
+
+        // a new request resolves again without a shared cache
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        permissionService.getProjectPermissions(1L, 10L);
+        verify(permissionsDAO, times(2)).getProjectPermission(1L, 10L);
+    }
+
+    @Test
+    void testSharedCacheInvalidation() {
+        PermissionService permissionService = createService(Duration.ofMinutes(1));
+        permissionService.getProjectPermissions(1L, 10L);
+        permissionService.getProjectPermissions(1L, 10L);
+        verify(permissionsDAO, times(1)).getProjectPermission(1L, 10L);
+
+        when(permissionsDAO.getProjectPermission(1L, 10L)).thenReturn(null);
+        permissionService.invalidate(2L);
+        assertTrue(permissionService.getProjectPermissions(1L, 10L).has(Permission.EditPage));
+        permissionService.invalidate(1L);
+        assertEquals(PermissionService.DEFAULT_SIGNED_IN_PERMISSIONS, permissionService.getProjectPermissions(1L, 10L));
+        verify(permissionsDAO, times(2)).getProjectPermission(1L, 10L);
+    }
+
+    @Test
+    void testLoadRacingInvalidationIsNotShared() {
+        PermissionService permissionService = createService(Duration.ofMinutes(1));
+        // the roles are read, then the change commits and invalidates before the permissions are cached
+        when(permissionsDAO.getProjectPermission(1L, 10L)).thenAnswer(invocation -> {
+            permissionService.invalidate(1L);
+            return Permission.EditPage;
+        });
+        assertTrue(permissionService.getProjectPermissions(1L, 10L).has(Permission.EditPage));
+
+        when(permissionsDAO.getProjectPermission(1L, 10L)).thenReturn(null);
+        assertEquals(PermissionService.DEFAULT_SIGNED_IN_PERMISSIONS, permissionService.getProjectPermissions(1L, 10L));
+        assertEquals(PermissionService.DEFAULT_SIGNED_IN_PERMISSIONS, permissionService.getProjectPermissions(1L, 10L));
+        verify(permissionsDAO, times(2)).getProjectPermission(1L, 10L);
+    }
+
+    @Test
+    void testTrustCorrectionDropsSharedCache() {
+        PermissionService permissionService = createService(Duration.ofMinutes(1));
+        permissionService.getProjectPermissions(1L, 10L);
+        permissionService.reconcileTrust();
+        permissionService.getProjectPermissions(1L, 10L);
+        verify(permissionsDAO, times(1)).getProjectPermission(1L, 10L);
+
+        when(permissionsDAO.reconcileTrust()).thenReturn(3L);
+        permissionService.reconcileTrust();
+        permissionService.getProjectPermissions(1L, 10L);
+        verify(permissionsDAO, times(2)).getProjectPermission(1L, 10L);
+    }
+}
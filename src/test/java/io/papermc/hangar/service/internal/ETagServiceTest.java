@@ -0,0 +1,46 @@
+package io.papermc.hangar.service.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagServiceTest {
+
+    @Test
+    void testNotModified() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertFalse(createService(new MockHttpServletRequest("GET", "/api/v1/projects/Owner/Project"), first).checkNotModified("v1"));
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+        assertTrue(eTag.startsWith("W/\""));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/projects/Owner/Project");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertTrue(createService(request, second).checkNotModified("v1"));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), second.getStatus());
+
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        assertFalse(createService(request, changed).checkNotModified("v2"));
+        assertNotEquals(eTag, changed.getHeader(HttpHeaders.ETAG));
+
+        // same versions, different url
+        MockHttpServletResponse otherUrl = new MockHttpServletResponse();
+        createService(new MockHttpServletRequest("GET", "/api/v1/projects/Owner/Other"), otherUrl).checkNotModified("v1");
+        assertNotEquals(eTag, otherUrl.getHeader(HttpHeaders.ETAG));
+    }
+
+    private static ETagService createService(MockHttpServletRequest request, MockHttpServletResponse response) {
+        ETagService eTagService = new ETagService("abc123");
+        ReflectionTestUtils.setField(eTagService, "request", request);
+        ReflectionTestUtils.setField(eTagService, "response", response);
+        return eTagService;
+    }
+}
@@ -0,0 +1,134 @@
+package io.papermc.hangar.service.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.papermc.hangar.config.hangar.ProjectsConfig;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.table.projects.ProjectsDAO;
+import io.papermc.hangar.db.dao.internal.table.versions.ProjectVersionsDAO;
+import io.papermc.hangar.db.dao.internal.table.versions.RecommendedProjectVersionsDAO;
+import io.papermc.hangar.model.common.projects.Visibility;
+import io.papermc.hangar.model.db.projects.ProjectTable;
+import io.papermc.hangar.model.internal.projects.HangarProject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EntityCacheServiceTest {
+
+    private ProjectsDAO projectsDAO;
+    private EntityCacheService entityCacheService;
+
+    @BeforeEach
+    void setup() {
+        projectsDAO = mock(ProjectsDAO.class);
+        when(projectsDAO.getById(1L)).thenAnswer(invocation -> project(1, Visibility.PUBLIC));
+        when(projectsDAO.getById(2L)).thenAnswer(invocation -> project(2, Visibility.NEW));
+        entityCacheService = new EntityCacheService(new HangarDao<>(projectsDAO), new HangarDao<>(mock(ProjectVersionsDAO.class)), new HangarDao<>(mock(RecommendedProjectVersionsDAO.class)), new ProjectsConfig(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testRequestMemoization() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        ProjectTable hidden = entityCacheService.getProject(2);
+        assertSame(hidden, entityCacheService.getProject(2));
+        verify(projectsDAO, times(1)).getById(2L);
+
+        // rows which aren't public are not shared with other requests
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        entityCacheService.getProject(2);
+        verify(projectsDAO, times(2)).getById(2L);
+    }
+
+    @Test
+    void testSharedRowsAreCopies() {
+        ProjectTable first = entityCacheService.getProject(1);
+        first.setName("Changed");
+        ProjectTable second = entityCacheService.getProject(1);
+        assertNotSame(first, second);
+        assertEquals("Project1", second.getName());
+        verify(projectsDAO, times(1)).getById(1L);
+
+        entityCacheService.invalidate(1);
+        entityCacheService.getProject(1);
+        verify(projectsDAO, times(2)).getById(1L);
+    }
+
+    @Test
+    void testAnonymousProjectSnapshot() {
+        AtomicInteger loads = new AtomicInteger();
+        HangarProject snapshot = mock(HangarProject.class);
+        when(snapshot.getId()).thenReturn(1L);
+        when(snapshot.getVisibility()).thenReturn(Visibility.PUBLIC);
+        assertSame(snapshot, entityCacheService.getAnonymousProject("Owner", "Project1", () -> {
+            loads.incrementAndGet();
+            return snapshot;
+        }));
+        assertSame(snapshot, entityCacheService.getAnonymousProject("owner", "project1", () -> {
+            loads.incrementAndGet();
+            return snapshot;
+        }));
+        assertEquals(1, loads.get());
+
+        entityCacheService.invalidate(1);
+        entityCacheService.getAnonymousProject("Owner", "Project1", () -> {
+            loads.incrementAndGet();
+            return snapshot;
+        });
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLoadRacingInvalidationIsNotShared() {
+        // the row is read, then the change commits and invalidates before the loader returns
+        when(projectsDAO.getById(1L)).thenAnswer(invocation -> {
+            ProjectTable old = project(1, Visibility.PUBLIC);
+            entityCacheService.invalidate(1);
+            return old;
+        });
+        entityCacheService.getProject(1);
+        when(projectsDAO.getById(1L)).thenAnswer(invocation -> project(1, Visibility.PUBLIC));
+        entityCacheService.getProject(1);
+        verify(projectsDAO, times(2)).getById(1L);
+        entityCacheService.getProject(1);
+        verify(projectsDAO, times(2)).getById(1L);
+
+        AtomicInteger loads = new AtomicInteger();
+        HangarProject snapshot = mock(HangarProject.class);
+        when(snapshot.getId()).thenReturn(1L);
+        when(snapshot.getVisibility()).thenReturn(Visibility.PUBLIC);
+        entityCacheService.getAnonymousProject("Owner", "Project1", () -> {
+            loads.incrementAndGet();
+            entityCacheService.invalidate(1);
+            return snapshot;
+        });
+        entityCacheService.getAnonymousProject("Owner", "Project1", () -> {
+            loads.incrementAndGet();
+            return snapshot;
+        });
+        assertEquals(2, loads.get());
+    }
+
+    private static ProjectTable project(long id, Visibility visibility) {
+        return new ProjectTable(null, id, "Project" + id, "Project" + id, "Owner", 1, null, null, null, null, visibility, List.of(),
+                null, null, null, null, null, null, false, false, null, 0, List.of(), List.of());
+    }
+}
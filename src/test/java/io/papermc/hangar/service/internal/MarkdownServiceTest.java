@@ -0,0 +1,57 @@
+package io.papermc.hangar.service.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.papermc.hangar.config.hangar.HangarConfig;
+import io.papermc.hangar.config.hangar.HangarSecurityConfig;
+import io.papermc.hangar.config.hangar.HangarSecurityConfig.SecurityApiConfig;
+import io.papermc.hangar.config.hangar.PagesConfig;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.table.projects.ProjectPagesDAO;
+import io.papermc.hangar.service.internal.MarkdownService.RenderSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MarkdownServiceTest {
+
+    private ProjectPagesDAO projectPagesDAO;
+    private MarkdownService markdownService;
+
+    @BeforeEach
+    void setup() {
+        projectPagesDAO = mock(ProjectPagesDAO.class);
+        HangarSecurityConfig securityConfig = new HangarSecurityConfig(new SecurityApiConfig());
+        HangarConfig config = new HangarConfig(null, null, null, new PagesConfig(new PagesConfig.Home()), null, null, null, null, null, securityConfig, null, null, null, null);
+        markdownService = new MarkdownService(config, new HangarDao<>(projectPagesDAO), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testRenderIsCached() {
+        String html = markdownService.render("# Hello\n\n[[Wiki Page]]");
+        assertTrue(html.contains("Hello</h1>"), html);
+        assertEquals(html, markdownService.render("# Hello\n\n[[Wiki Page]]"));
+        verify(projectPagesDAO, times(1)).getRendered(any());
+
+        // other settings render separately and never use stored pages
+        String prefixed = markdownService.render("# Hello\n\n[[Wiki Page]]", new RenderSettings(null, "/pages/"));
+        assertTrue(prefixed.contains("/pages/Wiki-Page"), prefixed);
+        verify(projectPagesDAO, times(1)).getRendered(any());
+    }
+
+    @Test
+    void testStoredRenderIsUsed() {
+        when(projectPagesDAO.getRendered(any())).thenReturn("<p>stored</p>");
+        assertEquals("<p>stored</p>", markdownService.render("something"));
+
+        markdownService.storeRendered(3, "other");
+        verify(projectPagesDAO).updateRendered(eq(3L), any(), eq("<p>stored</p>"));
+    }
+}
@@ -0,0 +1,102 @@
+package io.papermc.hangar.service.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.papermc.hangar.config.hangar.HangarConfig;
+import io.papermc.hangar.config.hangar.HangarSecurityConfig;
+import io.papermc.hangar.config.hangar.HangarSecurityConfig.SecurityApiConfig;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.SitemapDAO;
+import io.papermc.hangar.db.dao.internal.table.UserDAO;
+import io.papermc.hangar.db.dao.internal.table.projects.ProjectsDAO;
+import io.papermc.hangar.exceptions.HangarApiException;
+import io.papermc.hangar.model.common.Platform;
+import io.papermc.hangar.model.db.UserTable;
+import io.papermc.hangar.model.internal.sitemap.SitemapEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SitemapServiceTest {
+
+    private SitemapDAO sitemapDAO;
+    private PlatformTransactionManager transactionManager;
+    private SitemapService sitemapService;
+
+    @BeforeEach
+    void setup() {
+        UserDAO userDAO = mock(UserDAO.class);
+        sitemapDAO = mock(SitemapDAO.class);
+        UserTable userTable = mock(UserTable.class);
+        when(userTable.getId()).thenReturn(1L);
+        when(userTable.getName()).thenReturn("Alice");
+        when(userDAO.getUserTable("alice")).thenReturn(userTable);
+        when(sitemapDAO.getUserEntries(anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> Stream.of(
+                new SitemapEntry(3, "Proj", null, null, null, null),
+                new SitemapEntry(3, "Proj", "1.0", Platform.PAPER, null, null),
+                new SitemapEntry(3, "Proj", null, null, "Wiki", null)
+        ));
+
+        HangarConfig config = new HangarConfig(null, null, null, null, null, null, null, null, null, new HangarSecurityConfig(new SecurityApiConfig()), null, null, null, null);
+        config.setBaseUrl("https://hangar.test");
+        transactionManager = mock(PlatformTransactionManager.class);
+        sitemapService = new SitemapService(new HangarDao<>(userDAO), new HangarDao<>(mock(ProjectsDAO.class)), new HangarDao<>(sitemapDAO), transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sitemapService, "config", config);
+    }
+
+    @Test
+    void testUserSitemap() throws IOException {
+        String xml = write("alice", 1);
+        assertTrue(xml.contains("<loc>https://hangar.test/Alice</loc>"), xml);
+        assertTrue(xml.contains("<loc>https://hangar.test/Alice/Proj</loc>"), xml);
+        assertTrue(xml.contains("<loc>https://hangar.test/Alice/Proj/versions/1.0/paper</loc>"), xml);
+        assertTrue(xml.contains("<loc>https://hangar.test/Alice/Proj/pages/Wiki</loc>"), xml);
+        verify(sitemapDAO).getUserEntries(1, 0, SitemapService.MAX_URLS - 1);
+
+        // later pages are shifted by the user page of the first one
+        assertTrue(!write("alice", 2).contains("<loc>https://hangar.test/Alice</loc>"));
+        verify(sitemapDAO).getUserEntries(1, SitemapService.MAX_URLS - 1, SitemapService.MAX_URLS);
+
+        assertThrows(HangarApiException.class, () -> write("bob", 1));
+    }
+
+    @Test
+    void testInvalidation() throws IOException {
+        String xml = write("alice", 1);
+        assertEquals(xml, write("alice", 1));
+        verify(sitemapDAO, times(1)).getUserEntries(eq(1L), anyLong(), anyInt());
+        // cache hits don't open a transaction
+        verify(transactionManager, times(1)).getTransaction(any());
+
+        sitemapService.invalidateProject(4);
+        write("alice", 1);
+        verify(sitemapDAO, times(1)).getUserEntries(eq(1L), anyLong(), anyInt());
+
+        sitemapService.invalidateProject(3);
+        write("alice", 1);
+        verify(sitemapDAO, times(2)).getUserEntries(eq(1L), anyLong(), anyInt());
+    }
+
+    private String write(String user, int page) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sitemapService.writeUserSitemap(user, page, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
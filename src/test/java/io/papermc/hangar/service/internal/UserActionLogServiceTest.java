@@ -0,0 +1,84 @@
+package io.papermc.hangar.service.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.internal.LoggedActionsDAO;
+import io.papermc.hangar.model.db.log.LoggedActionsProjectTable;
+import io.papermc.hangar.model.db.log.LoggedActionsUserTable;
+import io.papermc.hangar.model.internal.logs.LogAction;
+import io.papermc.hangar.model.internal.logs.contexts.ProjectContext;
+import io.papermc.hangar.model.internal.logs.contexts.UserContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.InetAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class UserActionLogServiceTest {
+
+    private LoggedActionsDAO loggedActionsDAO;
+    private UserActionLogService userActionLogService;
+
+    @BeforeEach
+    void setup() {
+        loggedActionsDAO = mock(LoggedActionsDAO.class);
+        userActionLogService = new UserActionLogService(new HangarDao<>(loggedActionsDAO), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(userActionLogService);
+    }
+
+    @Test
+    void testWrittenImmediatelyWithoutTransaction() {
+        LoggedActionsProjectTable table = projectLog(1);
+        userActionLogService.write(loggedActionsDAO::insertProjectLogs, table);
+        verify(loggedActionsDAO).insertProjectLogs(List.of(table));
+    }
+
+    @Test
+    void testBatchedUntilCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        LoggedActionsProjectTable first = projectLog(1);
+        LoggedActionsProjectTable second = projectLog(2);
+        LoggedActionsUserTable user = new LoggedActionsUserTable(1, InetAddress.getLoopbackAddress(), LogAction.USER_TAGLINE_CHANGED.create(UserContext.of(1L), "new", "old"));
+        userActionLogService.write(loggedActionsDAO::insertProjectLogs, first);
+        userActionLogService.write(loggedActionsDAO::insertUserLogs, user);
+        userActionLogService.write(loggedActionsDAO::insertProjectLogs, second);
+        verifyNoInteractions(loggedActionsDAO);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        verify(loggedActionsDAO).insertProjectLogs(List.of(first, second));
+        verify(loggedActionsDAO).insertUserLogs(List.of(user));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertFalse(TransactionSynchronizationManager.hasResource(userActionLogService));
+    }
+
+    @Test
+    void testDroppedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        userActionLogService.write(loggedActionsDAO::insertProjectLogs, projectLog(1));
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verify(loggedActionsDAO, never()).insertProjectLogs(any());
+        assertFalse(TransactionSynchronizationManager.hasResource(userActionLogService));
+    }
+
+    private static LoggedActionsProjectTable projectLog(long projectId) {
+        return new LoggedActionsProjectTable(1, InetAddress.getLoopbackAddress(), LogAction.PROJECT_RENAMED.create(ProjectContext.of(projectId), "new", "old"));
+    }
+}
@@ -0,0 +1,111 @@
+package io.papermc.hangar.service.internal.discourse;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.papermc.hangar.config.hangar.DiscourseConfig;
+import io.papermc.hangar.model.internal.discourse.DiscourseError;
+import io.papermc.hangar.model.internal.discourse.DiscoursePost;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DiscourseApiTest {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+    private DiscourseConfig config;
+    private DiscourseApi discourseApi;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/posts.json", exchange -> {
+            String username = exchange.getRequestHeaders().getFirst("Api-Username");
+            requests.add(username);
+            if (username.equals("limited")) {
+                respond(exchange, 429, "{\"errors\": [\"slow down\"], \"extras\": {\"wait_seconds\": 30}}");
+            } else {
+                respond(exchange, 200, "{\"id\": 5, \"topic_id\": 2, \"username\": \"" + username + "\"}");
+            }
+        });
+        server.start();
+
+        config = new DiscourseConfig();
+        config.setUrl("http://localhost:" + server.getAddress().getPort());
+        config.setAdminUser("admin");
+        config.setApiKey("key");
+        config.setRequestsPerMinute(1);
+        config.setRequestBurst(2);
+        config.setMaxRateLimitWait(Duration.ZERO);
+        discourseApi = new DiscourseApi(new RestTemplate(), config, meterRegistry);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        discourseApi.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void testRequestsAreRateLimitedPerKey() {
+        DiscoursePost post = discourseApi.createPost("alice", 2, "first");
+        assertEquals(5, post.getId());
+        assertEquals("alice", post.getUsername());
+        discourseApi.createPost(null, 2, "as admin");
+
+        // the burst of the key is used up, further posts are rescheduled without reaching Discourse
+        assertThrows(DiscourseError.RateLimitError.class, () -> discourseApi.createPost("alice", 2, "third"));
+        assertThrows(DiscourseError.RateLimitError.class, () -> discourseApi.createPost("bob", 2, "fourth"));
+        assertEquals(List.of("alice", "admin"), requests);
+        assertEquals(2, meterRegistry.get("hangar.discourse.requests").tag("status", "200").timers().stream().mapToLong(timer -> timer.count()).sum());
+        assertEquals(2, meterRegistry.get("hangar.discourse.ratelimit").tag("result", "deferred").counter().count());
+    }
+
+    @Test
+    void testDiscourseRateLimitPausesKey() {
+        DiscourseError.RateLimitError error = assertThrows(DiscourseError.RateLimitError.class, () -> discourseApi.createPost("limited", 2, "first"));
+        assertEquals(Duration.ofSeconds(30), error.getDuration());
+        assertThrows(DiscourseError.RateLimitError.class, () -> discourseApi.createPost("alice", 2, "second"));
+        assertEquals(List.of("limited"), requests);
+        assertEquals(1, meterRegistry.get("hangar.discourse.ratelimit").tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    void testInterceptorsAreKept() throws IOException {
+        discourseApi.destroy();
+        RestTemplate shared = new RestTemplate();
+        List<String> intercepted = new CopyOnWriteArrayList<>();
+        shared.setInterceptors(List.of((request, body, execution) -> {
+            intercepted.add(request.getURI().getPath());
+            return execution.execute(request, body);
+        }));
+        discourseApi = new DiscourseApi(shared, config, meterRegistry);
+        discourseApi.createPost("alice", 2, "first");
+        assertEquals(List.of("/posts.json"), intercepted);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
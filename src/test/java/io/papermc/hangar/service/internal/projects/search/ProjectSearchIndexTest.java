@@ -0,0 +1,86 @@
+package io.papermc.hangar.service.internal.projects.search;
+
+import io.papermc.hangar.model.api.project.ProjectSortingStrategy;
+import io.papermc.hangar.model.common.projects.Category;
+import io.papermc.hangar.model.common.projects.Visibility;
+import io.papermc.hangar.model.internal.projects.SearchableProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProjectSearchIndexTest {
+
+    private final ProjectSearchIndex index = new ProjectSearchIndex();
+
+    @BeforeEach
+    void setup() {
+        index.replaceAll(List.of(
+                project(1, "WorldEdit", "EngineHub", "In-game map editor", List.of("building"), Category.WORLD_MANAGEMENT, 50),
+                project(2, "WorldGuard", "EngineHub", "Protect your regions", List.of("protection"), Category.PROTECTION, 20),
+                project(3, "Essentials", "EssentialsX", "The essential plugin for world management", List.of(), Category.ADMIN_TOOLS, 100)
+        ));
+    }
+
+    @Test
+    void test_search_prefixAndTypo() {
+        assertEquals(List.of(1L, 3L, 2L), search("worl", ProjectSortingStrategy.STARS));
+        assertEquals(List.of(1L), search("wrldedit ", ProjectSortingStrategy.STARS));
+        assertEquals(List.of(1L), search("edit ", ProjectSortingStrategy.STARS));
+        assertEquals(List.of(), search("wor ", ProjectSortingStrategy.STARS));
+    }
+
+    @Test
+    void test_search_allTermsMatch() {
+        assertEquals(List.of(3L), search("world management", ProjectSortingStrategy.STARS));
+        assertEquals(List.of(2L), search("enginehub regions", ProjectSortingStrategy.STARS));
+    }
+
+    @Test
+    void test_search_nameRanksAboveDescription() {
+        assertEquals(List.of(1L, 2L, 3L), search("world", ProjectSortingStrategy.ONLY_RELEVANCE));
+        assertEquals(List.of(3L, 1L, 2L), index.search(null, p -> true, ProjectSortingStrategy.STARS, true, 0, 25).getProjectIds());
+    }
+
+    @Test
+    void test_search_filterAndCount() {
+        ProjectSearchIndex.Result result = index.search("world", p -> p.getCategory() == Category.PROTECTION, ProjectSortingStrategy.STARS, true, 0, 25);
+        assertEquals(List.of(2L), result.getProjectIds());
+        assertEquals(1, result.getCount());
+
+        result = index.search(null, p -> true, ProjectSortingStrategy.STARS, false, 1, 1);
+        assertEquals(List.of(1L), result.getProjectIds());
+        assertEquals(3, result.getCount());
+    }
+
+    @Test
+    void test_update_replacesTerms() {
+        index.update(project(2, "RegionGuard", "EngineHub", "Protect your regions", List.of(), Category.PROTECTION, 20));
+        assertEquals(List.of(), search("worldguard", ProjectSortingStrategy.STARS));
+        assertEquals(List.of(2L), search("regionguard", ProjectSortingStrategy.STARS));
+
+        index.remove(2);
+        assertEquals(List.of(), search("regionguard", ProjectSortingStrategy.STARS));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void test_distance() {
+        assertEquals(0, ProjectSearchIndex.distance("world", "world", 2));
+        assertEquals(1, ProjectSearchIndex.distance("wrold", "world", 2));
+        assertEquals(1, ProjectSearchIndex.distance("wold", "world", 2));
+        assertEquals(3, ProjectSearchIndex.distance("abcdef", "world", 2));
+    }
+
+    private List<Long> search(String query, ProjectSortingStrategy sort) {
+        return index.search(query, p -> true, sort, true, 0, 25).getProjectIds();
+    }
+
+    private static SearchableProject project(long id, String name, String owner, String description, List<String> keywords, Category category, long stars) {
+        OffsetDateTime createdAt = OffsetDateTime.parse("2021-06-01T00:00:00Z");
+        return new SearchableProject(id, name, owner, description, keywords, category, Visibility.PUBLIC, List.of(), List.of(), 0, 0, 0, 0, stars, createdAt, createdAt);
+    }
+}
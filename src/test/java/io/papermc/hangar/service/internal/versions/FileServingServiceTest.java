@@ -0,0 +1,126 @@
+package io.papermc.hangar.service.internal.versions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.undertow.Undertow;
+import io.undertow.servlet.Servlets;
+import io.undertow.servlet.api.DeploymentInfo;
+import io.undertow.servlet.api.DeploymentManager;
+import io.undertow.servlet.util.ImmediateInstanceFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.header.HeaderWriterFilter;
+import org.springframework.security.web.header.writers.XContentTypeOptionsHeaderWriter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileServingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private byte[] content;
+    private Undertow server;
+    private DeploymentManager deploymentManager;
+
+    @BeforeEach
+    void setup(@TempDir Path dir) throws Exception {
+        content = new byte[256 * 1024];
+        new Random(1).nextBytes(content);
+        Path file = Files.write(dir.resolve("plugin.jar"), content);
+
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                FileServingService fileServingService = new FileServingService(meterRegistry);
+                ReflectionTestUtils.setField(fileServingService, "request", request);
+                ReflectionTestUtils.setField(fileServingService, "response", response);
+                fileServingService.sendFile(file, "plugin.jar", "hash");
+            }
+        };
+        // the response wrapping filters of the application, in the order they are applied there
+        DeploymentInfo deploymentInfo = Servlets.deployment()
+                .setClassLoader(getClass().getClassLoader())
+                .setContextPath("/")
+                .setDeploymentName("downloads")
+                .addServlet(Servlets.servlet("download", HttpServlet.class, new ImmediateInstanceFactory<>(servlet)).addMapping("/*"));
+        addFilter(deploymentInfo, "headerWriter", new HeaderWriterFilter(List.of(new XContentTypeOptionsHeaderWriter())));
+        addFilter(deploymentInfo, "shallowEtag", new ShallowEtagHeaderFilter());
+        addFilter(deploymentInfo, "resourceUrlEncoding", new ResourceUrlEncodingFilter());
+        deploymentManager = Servlets.defaultContainer().addDeployment(deploymentInfo);
+        deploymentManager.deploy();
+        server = Undertow.builder().addHttpListener(0, "localhost").setHandler(deploymentManager.start()).build();
+        server.start();
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        server.stop();
+        deploymentManager.stop();
+        deploymentManager.undeploy();
+    }
+
+    @Test
+    void testWholeFileIsSentWithSendfile() throws IOException {
+        HttpURLConnection connection = open();
+        assertEquals(200, connection.getResponseCode());
+        // headers added by the wrappers are still sent
+        assertEquals("nosniff", connection.getHeaderField("X-Content-Type-Options"));
+        assertArrayEquals(content, read(connection));
+        assertEquals(1, meterRegistry.get("hangar.downloads").tag("transfer", "sendfile").timer().count());
+    }
+
+    @Test
+    void testRangeToTheEndIsSentWithSendfile() throws IOException {
+        HttpURLConnection connection = open();
+        connection.setRequestProperty(HttpHeaders.RANGE, "bytes=1000-");
+        assertEquals(206, connection.getResponseCode());
+        assertArrayEquals(Arrays.copyOfRange(content, 1000, content.length), read(connection));
+        assertEquals(1, meterRegistry.get("hangar.downloads").tag("transfer", "sendfile").timer().count());
+    }
+
+    @Test
+    void testRangeInTheMiddleIsCopied() throws IOException {
+        HttpURLConnection connection = open();
+        connection.setRequestProperty(HttpHeaders.RANGE, "bytes=10-19");
+        assertEquals(206, connection.getResponseCode());
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 20), read(connection));
+        assertEquals(1, meterRegistry.get("hangar.downloads").tag("transfer", "copy").timer().count());
+    }
+
+    private HttpURLConnection open() throws IOException {
+        int port = ((InetSocketAddress) server.getListenerInfo().get(0).getAddress()).getPort();
+        return (HttpURLConnection) new URL("http://localhost:" + port + "/download").openConnection();
+    }
+
+    private static byte[] read(HttpURLConnection connection) throws IOException {
+        try (InputStream in = connection.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static void addFilter(DeploymentInfo deploymentInfo, String name, Filter filter) {
+        deploymentInfo.addFilter(Servlets.filter(name, Filter.class, new ImmediateInstanceFactory<>(filter)));
+        deploymentInfo.addFilterUrlMapping(name, "/*", DispatcherType.REQUEST);
+    }
+}
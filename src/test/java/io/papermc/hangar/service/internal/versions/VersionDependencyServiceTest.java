@@ -0,0 +1,74 @@
+package io.papermc.hangar.service.internal.versions;
+
+import io.papermc.hangar.db.dao.HangarDao;
+import io.papermc.hangar.db.dao.v1.VersionsApiDAO;
+import io.papermc.hangar.model.api.project.version.PluginDependency;
+import io.papermc.hangar.model.api.project.version.Tag;
+import io.papermc.hangar.model.api.project.version.Version;
+import io.papermc.hangar.model.common.Color;
+import io.papermc.hangar.model.common.Platform;
+import io.papermc.hangar.model.common.projects.ReviewState;
+import io.papermc.hangar.model.common.projects.Visibility;
+import io.papermc.hangar.model.db.projects.ProjectChannelTable;
+import io.papermc.hangar.model.internal.versions.VersionPlatformDependency;
+import io.papermc.hangar.model.internal.versions.VersionPluginDependency;
+import io.papermc.hangar.service.internal.projects.ChannelService;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class VersionDependencyServiceTest {
+
+    @Test
+    void test_addDependenciesAndTags_constantQueriesPerPage() {
+        VersionsApiDAO versionsApiDAO = mock(VersionsApiDAO.class);
+        ChannelService channelService = mock(ChannelService.class);
+        VersionDependencyService service = new VersionDependencyService(new HangarDao<>(null), new HangarDao<>(versionsApiDAO), new HangarDao<>(null), new HangarDao<>(null), new HangarDao<>(null), channelService, null, new HangarDao<>(null));
+
+        Map<Long, Version> versions = new LinkedHashMap<>();
+        List<VersionPlatformDependency> platformDependencies = new ArrayList<>();
+        List<VersionPluginDependency> pluginDependencies = new ArrayList<>();
+        List<Pair<Long, Tag>> tags = new ArrayList<>();
+        List<Pair<Long, ProjectChannelTable>> channels = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            versions.put(id, new Version(OffsetDateTime.now(), "1.0." + id, Visibility.PUBLIC, "", null, null, null, "author", ReviewState.UNREVIEWED, List.of(), null));
+            platformDependencies.add(new VersionPlatformDependency(id, Platform.PAPER, new TreeSet<>(List.of("1.16", "1.17"))));
+            pluginDependencies.add(new VersionPluginDependency(id, Platform.PAPER, new PluginDependency("Vault", true, null, "https://example.com")));
+            pluginDependencies.add(new VersionPluginDependency(id, Platform.PAPER, new PluginDependency("Essentials", false, null, "https://example.com")));
+            tags.add(Pair.of(id, new Tag("Paper", "1.16-1.17", null)));
+            channels.add(Pair.of(id, new ProjectChannelTable("Release", Color.BLUE, 1, false)));
+        }
+        when(versionsApiDAO.getPlatformDependencies(anyList())).thenReturn(platformDependencies);
+        when(versionsApiDAO.getPluginDependencies(anyList())).thenReturn(pluginDependencies);
+        when(versionsApiDAO.getVersionTags(anyList())).thenReturn(tags);
+        when(channelService.getProjectChannelsForVersions(anyList())).thenReturn(channels);
+
+        service.addDependenciesAndTags(versions);
+
+        verify(versionsApiDAO, times(1)).getPlatformDependencies(anyList());
+        verify(versionsApiDAO, times(1)).getPluginDependencies(anyList());
+        verify(versionsApiDAO, times(1)).getVersionTags(anyList());
+        verify(channelService, times(1)).getProjectChannelsForVersions(anyList());
+        verifyNoMoreInteractions(versionsApiDAO, channelService);
+
+        for (Version version : versions.values()) {
+            assertEquals(2, version.getPluginDependencies().get(Platform.PAPER).size());
+            assertEquals(2, version.getPlatformDependencies().get(Platform.PAPER).size());
+            assertEquals(2, version.getTags().size());
+        }
+    }
+}
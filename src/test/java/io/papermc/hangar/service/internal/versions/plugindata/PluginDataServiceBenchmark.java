@@ -0,0 +1,129 @@
+package io.papermc.hangar.service.internal.versions.plugindata;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Compares scanning a jar with {@link JarInputStream} against looking the descriptors up in the central directory.
+ * Not run by the test suite, start it with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PluginDataServiceBenchmark {
+
+    private static final Path resources = Path.of("src/test/resources/io/papermc/hangar/service/internal/versions/plugindata");
+    private static final Set<String> descriptors = Set.of("plugin.yml", "bungee.yml", "velocity-plugin.json");
+
+    /**
+     * Number of class files in the generated jar, 20 is a small plugin and 20000 a heavily shaded one
+     */
+    @Param({"20", "20000"})
+    public int classes;
+
+    private Path jar;
+
+    @Setup(Level.Trial)
+    public void createJar() throws IOException {
+        byte[] pluginYml;
+        try (JarInputStream jarInputStream = new JarInputStream(Files.newInputStream(resources.resolve("Paper.jar")))) {
+            JarEntry entry;
+            do {
+                entry = jarInputStream.getNextJarEntry();
+            } while (entry != null && !entry.getName().equals("plugin.yml"));
+            pluginYml = jarInputStream.readAllBytes();
+        }
+
+        jar = Files.createTempFile("benchmark", ".jar");
+        Random random = new Random(0);
+        byte[] classFile = new byte[4096];
+        try (JarOutputStream jarOutputStream = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (int i = 0; i < classes; i++) {
+                jarOutputStream.putNextEntry(new JarEntry("io/papermc/shaded/lib" + (i % 50) + "/Class" + i + ".class"));
+                // half random, half repeated so the entries compress like real class files
+                random.nextBytes(classFile);
+                jarOutputStream.write(classFile, 0, classFile.length / 2);
+                jarOutputStream.write(new byte[classFile.length / 2]);
+                jarOutputStream.closeEntry();
+            }
+            // shading usually puts the descriptor after the classes
+            jarOutputStream.putNextEntry(new JarEntry("plugin.yml"));
+            jarOutputStream.write(pluginYml);
+            jarOutputStream.closeEntry();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJar() throws IOException {
+        Files.deleteIfExists(jar);
+    }
+
+    @Benchmark
+    public void jarInputStreamScan(Blackhole blackhole) throws IOException {
+        try (JarInputStream jarInputStream = new JarInputStream(Files.newInputStream(jar))) {
+            JarEntry entry;
+            while ((entry = jarInputStream.getNextJarEntry()) != null) {
+                if (descriptors.contains(entry.getName())) {
+                    blackhole.consume(jarInputStream.readAllBytes());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void centralDirectoryLookup(Blackhole blackhole) throws IOException {
+        try (FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ)) {
+            ZipCentralDirectory directory = new ZipCentralDirectory(channel);
+            for (ZipCentralDirectory.Entry entry : directory.getEntries()) {
+                if (descriptors.contains(entry.getName())) {
+                    blackhole.consume(directory.read(entry));
+                }
+            }
+        }
+    }
+
+    /**
+     * Baseline, reading the file once like the upload digest does
+     */
+    @Benchmark
+    public void readFile(Blackhole blackhole) throws IOException {
+        try (var inputStream = Files.newInputStream(jar)) {
+            blackhole.consume(inputStream.transferTo(OutputStream.nullOutputStream()));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PluginDataServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -4,15 +4,21 @@ import io.papermc.hangar.exceptions.HangarApiException;
 import io.papermc.hangar.service.internal.versions.plugindata.handler.PaperPluginFileHandler;
 import io.papermc.hangar.service.internal.versions.plugindata.handler.VelocityFileHandler;
 import io.papermc.hangar.service.internal.versions.plugindata.handler.WaterfallPluginFileHandler;
+import io.papermc.hangar.util.CryptoUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -123,4 +129,20 @@ class PluginDataServiceTest {
         });
         assertEquals("400 BAD_REQUEST \"version.new.error.jarNotFound\"", hangarException.getMessage());
     }
+
+    @Test
+    void test_upload_copiesAndDigestsInOnePass(@TempDir Path tmpDir) throws Exception {
+        Path target = tmpDir.resolve("TestZip.zip");
+        PluginFileWithData fileData;
+        try (InputStream inputStream = Files.newInputStream(path.resolve("TestZip.zip"))) {
+            fileData = classUnderTest.loadMeta(target, inputStream, -1);
+        }
+
+        byte[] original = Files.readAllBytes(path.resolve("TestZip.zip"));
+        assertArrayEquals(original, Files.readAllBytes(target));
+        assertEquals(original.length, fileData.getDigests().getSize());
+        assertEquals(CryptoUtils.md5ToHex(original), fileData.getMd5());
+        assertEquals(CryptoUtils.bytesToHex(MessageDigest.getInstance("SHA-256").digest(original)), fileData.getDigests().getSha256());
+        assertEquals("Maintenance", fileData.getData().getName());
+    }
 }
@@ -0,0 +1,34 @@
+package io.papermc.hangar.service.internal.versions.plugindata;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ZipCentralDirectoryTest {
+
+    private static final Path path = Path.of("src/test/resources/io/papermc/hangar/service/internal/versions/plugindata");
+
+    @Test
+    void test_entries_matchZipFile() throws Exception {
+        for (String name : List.of("Paper.jar", "Waterfall.jar", "Velocity.jar", "TestZip.zip")) {
+            try (FileChannel channel = FileChannel.open(path.resolve(name), StandardOpenOption.READ); ZipFile zipFile = new ZipFile(path.resolve(name).toFile())) {
+                ZipCentralDirectory directory = new ZipCentralDirectory(channel);
+                assertEquals(zipFile.stream().map(ZipEntry::getName).collect(Collectors.toList()), directory.getEntries().stream().map(ZipCentralDirectory.Entry::getName).collect(Collectors.toList()));
+                for (ZipCentralDirectory.Entry entry : directory.getEntries()) {
+                    if (!entry.isDirectory()) {
+                        assertArrayEquals(zipFile.getInputStream(zipFile.getEntry(entry.getName())).readAllBytes(), directory.read(entry), entry.getName());
+                    }
+                }
+            }
+        }
+    }
+}